@@ -0,0 +1,42 @@
+package com.example.shiftcraft.benchmark;
+
+import com.example.shiftcraft.application.solver.RosterProblem;
+import com.example.shiftcraft.application.solver.RosterSolution;
+import com.example.shiftcraft.application.solver.RosterSolver;
+import com.example.shiftcraft.application.solver.SyntheticRosters;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to propose a month of assignments as the roster grows (one location per 50 staff).
+ * The solver stops early once local search stalls, so this measures time to a stable answer
+ * rather than the full budget.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.includes=RosterSolverBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RosterSolverBenchmark {
+
+    @Param({"50", "150", "300", "600"})
+    private int staff;
+
+    private RosterProblem problem;
+    private RosterSolver solver;
+
+    @Setup
+    public void setUp() {
+        problem = SyntheticRosters.month(staff, 42L);
+        solver = new RosterSolver(Runtime.getRuntime().availableProcessors(), Duration.ofSeconds(10));
+    }
+
+    @Benchmark
+    public RosterSolution solveMonth() {
+        return solver.solve(problem);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.shiftcraft.benchmark;
+
+import com.example.shiftcraft.application.service.ScheduleService;
+import com.example.shiftcraft.persistence.entity.Assignment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory schedule shaping: building the weekly grid the schedule page renders, and grouping
+ * a user's assignments into same-day conflicts. Fixture sizes are JMH parameters, so other sizes
+ * can be run with -Djmh.args="-p staff=5000".
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.includes=ScheduleBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Week {
+
+        @Param({"50", "300", "1000"})
+        private int staff;
+
+        private List<Assignment> assignments;
+
+        @Setup
+        public void setUp() {
+            assignments = SyntheticSchedules.week(staff, 42L);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class UserWindow {
+
+        @Param({"31", "365"})
+        private int days;
+
+        private List<Assignment> assignments;
+
+        @Setup
+        public void setUp() {
+            assignments = SyntheticSchedules.forUser(days, 42L);
+        }
+    }
+
+    @Benchmark
+    public ScheduleService.WeeklyScheduleGrid weeklyGrid(Week week) {
+        return ScheduleService.WeeklyScheduleGrid.of(SyntheticSchedules.WEEK_START, week.assignments);
+    }
+
+    @Benchmark
+    public List<ScheduleService.ScheduleConflict> scheduleConflicts(UserWindow window) {
+        return ScheduleService.ScheduleConflict.of("user-0", window.assignments);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.shiftcraft.benchmark;
+
+import com.example.shiftcraft.persistence.entity.Assignment;
+import com.example.shiftcraft.persistence.entity.Location;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.ShiftInstance;
+import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import com.example.shiftcraft.persistence.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded, in-memory schedules for the schedule benchmarks: three shift templates (early, late,
+ * night), each staff member working about five days a week and roughly one in twenty days
+ * double-booked. Nothing here touches the database.
+ */
+final class SyntheticSchedules {
+
+    static final LocalDate WEEK_START = LocalDate.of(2024, 6, 10);
+
+    private SyntheticSchedules() {}
+
+    /**
+     * One week of assignments for the given number of staff, in random order like a query result
+     */
+    static List<Assignment> week(int staff, long seed) {
+        Random random = new Random(seed);
+        List<ShiftTemplate> templates = templates();
+        List<Assignment> assignments = new ArrayList<>();
+
+        for (int i = 0; i < staff; i++) {
+            User user = user(i);
+            assignments.addAll(shiftsFor(user, templates, WEEK_START, 7, random));
+        }
+        Collections.shuffle(assignments, random);
+        return assignments;
+    }
+
+    /**
+     * Assignments for a single staff member over the given number of days
+     */
+    static List<Assignment> forUser(int days, long seed) {
+        return shiftsFor(user(0), templates(), WEEK_START, days, new Random(seed));
+    }
+
+    private static List<Assignment> shiftsFor(User user, List<ShiftTemplate> templates, LocalDate start, int days, Random random) {
+        List<Assignment> assignments = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            if (random.nextInt(7) >= 5) {
+                continue;
+            }
+            LocalDate date = start.plusDays(day);
+            assignments.add(assignment(user, templates.get(random.nextInt(templates.size())), date));
+            if (random.nextInt(20) == 0) {
+                assignments.add(assignment(user, templates.get(random.nextInt(templates.size())), date));
+            }
+        }
+        return assignments;
+    }
+
+    private static List<ShiftTemplate> templates() {
+        Location location = new Location("Main Clinic", "UTC");
+        location.setId("location-0");
+        Role role = new Role("STAFF");
+        role.setId("role-0");
+        return List.of(
+            template("Early", location, role, LocalTime.of(6, 0), LocalTime.of(14, 0)),
+            template("Late", location, role, LocalTime.of(14, 0), LocalTime.of(22, 0)),
+            template("Night", location, role, LocalTime.of(22, 0), LocalTime.of(6, 0)));
+    }
+
+    private static ShiftTemplate template(String name, Location location, Role role, LocalTime start, LocalTime end) {
+        ShiftTemplate template = new ShiftTemplate(name, location, role, start, end);
+        template.setId("template-" + name);
+        return template;
+    }
+
+    private static User user(int index) {
+        User user = new User("staff" + index + "@example.com", "hash", "Staff", "Member " + index);
+        user.setId("user-" + index);
+        return user;
+    }
+
+    private static Assignment assignment(User user, ShiftTemplate template, LocalDate date) {
+        ShiftInstance shift = new ShiftInstance(template, date);
+        shift.setId(template.getId() + "@" + date);
+        return new Assignment(shift, user, "manager");
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.shiftcraft.benchmark;
+
+import com.example.shiftcraft.persistence.entity.Timesheet;
+import com.example.shiftcraft.persistence.entity.TimesheetEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timesheet totals and per-entry hours: the previous BigDecimal arithmetic against int/long minutes.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.includes=TimesheetTotalsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimesheetTotalsBenchmark {
+
+    private static final BigDecimal SIXTY = BigDecimal.valueOf(60);
+
+    @Param({"10", "100", "1000"})
+    private int entryCount;
+
+    private Timesheet timesheet;
+    private List<BigDecimal> entryHours;
+
+    @Setup
+    public void setUp() {
+        timesheet = new Timesheet(null, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30));
+        entryHours = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            TimesheetEntry entry = new TimesheetEntry(timesheet, LocalDate.of(2024, 6, 1).plusDays(i % 30),
+                LocalTime.of(8, 0), LocalTime.of(16, i % 60));
+            entry.setBreakMinutes(30);
+            entry.calculateHours();
+            timesheet.getEntries().add(entry);
+
+            // What the entry used to store: minutes converted to a scale-2 BigDecimal on every save
+            entryHours.add(BigDecimal.valueOf(entry.getWorkedMinutes()).divide(SIXTY, 2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Benchmark
+    public long minuteTotals() {
+        timesheet.calculateTotals();
+        return timesheet.getTotalMinutes() + timesheet.getOvertimeMinutes();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotals() {
+        BigDecimal totalHours = entryHours.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal standardHours = new BigDecimal("40");
+        BigDecimal overtimeHours = totalHours.compareTo(standardHours) > 0
+            ? totalHours.subtract(standardHours)
+            : BigDecimal.ZERO;
+        return totalHours.add(overtimeHours);
+    }
+
+    @Benchmark
+    public int entryMinutes() {
+        int sum = 0;
+        for (TimesheetEntry entry : timesheet.getEntries()) {
+            entry.calculateHours();
+            sum += entry.getWorkedMinutes();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BigDecimal entryBigDecimalHours() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (TimesheetEntry entry : timesheet.getEntries()) {
+            long minutes = Duration.between(entry.getStartTime(), entry.getEndTime()).toMinutes();
+            minutes -= entry.getBreakMinutes();
+            sum = sum.add(BigDecimal.valueOf(minutes).divide(SIXTY, 2, RoundingMode.HALF_UP));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.shiftcraft.benchmark;
+
+import com.example.shiftcraft.persistence.entity.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched inserts into an assignments-shaped table keyed by random v4 UUIDs, time-ordered v7
+ * UUIDs, and v7 UUIDs stored as varchar like the String-keyed tables. Each iteration starts from
+ * an empty in-memory H2 database. Index size on Postgres is compared in UuidV7IndexSizeTest.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.includes=UuidKeyInsertBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidKeyInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"RANDOM_UUID", "V7_UUID", "V7_VARCHAR"})
+    private String keys;
+
+    @Param({"200000"})
+    private int rows;
+
+    private Connection connection;
+    private int database;
+
+    @Setup(Level.Iteration)
+    public void createTable() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:uuid-bench-" + database++);
+        String idType = keys.equals("V7_VARCHAR") ? "varchar(255)" : "uuid";
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE assignments (id " + idType + " PRIMARY KEY, shift_instance_id uuid NOT NULL, " +
+                "user_id varchar(255) NOT NULL, status varchar(20) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void dropDatabase() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int insertRows() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO assignments (id, shift_instance_id, user_id, status) VALUES (?, ?, ?, 'ACTIVE')")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setObject(1, nextKey());
+                insert.setObject(2, UUID.randomUUID());
+                insert.setString(3, "user-" + (i % 1000));
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return rows;
+    }
+
+    private Object nextKey() {
+        return switch (keys) {
+            case "RANDOM_UUID" -> UUID.randomUUID();
+            case "V7_UUID" -> UuidV7Generator.next();
+            default -> UuidV7Generator.next().toString();
+        };
+    }
+}
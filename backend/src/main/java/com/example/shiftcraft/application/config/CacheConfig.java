@@ -0,0 +1,74 @@
+package com.example.shiftcraft.application.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * In-process caches. Every cache is bounded, expires, and records statistics; actuator binds
+ * the Spring caches declared here to the {@code cache.gets} metric. Evictions are deferred
+ * until the surrounding transaction commits, so a concurrent reader cannot re-cache the
+ * state that is being replaced.
+ *
+ * Reference data entities (locations, roles, shift templates) are not cached here: a cached
+ * entity list would be shared by every thread and session. Hibernate's second-level and
+ * query caches hold them instead, hand each session its own instances, and invalidate on
+ * writes to the underlying tables. Those regions are JCache caches that actuator does not
+ * see, so they are bound to the same {@code cache.*} metrics here, tagged
+ * {@code cache.manager=hibernate}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String USER_DETAILS = "userDetails";
+    
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.user-details.max-size:10000}") long userDetailsMaxSize,
+                                     @Value("${app.cache.user-details.ttl:PT5M}") Duration userDetailsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // No on-the-fly caches: every cache must be declared here with its own bounds
+        cacheManager.setCacheNames(List.of());
+        register(cacheManager, USER_DETAILS, userDetailsMaxSize, userDetailsTtl);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+    
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getCache().getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jCacheRegionFactory)) {
+            return registry -> { };
+        }
+        // Regions are created with the session factory, so all of them exist by now
+        javax.cache.CacheManager regions = jCacheRegionFactory.getCacheManager();
+        return registry -> {
+            for (String name : regions.getCacheNames()) {
+                JCacheMetrics.monitor(registry, regions.getCache(name), Tags.of("cache.manager", "hibernate"));
+            }
+        };
+    }
+    
+    private void register(CaffeineCacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build());
+    }
+}
@@ -14,7 +14,7 @@ import java.time.LocalTime;
 import java.util.Set;
 
 @Component
-@Profile("!test") // Don't run in test profile
+@Profile("!test & !loadtest") // Don't run in test profile; loadtest seeds its own data
 public class DataLoader implements CommandLineRunner {
     
     private final UserRepository userRepository;
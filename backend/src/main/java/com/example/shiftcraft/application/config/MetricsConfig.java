@@ -0,0 +1,57 @@
+package com.example.shiftcraft.application.config;
+
+import com.example.shiftcraft.web.security.RequestStatementMetricsFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Metrics beyond what actuator binds by default. Boot already publishes the raw
+ * {@code hikaricp.connections.*} gauges; the utilization ratio here is what pool alerts key on.
+ * Service and per-request statement metrics come from ServiceMetricsAspect and
+ * RequestStatementMetricsFilter, and everything is scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String POOL_UTILIZATION = "shiftcraft.db.pool.utilization";
+
+    @Bean
+    public FilterRegistrationBean<RequestStatementMetricsFilter> requestStatementMetricsFilter(
+            MeterRegistry meterRegistry, SqlStatementCounter statementCounter,
+            @Value("${app.metrics.statement-budget:100}") int statementBudget,
+            @Value("${app.metrics.repeated-statement-threshold:10}") int repeatThreshold) {
+        FilterRegistrationBean<RequestStatementMetricsFilter> registration = new FilterRegistrationBean<>(
+            new RequestStatementMetricsFilter(meterRegistry, statementCounter, statementBudget, repeatThreshold));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder connectionPoolUtilization(DataSource dataSource) throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return registry -> { };
+        }
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        return registry -> Gauge.builder(POOL_UTILIZATION, hikari, MetricsConfig::utilization)
+            .description("Active connections as a fraction of the maximum pool size")
+            .tag("pool", String.valueOf(hikari.getPoolName()))
+            .register(registry);
+    }
+
+    private static double utilization(HikariDataSource hikari) {
+        // The pool starts with the first connection request
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return pool == null ? 0 : (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.shiftcraft.application.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public operation of the schedule, timesheet, leave and shift services, and records
+ * how many SQL statements and entity loads each call caused. Meters are tagged by operation
+ * (e.g. {@code ScheduleService.getStaffAvailability}) and outcome, and publish histograms so
+ * that percentiles can be aggregated across instances.
+ * Runs outside the transaction advice, so commit-time flushes count towards the operation.
+ */
+@Aspect
+@Component
+@Order(0)
+public class ServiceMetricsAspect {
+
+    public static final String TIMER = "shiftcraft.service";
+    public static final String STATEMENTS = "shiftcraft.service.statements";
+    public static final String ENTITY_LOADS = "shiftcraft.service.entity.loads";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter statementCounter;
+
+    @Autowired
+    public ServiceMetricsAspect(MeterRegistry meterRegistry, SqlStatementCounter statementCounter) {
+        this.meterRegistry = meterRegistry;
+        this.statementCounter = statementCounter;
+    }
+
+    @Around("execution(public * com.example.shiftcraft.application.service.ScheduleService.*(..))" +
+        " || execution(public * com.example.shiftcraft.application.service.TimesheetService.*(..))" +
+        " || execution(public * com.example.shiftcraft.application.service.LeaveService.*(..))" +
+        " || execution(public * com.example.shiftcraft.application.service.ShiftService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        long statements = statementCounter.statements();
+        long entityLoads = statementCounter.entityLoads();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Tags tags = Tags.of("operation", operation, "outcome", exception.equals("none") ? "success" : "error",
+                "exception", exception);
+            sample.stop(Timer.builder(TIMER)
+                .description("Service operation latency")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+            DistributionSummary.builder(STATEMENTS)
+                .description("SQL statements prepared per service operation")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(SqlStatementCounter.MAX_EXPECTED_COUNT)
+                .register(meterRegistry)
+                .record(statementCounter.statements() - statements);
+            DistributionSummary.builder(ENTITY_LOADS)
+                .description("Entities loaded per service operation")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(SqlStatementCounter.MAX_EXPECTED_COUNT)
+                .register(meterRegistry)
+                .record(statementCounter.entityLoads() - entityLoads);
+        }
+    }
+}
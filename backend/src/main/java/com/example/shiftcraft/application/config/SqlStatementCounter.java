@@ -0,0 +1,127 @@
+package com.example.shiftcraft.application.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares and the entities it loads, per thread. Unlike
+ * Hibernate statistics this costs two increments and is always on. Counts only grow: callers
+ * read them before and after a piece of work and take the difference, so measurements nest.
+ * A {@link Recording} additionally keeps how often each statement shape ran, which is how an
+ * N+1 shows up: Hibernate binds every value, so the same lazy load repeats the same SQL text.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, PostLoadEventListener, HibernatePropertiesCustomizer {
+
+    // Top histogram bucket for count summaries built on these counts; larger values land in +Inf
+    public static final double MAX_EXPECTED_COUNT = 100_000;
+
+    private static final int STATEMENTS = 0;
+    private static final int ENTITY_LOADS = 1;
+
+    private final ThreadLocal<long[]> counts = ThreadLocal.withInitial(() -> new long[2]);
+    private final ThreadLocal<List<Recording>> recordings = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+                sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, SqlStatementCounter.this);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        }));
+    }
+
+    @Override
+    public String inspect(String sql) {
+        counts.get()[STATEMENTS]++;
+        for (Recording recording : recordings.get()) {
+            recording.shapes.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        counts.get()[ENTITY_LOADS]++;
+    }
+
+    /**
+     * Statements prepared on this thread so far
+     */
+    public long statements() {
+        return counts.get()[STATEMENTS];
+    }
+
+    /**
+     * Entities loaded on this thread so far, from the database or the second-level cache
+     */
+    public long entityLoads() {
+        return counts.get()[ENTITY_LOADS];
+    }
+
+    /**
+     * Record every statement shape prepared on this thread until the recording is closed.
+     * Recordings may overlap, e.g. a test around a request that records itself.
+     */
+    public Recording startRecording() {
+        Recording recording = new Recording();
+        recordings.get().add(recording);
+        return recording;
+    }
+
+    /**
+     * Statement shapes seen by one piece of work, with how often each ran
+     */
+    public class Recording implements AutoCloseable {
+        private final Map<String, Integer> shapes = new HashMap<>();
+
+        public int getStatements() {
+            return shapes.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        /**
+         * Shapes that ran at least {@code minRepeats} times, most repeated first
+         */
+        public List<Map.Entry<String, Integer>> getRepeatedStatements(int minRepeats) {
+            return shapes.entrySet().stream()
+                .filter(shape -> shape.getValue() >= minRepeats)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(shape -> Map.entry(shape.getKey(), shape.getValue()))
+                .toList();
+        }
+
+        public int getMaxRepeats() {
+            return shapes.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+
+        @Override
+        public void close() {
+            recordings.get().remove(this);
+        }
+    }
+}
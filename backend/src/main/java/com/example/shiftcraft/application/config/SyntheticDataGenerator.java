@@ -0,0 +1,349 @@
+package com.example.shiftcraft.application.config;
+
+import com.example.shiftcraft.persistence.entity.UuidV7Generator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeds a clinic network at production scale for load testing: N locations with five shift
+ * templates each, a manager and M staff per location with skills, K weeks of published shifts with
+ * assignments, leave requests and weekly timesheets, plus next week's drafts.
+ * Rows go in through batched JDBC inserts, bypassing the entity layer, so a few hundred
+ * thousand rows load in seconds. The same seed gives the same rosters, leave and skills.
+ */
+@Component
+@Profile("loadtest")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    public static final String MANAGER_EMAIL = "manager@shiftcraft.com";
+    public static final String PASSWORD = "password123";
+
+    private static final int TEMPLATES_PER_LOCATION = 5;
+    private static final int STAFF_PER_SHIFT = 3;
+    private static final int SKILLS_PER_STAFF = 3;
+    private static final String[] SKILLS = {
+        "Nursing", "Emergency Care", "Laboratory", "Reception", "Pharmacy", "Radiology", "Triage", "Phlebotomy"
+    };
+    private static final String[] LEVELS = {"BEGINNER", "INTERMEDIATE", "EXPERT", "CERTIFIED"};
+    /** Name, start, end and break minutes of each template at every location */
+    private static final Object[][] TEMPLATES = {
+        {"Early", LocalTime.of(6, 0), LocalTime.of(14, 0), 30},
+        {"Day", LocalTime.of(8, 0), LocalTime.of(16, 30), 30},
+        {"Late", LocalTime.of(14, 0), LocalTime.of(22, 0), 30},
+        {"Night", LocalTime.of(22, 0), LocalTime.of(6, 0), 45},
+        {"Reception", LocalTime.of(9, 0), LocalTime.of(17, 0), 60}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final int locations;
+    private final int staffPerLocation;
+    private final int weeks;
+    private final long seed;
+    private final int batchSize;
+
+    @Autowired
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                                  @Value("${app.loadtest.locations:10}") int locations,
+                                  @Value("${app.loadtest.staff-per-location:50}") int staffPerLocation,
+                                  @Value("${app.loadtest.weeks:12}") int weeks,
+                                  @Value("${app.loadtest.seed:42}") long seed,
+                                  @Value("${app.loadtest.batch-size:1000}") int batchSize) {
+        if (locations < 1 || staffPerLocation < TEMPLATES_PER_LOCATION * STAFF_PER_SHIFT || weeks < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Need at least one location and week, and "
+                + TEMPLATES_PER_LOCATION * STAFF_PER_SHIFT + " staff per location to fill a day");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.locations = locations;
+        this.staffPerLocation = staffPerLocation;
+        this.weeks = weeks;
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        Integer users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        if (users != null && users > 0) {
+            log.info("Users already present, skipping synthetic data generation");
+            return;
+        }
+        generate(LocalDate.now());
+    }
+
+    /**
+     * Load the whole network, with the last published week being the one containing {@code today}
+     */
+    @Transactional
+    public GenerationResult generate(LocalDate today) {
+        long started = System.nanoTime();
+        Random random = new Random(seed);
+        Map<String, Integer> rows = new LinkedHashMap<>();
+        LocalDate currentWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate firstWeek = currentWeek.minusWeeks(weeks - 1);
+        LocalDateTime now = today.atStartOfDay();
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        // Reference data
+        Map<String, String> roleIds = new HashMap<>();
+        Batch roles = new Batch("roles", "INSERT INTO roles (id, name, description) VALUES (?, ?, ?)", rows);
+        for (String role : List.of("ADMIN", "MANAGER", "STAFF", "FINANCE")) {
+            roleIds.put(role, newId());
+            roles.add(roleIds.get(role), role, role.charAt(0) + role.substring(1).toLowerCase());
+        }
+        roles.flush();
+
+        List<String> skillIds = new ArrayList<>();
+        Batch skills = new Batch("skills", "INSERT INTO skills (id, name, description, category) VALUES (?, ?, ?, ?)", rows);
+        for (String skill : SKILLS) {
+            skillIds.add(newId());
+            skills.add(skillIds.get(skillIds.size() - 1), skill, skill, "Healthcare");
+        }
+        skills.flush();
+
+        // Staff, in one pool per location
+        Batch users = new Batch("users",
+            "INSERT INTO users (id, email, password_hash, first_name, last_name, status, created_at) VALUES (?, ?, ?, ?, ?, 'ACTIVE', ?)", rows);
+        Batch userRoles = new Batch("user_roles", "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", rows);
+        Batch userSkills = new Batch("user_skills",
+            "INSERT INTO user_skills (id, user_id, skill_id, level, acquired_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+        String managerId = newId();
+        users.add(managerId, MANAGER_EMAIL, passwordHash, "Network", "Manager", now);
+        userRoles.add(managerId, roleIds.get("MANAGER"));
+        // One manager per clinic too: sessions are limited to one per user, so concurrent
+        // clients need their own logins
+        for (int location = 0; location < locations; location++) {
+            String clinicManagerId = newId();
+            users.add(clinicManagerId, managerEmail(location), passwordHash, "Clinic", "Manager " + location, now);
+            userRoles.add(clinicManagerId, roleIds.get("MANAGER"));
+        }
+
+        List<List<String>> staffByLocation = new ArrayList<>();
+        for (int location = 0; location < locations; location++) {
+            List<String> pool = new ArrayList<>(staffPerLocation);
+            for (int i = 0; i < staffPerLocation; i++) {
+                String userId = newId();
+                int number = location * staffPerLocation + i;
+                users.add(userId, staffEmail(number), passwordHash, "Staff", "Member " + number, now);
+                userRoles.add(userId, roleIds.get("STAFF"));
+                int firstSkill = random.nextInt(SKILLS.length);
+                for (int s = 0; s < SKILLS_PER_STAFF; s++) {
+                    userSkills.add(newId(), userId, skillIds.get((firstSkill + s) % SKILLS.length),
+                        LEVELS[random.nextInt(LEVELS.length)], now);
+                }
+                pool.add(userId);
+            }
+            staffByLocation.add(pool);
+        }
+        users.flush();
+        userRoles.flush();
+        userSkills.flush();
+
+        // Locations and their templates
+        Batch locationRows = new Batch("locations", "INSERT INTO locations (id, name, timezone, city) VALUES (?, ?, 'UTC', ?)", rows);
+        Batch templates = new Batch("shift_templates",
+            "INSERT INTO shift_templates (id, name, location_id, role_id, start_time, end_time, break_minutes, is_active, max_assignments) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, true, ?)", rows);
+        Batch requiredSkills = new Batch("template_skill_requirements",
+            "INSERT INTO template_skill_requirements (template_id, skill_id) VALUES (?, ?)", rows);
+        List<List<String>> templateIds = new ArrayList<>();
+        for (int location = 0; location < locations; location++) {
+            String locationId = newId();
+            locationRows.add(locationId, "Clinic " + (location + 1), "City " + (location % 20 + 1));
+            List<String> ids = new ArrayList<>();
+            for (int t = 0; t < TEMPLATES_PER_LOCATION; t++) {
+                Object[] shape = TEMPLATES[t];
+                String templateId = newId();
+                templates.add(templateId, shape[0] + " - Clinic " + (location + 1), locationId, roleIds.get("STAFF"),
+                    shape[1], shape[2], shape[3], STAFF_PER_SHIFT);
+                requiredSkills.add(templateId, skillIds.get((location + t) % SKILLS.length));
+                ids.add(templateId);
+            }
+            templateIds.add(ids);
+        }
+        locationRows.flush();
+        templates.flush();
+        requiredSkills.flush();
+
+        // Shifts week by week; each week's timesheets cover the assignments just created
+        Batch instances = new Batch("shift_instances",
+            "INSERT INTO shift_instances (id, template_id, shift_date, status, published_at) VALUES (?, ?, ?, ?, ?)", rows);
+        Batch assignments = new Batch("assignments",
+            "INSERT INTO assignments (id, shift_instance_id, user_id, status, assigned_at, assigned_by) VALUES (?, ?, ?, 'ACTIVE', ?, ?)", rows);
+        Batch timesheets = new Batch("timesheets",
+            "INSERT INTO timesheets (id, user_id, period_start, period_end, total_minutes, status, generated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        Batch entries = new Batch("timesheet_entries",
+            "INSERT INTO timesheet_entries (id, timesheet_id, assignment_id, work_date, start_time, end_time, break_minutes, worked_minutes, entry_type) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'SHIFT')", rows);
+
+        for (LocalDate week = firstWeek; !week.isAfter(currentWeek.plusWeeks(1)); week = week.plusWeeks(1)) {
+            boolean draft = week.isAfter(currentWeek);
+            boolean closed = week.isBefore(currentWeek);
+            Map<String, List<Object[]>> shiftsByUser = new HashMap<>();
+
+            for (int day = 0; day < 7; day++) {
+                LocalDate date = week.plusDays(day);
+                for (int location = 0; location < locations; location++) {
+                    List<String> pool = staffByLocation.get(location);
+                    int offset = random.nextInt(pool.size());
+                    for (int t = 0; t < TEMPLATES_PER_LOCATION; t++) {
+                        String instanceId = newId();
+                        instances.add(instanceId, templateIds.get(location).get(t), date,
+                            draft ? "DRAFT" : "PUBLISHED", draft ? null : week.minusDays(7).atTime(9, 0));
+                        if (draft) {
+                            continue;
+                        }
+                        // Consecutive pool members from a random offset: nobody works twice in a day
+                        for (int k = 0; k < STAFF_PER_SHIFT; k++) {
+                            String userId = pool.get((offset + t * STAFF_PER_SHIFT + k) % pool.size());
+                            UUID assignmentId = UuidV7Generator.next();
+                            assignments.add(assignmentId, instanceId, userId, week.minusDays(7).atTime(9, 0), managerId);
+                            shiftsByUser.computeIfAbsent(userId, id -> new ArrayList<>())
+                                .add(new Object[]{assignmentId, date, TEMPLATES[t]});
+                        }
+                    }
+                }
+            }
+
+            if (closed) {
+                boolean lastClosedWeek = week.equals(currentWeek.minusWeeks(1));
+                for (Map.Entry<String, List<Object[]>> shifts : shiftsByUser.entrySet()) {
+                    String timesheetId = newId();
+                    long totalMinutes = 0;
+                    for (Object[] shift : shifts.getValue()) {
+                        Object[] shape = (Object[]) shift[2];
+                        int worked = workedMinutes((LocalTime) shape[1], (LocalTime) shape[2], (Integer) shape[3]);
+                        entries.add(UuidV7Generator.next(), timesheetId, shift[0], shift[1], shape[1], shape[2], shape[3], worked);
+                        totalMinutes += worked;
+                    }
+                    timesheets.add(timesheetId, shifts.getKey(), week, week.plusDays(6), totalMinutes,
+                        lastClosedWeek ? "SUBMITTED" : "APPROVED", week.plusDays(7).atTime(1, 0));
+                }
+            }
+
+            instances.flush();
+            assignments.flush();
+            timesheets.flush();
+            entries.flush();
+        }
+
+        // Roughly one leave request per person per four weeks; those starting after today are
+        // mostly still pending
+        Batch leave = new Batch("leave_requests",
+            "INSERT INTO leave_requests (id, user_id, start_date, end_date, leave_type, status, reason, requested_at, reviewed_at, reviewed_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        int span = (weeks + 4) * 7;
+        for (List<String> pool : staffByLocation) {
+            for (String userId : pool) {
+                for (int r = 0; r < Math.max(1, (weeks + 4) / 4); r++) {
+                    LocalDate start = firstWeek.plusDays(random.nextInt(span));
+                    LocalDate end = start.plusDays(random.nextInt(5));
+                    String status = start.isAfter(today)
+                        ? (random.nextInt(4) == 0 ? "APPROVED" : "PENDING")
+                        : (random.nextInt(5) == 0 ? "REJECTED" : "APPROVED");
+                    boolean reviewed = !status.equals("PENDING");
+                    leave.add(newId(), userId, start, end, random.nextInt(3) == 0 ? "SICK" : "VACATION", status,
+                        "Synthetic request", start.minusDays(14 + random.nextInt(14)).atTime(10, 0),
+                        reviewed ? start.minusDays(7).atTime(10, 0) : null, reviewed ? managerId : null);
+                }
+            }
+        }
+        leave.flush();
+
+        GenerationResult result = new GenerationResult(rows, (System.nanoTime() - started) / 1_000_000);
+        log.info("Generated {} rows in {} ms: {}", result.getTotalRows(), result.getElapsedMillis(), rows);
+        return result;
+    }
+
+    public static String managerEmail(int location) {
+        return "manager" + location + "@loadtest.shiftcraft.com";
+    }
+
+    public static String staffEmail(int number) {
+        return "staff" + number + "@loadtest.shiftcraft.com";
+    }
+
+    private static String newId() {
+        return UuidV7Generator.next().toString();
+    }
+
+    private static int workedMinutes(LocalTime start, LocalTime end, int breakMinutes) {
+        int minutes = end.toSecondOfDay() / 60 - start.toSecondOfDay() / 60;
+        return (minutes < 0 ? minutes + 24 * 60 : minutes) - breakMinutes;
+    }
+
+    /**
+     * Rows for one table, sent to the database in JDBC batches of the configured size
+     */
+    private class Batch {
+        private final String table;
+        private final String sql;
+        private final Map<String, Integer> rowCounts;
+        private final List<Object[]> pending = new ArrayList<>();
+
+        Batch(String table, String sql, Map<String, Integer> rowCounts) {
+            this.table = table;
+            this.sql = sql;
+            this.rowCounts = rowCounts;
+        }
+
+        void add(Object... row) {
+            pending.add(row);
+        }
+
+        void flush() {
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(sql, pending.subList(from, Math.min(from + batchSize, pending.size())));
+            }
+            rowCounts.merge(table, pending.size(), Integer::sum);
+            pending.clear();
+        }
+    }
+
+    /**
+     * Rows inserted per table and how long it took
+     */
+    public static class GenerationResult {
+        private final Map<String, Integer> rows;
+        private final long elapsedMillis;
+
+        public GenerationResult(Map<String, Integer> rows, long elapsedMillis) {
+            this.rows = rows;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getTotalRows() {
+            return rows.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        // Getters
+        public Map<String, Integer> getRows() { return rows; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.persistence.entity.LeaveRequest;
+import com.example.shiftcraft.persistence.repository.LeaveRequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory index of each user's PENDING and APPROVED leave, answering overlap checks
+ * with a binary search over intervals loaded once per user.
+ *
+ * Answers agree with the database across application instances. A miss is trusted only
+ * after the user's leave version (count and latest submit or review time of the active
+ * requests, one aggregate over the user's index entries) still matches the one the
+ * intervals were loaded with; otherwise they are reloaded first. A hit may be leave that
+ * another instance has since rejected or cancelled, so it is confirmed against the
+ * database, and an entry the database contradicts is dropped. Local transactions that
+ * change a user's leave evict the entry when they complete, and entries expire after
+ * app.leave.index.ttl so idle users do not stay in memory.
+ */
+@Component
+public class LeaveIntervalIndex {
+    
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ConcurrentMap<String, UserLeave> users = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public LeaveIntervalIndex(LeaveRequestRepository leaveRequestRepository,
+                              @Value("${app.leave.index.ttl:PT30S}") Duration ttl) {
+        this(leaveRequestRepository, ttl, Clock.systemUTC());
+    }
+    
+    LeaveIntervalIndex(LeaveRequestRepository leaveRequestRepository, Duration ttl, Clock clock) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+    
+    /**
+     * Whether any pending or approved leave for the user overlaps the inclusive date range
+     */
+    public boolean hasActiveLeave(String userId, LocalDate startDate, LocalDate endDate) {
+        UserLeave leave = get(userId);
+        if (!leave.active.overlaps(startDate.toEpochDay(), endDate.toEpochDay())) {
+            leave = current(userId, leave);
+            if (!leave.active.overlaps(startDate.toEpochDay(), endDate.toEpochDay())) {
+                return false;
+            }
+        }
+        return confirm(userId, leave,
+            leaveRequestRepository.existsActiveLeaveForUserInPeriod(userId, startDate, endDate));
+    }
+    
+    /**
+     * Whether any approved leave for the user overlaps the inclusive date range
+     */
+    public boolean hasApprovedLeave(String userId, LocalDate startDate, LocalDate endDate) {
+        UserLeave leave = get(userId);
+        if (!leave.approved.overlaps(startDate.toEpochDay(), endDate.toEpochDay())) {
+            leave = current(userId, leave);
+            if (!leave.approved.overlaps(startDate.toEpochDay(), endDate.toEpochDay())) {
+                return false;
+            }
+        }
+        return confirm(userId, leave,
+            leaveRequestRepository.existsApprovedLeaveForUserInPeriod(userId, startDate, endDate));
+    }
+    
+    /**
+     * Drop the user's intervals once the current transaction commits, or immediately
+     * when no transaction is active, so the next query reloads them
+     */
+    public void invalidate(String userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.remove(userId);
+                }
+            });
+        } else {
+            users.remove(userId);
+        }
+    }
+    
+    public void clear() {
+        users.clear();
+    }
+    
+    private UserLeave get(String userId) {
+        long now = clock.millis();
+        UserLeave leave = users.get(userId);
+        if (leave != null && leave.expiresAt > now) {
+            return leave;
+        }
+        // Loading inside compute holds the entry, so an invalidate that arrives meanwhile
+        // waits and then removes what was loaded instead of being overwritten by it
+        return users.compute(userId, (id, current) ->
+            current != null && current.expiresAt > now ? current : load(id, now + ttl.toMillis()));
+    }
+    
+    /**
+     * The cached intervals if the user's leave version is unchanged, otherwise a fresh load
+     */
+    private UserLeave current(String userId, UserLeave leave) {
+        LeaveRequestRepository.LeaveVersion version = leaveRequestRepository.findActiveLeaveVersionForUser(userId);
+        if (leave.matches(version)) {
+            return leave;
+        }
+        long expiresAt = clock.millis() + ttl.toMillis();
+        return users.compute(userId, (id, current) ->
+            current != null && current != leave && current.matches(version) ? current : load(id, expiresAt));
+    }
+    
+    private boolean confirm(String userId, UserLeave leave, boolean inDatabase) {
+        if (!inDatabase) {
+            // Changed elsewhere since it was loaded; reload on the next query
+            users.remove(userId, leave);
+        }
+        return inDatabase;
+    }
+    
+    private UserLeave load(String userId, long expiresAt) {
+        // Version first: a change landing between the two reads makes the version stale, never the intervals
+        LeaveRequestRepository.LeaveVersion version = leaveRequestRepository.findActiveLeaveVersionForUser(userId);
+        List<long[]> active = new ArrayList<>();
+        List<long[]> approved = new ArrayList<>();
+        for (LeaveRequestRepository.UserLeaveRange range : leaveRequestRepository.findActiveLeaveRangesForUser(userId)) {
+            long[] interval = {range.getStartDate().toEpochDay(), range.getEndDate().toEpochDay()};
+            active.add(interval);
+            if (range.getStatus() == LeaveRequest.LeaveStatus.APPROVED) {
+                approved.add(interval);
+            }
+        }
+        return new UserLeave(IntervalSet.of(active), IntervalSet.of(approved),
+            version.getActiveCount(), version.getLastChange(), expiresAt);
+    }
+    
+    private static final class UserLeave {
+        private final IntervalSet active;
+        private final IntervalSet approved;
+        private final long activeCount;
+        private final LocalDateTime lastChange;
+        private final long expiresAt;
+        
+        private UserLeave(IntervalSet active, IntervalSet approved, long activeCount, LocalDateTime lastChange,
+                          long expiresAt) {
+            this.active = active;
+            this.approved = approved;
+            this.activeCount = activeCount;
+            this.lastChange = lastChange;
+            this.expiresAt = expiresAt;
+        }
+        
+        private boolean matches(LeaveRequestRepository.LeaveVersion version) {
+            return activeCount == version.getActiveCount() && Objects.equals(lastChange, version.getLastChange());
+        }
+    }
+    
+    /**
+     * Immutable set of closed intervals sorted by start, with a running maximum of
+     * the end points. An interval overlapping [from, to] exists exactly when the
+     * largest end among intervals starting on or before {@code to} reaches {@code from}.
+     */
+    static final class IntervalSet {
+        private static final IntervalSet EMPTY = new IntervalSet(new long[0], new long[0]);
+        
+        private final long[] starts;
+        private final long[] maxEnds;
+        
+        private IntervalSet(long[] starts, long[] maxEnds) {
+            this.starts = starts;
+            this.maxEnds = maxEnds;
+        }
+        
+        static IntervalSet of(List<long[]> intervals) {
+            if (intervals.isEmpty()) {
+                return EMPTY;
+            }
+            long[][] sorted = intervals.toArray(new long[0][]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a[0], b[0]));
+            
+            long[] starts = new long[sorted.length];
+            long[] maxEnds = new long[sorted.length];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < sorted.length; i++) {
+                starts[i] = sorted[i][0];
+                maxEnd = Math.max(maxEnd, sorted[i][1]);
+                maxEnds[i] = maxEnd;
+            }
+            return new IntervalSet(starts, maxEnds);
+        }
+        
+        boolean overlaps(long from, long to) {
+            // Index of the last interval starting on or before 'to'
+            int low = 0;
+            int high = starts.length - 1;
+            int last = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= to) {
+                    last = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return last >= 0 && maxEnds[last] >= from;
+        }
+        
+        int size() {
+            return starts.length;
+        }
+    }
+}
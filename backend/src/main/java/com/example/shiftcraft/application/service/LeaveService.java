@@ -5,6 +5,9 @@ import com.example.shiftcraft.persistence.entity.User;
 import com.example.shiftcraft.persistence.repository.LeaveRequestRepository;
 import com.example.shiftcraft.persistence.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,11 +22,14 @@ public class LeaveService {
     
     private final LeaveRequestRepository leaveRequestRepository;
     private final UserRepository userRepository;
+    private final LeaveIntervalIndex leaveIntervalIndex;
     
     @Autowired
-    public LeaveService(LeaveRequestRepository leaveRequestRepository, UserRepository userRepository) {
+    public LeaveService(LeaveRequestRepository leaveRequestRepository, UserRepository userRepository,
+                        LeaveIntervalIndex leaveIntervalIndex) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.userRepository = userRepository;
+        this.leaveIntervalIndex = leaveIntervalIndex;
     }
     
     /**
@@ -43,15 +49,14 @@ public class LeaveService {
             throw new IllegalArgumentException("Cannot request leave for past dates");
         }
         
-        // Check for overlapping requests
-        List<LeaveRequest> overlappingRequests = leaveRequestRepository.findUserLeaveInPeriod(
-            userId, startDate, endDate);
-        
-        if (!overlappingRequests.isEmpty()) {
+        // Check for overlapping requests in the database; the index may be behind writes
+        // made on other instances in either direction
+        if (!leaveRequestRepository.findUserLeaveInPeriod(userId, startDate, endDate).isEmpty()) {
             throw new IllegalStateException("Leave request overlaps with existing leave");
         }
         
         LeaveRequest leaveRequest = new LeaveRequest(user, startDate, endDate, leaveType, reason);
+        leaveIntervalIndex.invalidate(userId);
         return leaveRequestRepository.save(leaveRequest);
     }
     
@@ -63,6 +68,14 @@ public class LeaveService {
         return leaveRequestRepository.findPendingRequests();
     }
     
+    /**
+     * Get one page of pending leave requests, oldest first
+     */
+    @Transactional(readOnly = true)
+    public Window<LeaveRequest> getPendingLeaveRequests(ScrollPosition position, int pageSize) {
+        return leaveRequestRepository.findPendingRequests(position, Limit.of(pageSize));
+    }
+    
     /**
      * Approve a leave request
      */
@@ -79,6 +92,7 @@ public class LeaveService {
         request.setReviewedAt(LocalDateTime.now());
         request.setReviewNotes(notes);
         
+        leaveIntervalIndex.invalidate(request.getUser().getId());
         return leaveRequestRepository.save(request);
     }
     
@@ -98,6 +112,7 @@ public class LeaveService {
         request.setReviewedAt(LocalDateTime.now());
         request.setReviewNotes(notes);
         
+        leaveIntervalIndex.invalidate(request.getUser().getId());
         return leaveRequestRepository.save(request);
     }
     
@@ -122,9 +137,7 @@ public class LeaveService {
      */
     @Transactional(readOnly = true)
     public boolean hasApprovedLeave(String userId, LocalDate startDate, LocalDate endDate) {
-        List<LeaveRequest> approvedLeave = leaveRequestRepository.findUserLeaveInPeriod(
-            userId, startDate, endDate);
-        return approvedLeave.stream().anyMatch(LeaveRequest::isApproved);
+        return leaveIntervalIndex.hasApprovedLeave(userId, startDate, endDate);
     }
     
     /**
@@ -151,6 +164,7 @@ public class LeaveService {
         }
         
         request.setStatus(LeaveRequest.LeaveStatus.CANCELLED);
+        leaveIntervalIndex.invalidate(userId);
         leaveRequestRepository.save(request);
     }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.persistence.entity.TimesheetEntry;
+import com.example.shiftcraft.persistence.repository.TimesheetEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams payroll exports row by row from a database cursor, so a period of
+ * any size is written in constant memory and the first bytes leave immediately.
+ */
+@Service
+public class PayrollExportService {
+    
+    /**
+     * Rows written between explicit flushes to the client
+     */
+    static final int FLUSH_INTERVAL = 500;
+    
+    static final String CSV_HEADER = "email,first_name,last_name,timesheet_id,period_start,period_end,"
+        + "timesheet_status,work_date,start_time,end_time,break_minutes,worked_minutes,hours,entry_type,description";
+    
+    private final TimesheetEntryRepository timesheetEntryRepository;
+    
+    @Autowired
+    public PayrollExportService(TimesheetEntryRepository timesheetEntryRepository) {
+        this.timesheetEntryRepository = timesheetEntryRepository;
+    }
+    
+    /**
+     * Write one CSV row per timesheet entry worked in the period. Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long writePayrollCsv(LocalDate periodStart, LocalDate periodEnd, OutputStream outputStream) throws IOException {
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start must be before period end");
+        }
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        writer.flush();
+        
+        long rows = 0;
+        try (Stream<TimesheetEntryRepository.PayrollRow> stream =
+                 timesheetEntryRepository.streamPayrollRows(periodStart, periodEnd)) {
+            Iterator<TimesheetEntryRepository.PayrollRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writeRow(writer, iterator.next());
+                if (++rows % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        
+        writer.flush();
+        return rows;
+    }
+    
+    private void writeRow(Writer writer, TimesheetEntryRepository.PayrollRow row) throws IOException {
+        writer.write(csv(row.getEmail()));
+        writer.write(',');
+        writer.write(csv(row.getFirstName()));
+        writer.write(',');
+        writer.write(csv(row.getLastName()));
+        writer.write(',');
+        writer.write(row.getTimesheetId());
+        writer.write(',');
+        writer.write(row.getPeriodStart().toString());
+        writer.write(',');
+        writer.write(row.getPeriodEnd().toString());
+        writer.write(',');
+        writer.write(row.getTimesheetStatus().name());
+        writer.write(',');
+        writer.write(row.getWorkDate().toString());
+        writer.write(',');
+        writer.write(row.getStartTime().toString());
+        writer.write(',');
+        writer.write(row.getEndTime().toString());
+        writer.write(',');
+        writer.write(String.valueOf(row.getBreakMinutes() != null ? row.getBreakMinutes() : 0));
+        writer.write(',');
+        writer.write(String.valueOf(row.getWorkedMinutes()));
+        writer.write(',');
+        writer.write(TimesheetEntry.minutesToHours(row.getWorkedMinutes()).toPlainString());
+        writer.write(',');
+        writer.write(row.getEntryType().name());
+        writer.write(',');
+        writer.write(csv(row.getDescription()));
+        writer.write('\n');
+    }
+    
+    /**
+     * Quote a free-text value per RFC 4180 and neutralise leading characters
+     * that spreadsheets would otherwise evaluate as a formula, including the
+     * tab and carriage return some of them skip before reading one
+     */
+    static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            value = "'" + value;
+        }
+        
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
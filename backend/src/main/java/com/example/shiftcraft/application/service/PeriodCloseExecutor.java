@@ -0,0 +1,177 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.persistence.repository.AssignmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Closes a payroll period by generating timesheets for all billable staff in parallel.
+ * The staff list is split into fixed-size partitions; each partition runs on a virtual
+ * thread in its own transaction, so a failing partition rolls back only its own users.
+ * A semaphore caps how many partitions hold a database connection at once.
+ */
+@Service
+public class PeriodCloseExecutor {
+    
+    private static final Logger log = LoggerFactory.getLogger(PeriodCloseExecutor.class);
+    
+    private final TimesheetService timesheetService;
+    private final AssignmentRepository assignmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionSize;
+    private final int maxConcurrency;
+    
+    @Autowired
+    public PeriodCloseExecutor(TimesheetService timesheetService,
+                              AssignmentRepository assignmentRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.timesheets.period-close.partition-size:200}") int partitionSize,
+                              @Value("${app.timesheets.period-close.max-concurrency:4}") int maxConcurrency) {
+        if (partitionSize < 1 || maxConcurrency < 1) {
+            throw new IllegalArgumentException("Partition size and max concurrency must be positive");
+        }
+        this.timesheetService = timesheetService;
+        this.assignmentRepository = assignmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.partitionSize = partitionSize;
+        this.maxConcurrency = maxConcurrency;
+    }
+    
+    /**
+     * Generate timesheets for every user with billable assignments in the period
+     */
+    public PeriodCloseResult closePeriod(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start must be before period end");
+        }
+        
+        List<List<String>> partitions = partition(assignmentRepository.findBillableUserIdsInPeriod(periodStart, periodEnd));
+        Semaphore connections = new Semaphore(maxConcurrency);
+        
+        List<Future<TimesheetService.BulkGenerationResult>> futures = new ArrayList<>(partitions.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<String> userIds : partitions) {
+                futures.add(executor.submit(() -> runPartition(userIds, periodStart, periodEnd, connections)));
+            }
+        }
+        
+        int timesheetsCreated = 0;
+        int entriesCreated = 0;
+        int skippedUsers = 0;
+        List<PartitionFailure> failures = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                TimesheetService.BulkGenerationResult result = futures.get(i).get();
+                timesheetsCreated += result.getTimesheetsCreated();
+                entriesCreated += result.getEntriesCreated();
+                skippedUsers += result.getSkippedUsers();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                log.warn("Timesheet partition {} of {} failed for {} to {}",
+                    i + 1, partitions.size(), periodStart, periodEnd, cause);
+                failures.add(new PartitionFailure(i, partitions.get(i), cause.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while closing period", e);
+            }
+        }
+        
+        log.info("Closed period {} to {}: {} timesheets, {} entries, {} skipped, {} of {} partitions failed",
+            periodStart, periodEnd, timesheetsCreated, entriesCreated, skippedUsers, failures.size(), partitions.size());
+        
+        return new PeriodCloseResult(periodStart, periodEnd, partitions.size(),
+            timesheetsCreated, entriesCreated, skippedUsers, failures);
+    }
+    
+    private TimesheetService.BulkGenerationResult runPartition(List<String> userIds, LocalDate periodStart,
+                                                               LocalDate periodEnd, Semaphore connections)
+            throws InterruptedException {
+        connections.acquire();
+        try {
+            return transactionTemplate.execute(status ->
+                timesheetService.generateTimesheetsForUsers(userIds, periodStart, periodEnd));
+        } finally {
+            connections.release();
+        }
+    }
+    
+    private List<List<String>> partition(List<String> userIds) {
+        List<List<String>> partitions = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += partitionSize) {
+            partitions.add(userIds.subList(from, Math.min(from + partitionSize, userIds.size())));
+        }
+        return partitions;
+    }
+    
+    /**
+     * Data classes for period close
+     */
+    public static class PartitionFailure {
+        private final int partitionIndex;
+        private final List<String> userIds;
+        private final String message;
+        
+        public PartitionFailure(int partitionIndex, List<String> userIds, String message) {
+            this.partitionIndex = partitionIndex;
+            this.userIds = userIds;
+            this.message = message;
+        }
+        
+        // Getters
+        public int getPartitionIndex() { return partitionIndex; }
+        public List<String> getUserIds() { return userIds; }
+        public String getMessage() { return message; }
+    }
+    
+    public static class PeriodCloseResult {
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+        private final int partitions;
+        private final int timesheetsCreated;
+        private final int entriesCreated;
+        private final int skippedUsers;
+        private final List<PartitionFailure> failures;
+        
+        public PeriodCloseResult(LocalDate periodStart, LocalDate periodEnd, int partitions,
+                                int timesheetsCreated, int entriesCreated, int skippedUsers,
+                                List<PartitionFailure> failures) {
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.partitions = partitions;
+            this.timesheetsCreated = timesheetsCreated;
+            this.entriesCreated = entriesCreated;
+            this.skippedUsers = skippedUsers;
+            this.failures = Collections.unmodifiableList(failures);
+        }
+        
+        // Getters
+        public LocalDate getPeriodStart() { return periodStart; }
+        public LocalDate getPeriodEnd() { return periodEnd; }
+        public int getPartitions() { return partitions; }
+        public int getTimesheetsCreated() { return timesheetsCreated; }
+        public int getEntriesCreated() { return entriesCreated; }
+        public int getSkippedUsers() { return skippedUsers; }
+        public List<PartitionFailure> getFailures() { return failures; }
+        
+        public int getFailedUsers() {
+            return failures.stream().mapToInt(failure -> failure.getUserIds().size()).sum();
+        }
+    }
+}
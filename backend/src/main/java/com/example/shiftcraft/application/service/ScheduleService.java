@@ -8,7 +8,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -21,20 +26,26 @@ public class ScheduleService {
     private final AssignmentRepository assignmentRepository;
     private final LeaveRequestRepository leaveRequestRepository;
     private final UserRepository userRepository;
+    private final LeaveIntervalIndex leaveIntervalIndex;
     
     @Autowired
     public ScheduleService(ShiftInstanceRepository shiftInstanceRepository,
                           AssignmentRepository assignmentRepository,
                           LeaveRequestRepository leaveRequestRepository,
-                          UserRepository userRepository) {
+                          UserRepository userRepository,
+                          LeaveIntervalIndex leaveIntervalIndex) {
         this.shiftInstanceRepository = shiftInstanceRepository;
         this.assignmentRepository = assignmentRepository;
         this.leaveRequestRepository = leaveRequestRepository;
         this.userRepository = userRepository;
+        this.leaveIntervalIndex = leaveIntervalIndex;
     }
     
     /**
-     * Get weekly schedule for all users
+     * Get weekly schedule for all users. The repositories fetch the users,
+     * templates, locations and roles the schedule view renders, so the whole
+     * week loads in a fixed number of statements whether or not the
+     * second-level cache is warm.
      */
     @Transactional(readOnly = true)
     public WeeklySchedule getWeeklySchedule(LocalDate date) {
@@ -81,14 +92,7 @@ public class ScheduleService {
         List<Assignment> assignments = assignmentRepository
             .findByUserIdAndDateRange(userId, startDate, endDate);
         
-        // Group assignments by date
-        Map<LocalDate, List<Assignment>> assignmentsByDate = assignments.stream()
-            .collect(Collectors.groupingBy(a -> a.getShiftInstance().getShiftDate()));
-        
-        return assignmentsByDate.entrySet().stream()
-            .filter(entry -> entry.getValue().size() > 1) // Multiple assignments on same date
-            .map(entry -> new ScheduleConflict(userId, entry.getKey(), entry.getValue()))
-            .collect(Collectors.toList());
+        return ScheduleConflict.of(userId, assignments);
     }
     
     /**
@@ -108,10 +112,7 @@ public class ScheduleService {
         }
         
         // Check approved leave
-        List<LeaveRequest> leave = leaveRequestRepository
-            .findUserLeaveInPeriod(userId, date, date);
-        
-        return leave.stream().noneMatch(LeaveRequest::isApproved);
+        return !leaveIntervalIndex.hasApprovedLeave(userId, date, date);
     }
     
     /**
@@ -119,22 +120,34 @@ public class ScheduleService {
      */
     @Transactional(readOnly = true)
     public Map<String, List<LocalDate>> getStaffAvailability(LocalDate startDate, LocalDate endDate) {
-        List<User> staff = userRepository.findByRoleName("STAFF");
-        
-        return staff.stream()
-            .collect(Collectors.toMap(
-                User::getId,
-                user -> getAvailableDates(user.getId(), startDate, endDate)
-            ));
+        return getStaffAvailabilityBitsets(startDate, endDate).toDateMap();
     }
     
     /**
-     * Helper method to get available dates for a user
+     * Get staff availability for a date range as per-user day bitsets.
+     * Loads the window's active assignments and pending/approved leave in two
+     * range queries instead of checking every user on every day.
      */
-    private List<LocalDate> getAvailableDates(String userId, LocalDate startDate, LocalDate endDate) {
-        return startDate.datesUntil(endDate.plusDays(1))
-            .filter(date -> isUserAvailableForShift(userId, date))
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public StaffAvailability getStaffAvailabilityBitsets(LocalDate startDate, LocalDate endDate) {
+        List<String> staffIds = userRepository.findIdsByRoleName("STAFF");
+        StaffAvailability availability = new StaffAvailability(startDate, endDate, staffIds);
+        
+        for (AssignmentRepository.UserShiftDate assigned : assignmentRepository
+                .findActiveUserShiftDatesInPeriod(startDate, endDate)) {
+            availability.markUnavailable(assigned.getUserId(), assigned.getShiftDate());
+        }
+        
+        for (LeaveRequestRepository.UserLeaveRange leave : leaveRequestRepository
+                .findActiveLeaveRangesInPeriod(startDate, endDate)) {
+            if (leave.getStatus() == LeaveRequest.LeaveStatus.APPROVED) {
+                availability.markUnavailable(leave.getUserId(), leave.getStartDate(), leave.getEndDate());
+            } else {
+                availability.markPendingLeave(leave.getUserId(), leave.getStartDate(), leave.getEndDate());
+            }
+        }
+        
+        return availability;
     }
     
     /**
@@ -146,6 +159,7 @@ public class ScheduleService {
         private final List<ShiftInstance> shifts;
         private final List<Assignment> assignments;
         private final List<LeaveRequest> approvedLeave;
+        private final WeeklyScheduleGrid grid;
         
         public WeeklySchedule(LocalDate weekStart, LocalDate weekEnd, 
                              List<ShiftInstance> shifts, List<Assignment> assignments,
@@ -155,6 +169,7 @@ public class ScheduleService {
             this.shifts = shifts;
             this.assignments = assignments;
             this.approvedLeave = approvedLeave;
+            this.grid = WeeklyScheduleGrid.of(weekStart, assignments);
         }
         
         // Getters
@@ -163,6 +178,79 @@ public class ScheduleService {
         public List<ShiftInstance> getShifts() { return shifts; }
         public List<Assignment> getAssignments() { return assignments; }
         public List<LeaveRequest> getApprovedLeave() { return approvedLeave; }
+        public WeeklyScheduleGrid getGrid() { return grid; }
+    }
+    
+    /**
+     * Assignments pivoted once into one row per user and one cell per day of the week,
+     * so the schedule view renders without comparing dates in every cell
+     */
+    public static class WeeklyScheduleGrid {
+        public static final int DAYS_PER_WEEK = 7;
+        
+        private final LocalDate weekStart;
+        private final List<GridRow> rows;
+        
+        private WeeklyScheduleGrid(LocalDate weekStart, List<GridRow> rows) {
+            this.weekStart = weekStart;
+            this.rows = rows;
+        }
+        
+        /**
+         * Group assignments by user and day offset from the start of the week.
+         * Assignments outside the week are ignored; rows are ordered by user name.
+         */
+        public static WeeklyScheduleGrid of(LocalDate weekStart, List<Assignment> assignments) {
+            Map<String, GridRow> rowsByUser = new LinkedHashMap<>();
+            
+            for (Assignment assignment : assignments) {
+                long day = ChronoUnit.DAYS.between(weekStart, assignment.getShiftInstance().getShiftDate());
+                if (day < 0 || day >= DAYS_PER_WEEK) {
+                    continue;
+                }
+                
+                User user = assignment.getUser();
+                rowsByUser.computeIfAbsent(user.getId(), id -> new GridRow(user))
+                    .add((int) day, assignment);
+            }
+            
+            List<GridRow> rows = new ArrayList<>(rowsByUser.values());
+            rows.sort(Comparator.comparing((GridRow row) -> row.getUser().getLastName())
+                .thenComparing(row -> row.getUser().getFirstName())
+                .thenComparing(row -> row.getUser().getId()));
+            
+            return new WeeklyScheduleGrid(weekStart, rows);
+        }
+        
+        // Getters
+        public LocalDate getWeekStart() { return weekStart; }
+        public List<GridRow> getRows() { return rows; }
+    }
+    
+    public static class GridRow {
+        private final User user;
+        private final List<List<Assignment>> days;
+        
+        private GridRow(User user) {
+            this.user = user;
+            @SuppressWarnings("unchecked")
+            List<Assignment>[] cells = new List[WeeklyScheduleGrid.DAYS_PER_WEEK];
+            Arrays.fill(cells, List.of());
+            this.days = Arrays.asList(cells);
+        }
+        
+        private void add(int day, Assignment assignment) {
+            List<Assignment> cell = days.get(day);
+            if (cell.isEmpty()) {
+                cell = new ArrayList<>(2);
+                days.set(day, cell);
+            }
+            cell.add(assignment);
+        }
+        
+        // Getters
+        public User getUser() { return user; }
+        public List<List<Assignment>> getDays() { return days; }
     }
     
     public static class UserWeeklySchedule {
@@ -200,6 +288,19 @@ public class ScheduleService {
             this.conflictingAssignments = conflictingAssignments;
         }
         
+        /**
+         * Group a user's assignments by shift date and keep the dates with more than one
+         */
+        public static List<ScheduleConflict> of(String userId, List<Assignment> assignments) {
+            Map<LocalDate, List<Assignment>> assignmentsByDate = assignments.stream()
+                .collect(Collectors.groupingBy(a -> a.getShiftInstance().getShiftDate()));
+            
+            return assignmentsByDate.entrySet().stream()
+                .filter(entry -> entry.getValue().size() > 1) // Multiple assignments on same date
+                .map(entry -> new ScheduleConflict(userId, entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        }
+        
         // Getters
         public String getUserId() { return userId; }
         public LocalDate getDate() { return date; }
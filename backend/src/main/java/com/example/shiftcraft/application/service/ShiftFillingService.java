@@ -0,0 +1,189 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.application.solver.RosterProblem;
+import com.example.shiftcraft.application.solver.RosterSolution;
+import com.example.shiftcraft.application.solver.RosterSolver;
+import com.example.shiftcraft.persistence.entity.Assignment;
+import com.example.shiftcraft.persistence.entity.LeaveRequest;
+import com.example.shiftcraft.persistence.entity.ShiftInstance;
+import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import com.example.shiftcraft.persistence.entity.Skill;
+import com.example.shiftcraft.persistence.entity.UserSkill;
+import com.example.shiftcraft.persistence.repository.AssignmentRepository;
+import com.example.shiftcraft.persistence.repository.LeaveRequestRepository;
+import com.example.shiftcraft.persistence.repository.ShiftInstanceRepository;
+import com.example.shiftcraft.persistence.repository.UserRepository;
+import com.example.shiftcraft.persistence.repository.UserSkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Proposes staff for open draft shifts using the {@link RosterSolver}. The problem is
+ * loaded with a handful of projection queries, solved in memory, and the proposal is
+ * only written when a manager applies it.
+ */
+@Service
+public class ShiftFillingService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ShiftFillingService.class);
+    
+    private final ShiftInstanceRepository shiftInstanceRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final UserRepository userRepository;
+    private final UserSkillRepository userSkillRepository;
+    private final RosterSolver solver;
+    private final UserSkill.SkillLevel minimumSkillLevel;
+    
+    @Autowired
+    public ShiftFillingService(ShiftInstanceRepository shiftInstanceRepository,
+                               AssignmentRepository assignmentRepository,
+                               LeaveRequestRepository leaveRequestRepository,
+                               UserRepository userRepository,
+                               UserSkillRepository userSkillRepository,
+                               @Value("${app.solver.threads:0}") int threads,
+                               @Value("${app.solver.time-budget:PT5S}") Duration timeBudget,
+                               @Value("${app.solver.minimum-skill-level:BEGINNER}") UserSkill.SkillLevel minimumSkillLevel) {
+        this.shiftInstanceRepository = shiftInstanceRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.userRepository = userRepository;
+        this.userSkillRepository = userSkillRepository;
+        this.solver = new RosterSolver(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), timeBudget);
+        this.minimumSkillLevel = minimumSkillLevel;
+    }
+    
+    /**
+     * Propose assignments for the open slots of every draft shift in the period
+     */
+    @Transactional(readOnly = true)
+    public RosterSolution proposeAssignments(LocalDate startDate, LocalDate endDate) {
+        RosterProblem problem = buildProblem(startDate, endDate);
+        RosterSolution solution = solver.solve(problem);
+        log.info("Proposed {} of {} open slots for {} staff between {} and {} in {} ms",
+            solution.getFilledSlots(), solution.getTotalSlots(), problem.getStaffCount(),
+            startDate, endDate, solution.getElapsed().toMillis());
+        return solution;
+    }
+    
+    /**
+     * Persist a proposal. The shifts are locked and the hard constraints are checked again
+     * against the current data, so proposals that went stale after solving are skipped: the
+     * shift has left the draft state or is full, the person has approved leave that day or
+     * already works a shift on it.
+     */
+    @Transactional
+    public List<Assignment> applyProposal(RosterSolution solution, String assignedBy) {
+        Set<String> shiftIds = solution.getAssignments().stream()
+            .map(RosterSolution.ProposedAssignment::getShiftId)
+            .collect(Collectors.toSet());
+        if (shiftIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, ShiftInstance> drafts = shiftInstanceRepository.lockAllById(shiftIds).stream()
+            .filter(ShiftInstance::canBeModified)
+            .collect(Collectors.toMap(ShiftInstance::getId, shift -> shift));
+        if (drafts.isEmpty()) {
+            log.info("Skipped all {} proposed assignments; none of the shifts is still a draft", solution.getFilledSlots());
+            return List.of();
+        }
+        LocalDate startDate = drafts.values().stream().map(ShiftInstance::getShiftDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate endDate = drafts.values().stream().map(ShiftInstance::getShiftDate).max(LocalDate::compareTo).orElseThrow();
+        
+        Map<String, Long> assigned = assignmentRepository.countActiveAssignmentsPerShiftInPeriod(startDate, endDate).stream()
+            .collect(Collectors.toMap(AssignmentRepository.ShiftAssignmentCount::getShiftInstanceId,
+                AssignmentRepository.ShiftAssignmentCount::getAssigned, (a, b) -> a, HashMap::new));
+        Set<String> busyDays = new HashSet<>();
+        for (AssignmentRepository.UserShiftDate busy : assignmentRepository.findActiveUserShiftDatesInPeriod(startDate, endDate)) {
+            busyDays.add(busy.getUserId() + "|" + busy.getShiftDate());
+        }
+        Map<String, List<LeaveRequestRepository.UserLeaveRange>> leaveByUser = new HashMap<>();
+        for (LeaveRequestRepository.UserLeaveRange leave : leaveRequestRepository.findActiveLeaveRangesInPeriod(startDate, endDate)) {
+            if (leave.getStatus() == LeaveRequest.LeaveStatus.APPROVED) {
+                leaveByUser.computeIfAbsent(leave.getUserId(), id -> new ArrayList<>()).add(leave);
+            }
+        }
+        
+        List<Assignment> assignments = new ArrayList<>();
+        for (RosterSolution.ProposedAssignment proposed : solution.getAssignments()) {
+            ShiftInstance shift = drafts.get(proposed.getShiftId());
+            if (shift == null) {
+                continue;
+            }
+            String staffId = proposed.getStaffId();
+            LocalDate date = shift.getShiftDate();
+            Integer maxAssignments = shift.getTemplate().getMaxAssignments();
+            long capacity = maxAssignments != null ? maxAssignments : 1;
+            boolean onLeave = leaveByUser.getOrDefault(staffId, List.of()).stream()
+                .anyMatch(leave -> !date.isBefore(leave.getStartDate()) && !date.isAfter(leave.getEndDate()));
+            if (onLeave || assigned.getOrDefault(shift.getId(), 0L) >= capacity || !busyDays.add(staffId + "|" + date)) {
+                continue;
+            }
+            assigned.merge(shift.getId(), 1L, Long::sum);
+            assignments.add(new Assignment(shift, userRepository.getReferenceById(staffId), assignedBy));
+        }
+        if (assignments.size() < solution.getFilledSlots()) {
+            log.info("Skipped {} of {} proposed assignments that no longer fit the current schedule",
+                solution.getFilledSlots() - assignments.size(), solution.getFilledSlots());
+        }
+        return assignmentRepository.saveAll(assignments);
+    }
+    
+    RosterProblem buildProblem(LocalDate startDate, LocalDate endDate) {
+        RosterProblem problem = new RosterProblem(startDate, endDate);
+        problem.setMinimumSkillLevel(minimumSkillLevel.ordinal());
+        
+        Map<String, Set<String>> rolesByUser = new HashMap<>();
+        for (UserRepository.UserRoleId row : userRepository.findActiveUserRoleIds()) {
+            rolesByUser.computeIfAbsent(row.getUserId(), id -> new HashSet<>()).add(row.getRoleId());
+        }
+        Map<String, Map<String, Integer>> skillsByUser = new HashMap<>();
+        for (UserSkillRepository.UserSkillLevel row : userSkillRepository.findActiveUserSkillLevels()) {
+            skillsByUser.computeIfAbsent(row.getUserId(), id -> new HashMap<>())
+                .put(row.getSkillId(), row.getLevel().ordinal());
+        }
+        rolesByUser.forEach((userId, roleIds) ->
+            problem.addStaff(userId, roleIds, skillsByUser.getOrDefault(userId, Map.of())));
+        
+        for (LeaveRequestRepository.UserLeaveRange leave : leaveRequestRepository.findActiveLeaveRangesInPeriod(startDate, endDate)) {
+            if (leave.getStatus() == LeaveRequest.LeaveStatus.APPROVED) {
+                problem.blockDays(leave.getUserId(), leave.getStartDate(), leave.getEndDate());
+            }
+        }
+        for (AssignmentRepository.UserShiftDate busy : assignmentRepository.findActiveUserShiftDatesInPeriod(startDate, endDate)) {
+            problem.blockDay(busy.getUserId(), busy.getShiftDate());
+        }
+        
+        Map<String, Long> assigned = assignmentRepository.countActiveAssignmentsPerShiftInPeriod(startDate, endDate).stream()
+            .collect(Collectors.toMap(AssignmentRepository.ShiftAssignmentCount::getShiftInstanceId,
+                AssignmentRepository.ShiftAssignmentCount::getAssigned));
+        for (ShiftInstance shift : shiftInstanceRepository.findDraftShiftsInPeriod(startDate, endDate)) {
+            ShiftTemplate template = shift.getTemplate();
+            int capacity = template.getMaxAssignments() != null ? template.getMaxAssignments() : 1;
+            int openSlots = (int) (capacity - assigned.getOrDefault(shift.getId(), 0L));
+            if (openSlots <= 0) {
+                continue;
+            }
+            Set<String> requiredSkillIds = template.getRequiredSkills().stream()
+                .map(Skill::getId)
+                .collect(Collectors.toSet());
+            problem.addShift(shift.getId(), shift.getShiftDate(), (int) Math.floorMod(template.getDurationMinutes(), 1440),
+                template.getRole().getId(), requiredSkillIds, openSlots);
+        }
+        return problem;
+    }
+}
@@ -3,25 +3,45 @@ package com.example.shiftcraft.application.service;
 import com.example.shiftcraft.persistence.entity.*;
 import com.example.shiftcraft.persistence.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 @Service
 @Transactional
 public class ShiftService {
     
+    // One draft per active template and day of the range that does not have an instance yet. The
+    // days come from a recursive CTE of offsets; each id is a UUIDv7 prefix issued for the statement with the
+    // row number as its last 48 bits, so ids stay time-ordered and unique
+    private static final String ROLL_OUT_INSERT =
+        "INSERT INTO shift_instances (id, template_id, shift_date, status) " +
+        "WITH RECURSIVE offsets (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM offsets WHERE n < ?), " +
+        "days (d) AS (SELECT CAST(CAST(? AS DATE) + n * INTERVAL '1' DAY AS DATE) FROM offsets) " +
+        "SELECT ? || LPAD(CAST(ROW_NUMBER() OVER (ORDER BY days.d, t.id) AS VARCHAR(12)), 12, '0'), t.id, days.d, 'DRAFT' " +
+        "FROM shift_templates t CROSS JOIN days " +
+        "WHERE t.is_active = TRUE AND (CAST(? AS VARCHAR(36)) IS NULL OR t.location_id = ?) " +
+        "AND NOT EXISTS (SELECT 1 FROM shift_instances si WHERE si.template_id = t.id AND si.shift_date = days.d)";
+    // Ids per bulk publish statement, well under the Postgres bind parameter limit
+    private static final int PUBLISH_CHUNK_SIZE = 1000;
+    
     private final ShiftTemplateRepository shiftTemplateRepository;
     private final ShiftInstanceRepository shiftInstanceRepository;
     private final AssignmentRepository assignmentRepository;
     private final LocationRepository locationRepository;
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int rollOutMaxDays;
     
     @Autowired
     public ShiftService(ShiftTemplateRepository shiftTemplateRepository,
@@ -29,13 +49,17 @@ public class ShiftService {
                        AssignmentRepository assignmentRepository,
                        LocationRepository locationRepository,
                        RoleRepository roleRepository,
-                       UserRepository userRepository) {
+                       UserRepository userRepository,
+                       JdbcTemplate jdbcTemplate,
+                       @Value("${app.schedule.roll-out.max-days:92}") int rollOutMaxDays) {
         this.shiftTemplateRepository = shiftTemplateRepository;
         this.shiftInstanceRepository = shiftInstanceRepository;
         this.assignmentRepository = assignmentRepository;
         this.locationRepository = locationRepository;
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollOutMaxDays = rollOutMaxDays;
     }
     
     /**
@@ -57,11 +81,11 @@ public class ShiftService {
     }
     
     /**
-     * Get all active shift templates
+     * Get all active shift templates with location and role loaded, from the query cache
      */
     @Transactional(readOnly = true)
     public List<ShiftTemplate> getActiveShiftTemplates() {
-        return shiftTemplateRepository.findByIsActiveTrue();
+        return shiftTemplateRepository.findActiveWithLocationAndRole();
     }
     
     /**
@@ -73,10 +97,11 @@ public class ShiftService {
     }
     
     /**
-     * Create shift instance from template
+     * Create shift instance from template. Locks the template as rollOutTemplates does, so a
+     * concurrent roll-out either sees this instance or has committed its own first.
      */
     public ShiftInstance createShiftInstance(String templateId, LocalDate shiftDate) {
-        ShiftTemplate template = shiftTemplateRepository.findById(templateId)
+        ShiftTemplate template = shiftTemplateRepository.lockById(templateId)
             .orElseThrow(() -> new RuntimeException("Shift template not found with id: " + templateId));
         
         // Check if instance already exists
@@ -91,6 +116,33 @@ public class ShiftService {
         return shiftInstanceRepository.save(instance);
     }
     
+    /**
+     * Materialize draft instances of every active template, or only those of one location, for
+     * each day from startDate to endDate inclusive, in one INSERT ... SELECT. Dates a template
+     * already has are skipped, so rolling out an overlapping range only fills the gaps. The
+     * templates are locked first, so a concurrent overlapping roll-out waits and then finds the
+     * rows this one committed instead of failing on the unique (template, date) key;
+     * createShiftInstance takes the same lock. The range is capped at app.schedule.roll-out.max-days.
+     * Returns the number of instances created.
+     */
+    public int rollOutTemplates(LocalDate startDate, LocalDate endDate, String locationId) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= rollOutMaxDays) {
+            throw new IllegalArgumentException("Roll-out is limited to " + rollOutMaxDays + " days at a time");
+        }
+        // Instances saved earlier in this transaction must show up in the existence check
+        shiftInstanceRepository.flush();
+        if (shiftTemplateRepository.lockActiveIds(locationId).isEmpty()) {
+            return 0;
+        }
+        
+        String idPrefix = UuidV7Generator.next().toString().substring(0, 24);
+        long lastOffset = ChronoUnit.DAYS.between(startDate, endDate);
+        return jdbcTemplate.update(ROLL_OUT_INSERT, lastOffset, startDate, idPrefix, locationId, locationId);
+    }
+    
     /**
      * Publish shift instance
      */
@@ -109,6 +161,29 @@ public class ShiftService {
         return shiftInstanceRepository.save(instance);
     }
     
+    /**
+     * Publish every draft instance from startDate to endDate inclusive, or only those at one
+     * location. The drafts are locked and their ids read in one query, then published with
+     * set-based updates instead of a load and save per instance. The update clears the
+     * persistence context, so instances loaded earlier in the transaction are read again.
+     * No cache holds shift instances or schedules, so there is nothing else to evict.
+     * Returns the ids of the instances published.
+     */
+    public List<String> publishShiftInstances(LocalDate startDate, LocalDate endDate, String locationId,
+                                              String publishedBy) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        
+        List<String> ids = shiftInstanceRepository.lockDraftIdsInPeriod(startDate, endDate, locationId);
+        LocalDateTime publishedAt = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += PUBLISH_CHUNK_SIZE) {
+            shiftInstanceRepository.publishDrafts(ids.subList(from, Math.min(from + PUBLISH_CHUNK_SIZE, ids.size())),
+                publishedBy, publishedAt);
+        }
+        return ids;
+    }
+    
     /**
      * Assign user to shift instance
      */
@@ -164,7 +239,7 @@ public class ShiftService {
     /**
      * Cancel assignment
      */
-    public Assignment cancelAssignment(String assignmentId, String reason) {
+    public Assignment cancelAssignment(UUID assignmentId, String reason) {
         Assignment assignment = assignmentRepository.findById(assignmentId)
             .orElseThrow(() -> new RuntimeException("Assignment not found with id: " + assignmentId));
         
@@ -180,18 +255,18 @@ public class ShiftService {
     }
     
     /**
-     * Get all shift templates
+     * Get all shift templates with location and role loaded, from the query cache
      */
     @Transactional(readOnly = true)
     public List<ShiftTemplate> getAllShiftTemplates() {
-        return shiftTemplateRepository.findAll();
+        return shiftTemplateRepository.findAllWithLocationAndRole();
     }
     
     /**
      * Update shift template
      */
     public ShiftTemplate updateShiftTemplate(String templateId, String name, String description) {
-        ShiftTemplate template = shiftTemplateRepository.findById(templateId)
+        ShiftTemplate template = shiftTemplateRepository.lockById(templateId)
             .orElseThrow(() -> new RuntimeException("Shift template not found with id: " + templateId));
         
         template.setName(name);
@@ -204,7 +279,7 @@ public class ShiftService {
      * Deactivate shift template
      */
     public ShiftTemplate deactivateShiftTemplate(String templateId) {
-        ShiftTemplate template = shiftTemplateRepository.findById(templateId)
+        ShiftTemplate template = shiftTemplateRepository.lockById(templateId)
             .orElseThrow(() -> new RuntimeException("Shift template not found with id: " + templateId));
         
         template.setIsActive(false);
@@ -212,7 +287,7 @@ public class ShiftService {
     }
     
     /**
-     * Get all locations for template creation dropdowns
+     * Get all locations for template creation dropdowns, from the query cache
      */
     @Transactional(readOnly = true)
     public List<Location> findAllLocations() {
@@ -220,7 +295,7 @@ public class ShiftService {
     }
     
     /**
-     * Get all roles for template creation dropdowns
+     * Get all roles for template creation dropdowns, from the query cache
      */
     @Transactional(readOnly = true)
     public List<Role> findAllRoles() {
@@ -0,0 +1,124 @@
+package com.example.shiftcraft.application.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Staff availability over a date window, held as one bitset per user.
+ * Bit {@code i} stands for {@code startDate.plusDays(i)}.
+ */
+public class StaffAvailability {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final int days;
+    private final Map<String, BitSet> available = new LinkedHashMap<>();
+    private final Map<String, BitSet> pendingLeave = new HashMap<>();
+
+    StaffAvailability(LocalDate startDate, LocalDate endDate, Collection<String> userIds) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.days = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, endDate) + 1);
+
+        for (String userId : userIds) {
+            BitSet bits = new BitSet(days);
+            bits.set(0, days);
+            available.put(userId, bits);
+        }
+    }
+
+    /**
+     * Clear the given user's availability for a single day
+     */
+    void markUnavailable(String userId, LocalDate date) {
+        markUnavailable(userId, date, date);
+    }
+
+    /**
+     * Clear the given user's availability for an inclusive date range, clamped to the window
+     */
+    void markUnavailable(String userId, LocalDate from, LocalDate to) {
+        BitSet bits = available.get(userId);
+        if (bits != null) {
+            clampAndApply(from, to, (start, end) -> bits.clear(start, end));
+        }
+    }
+
+    /**
+     * Record pending (not yet approved) leave for the given user, clamped to the window
+     */
+    void markPendingLeave(String userId, LocalDate from, LocalDate to) {
+        if (!available.containsKey(userId)) {
+            return;
+        }
+        BitSet bits = pendingLeave.computeIfAbsent(userId, id -> new BitSet(days));
+        clampAndApply(from, to, bits::set);
+    }
+
+    private void clampAndApply(LocalDate from, LocalDate to, RangeOperation operation) {
+        int start = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, from));
+        int end = (int) Math.min(days, ChronoUnit.DAYS.between(startDate, to) + 1);
+        if (start < end) {
+            operation.apply(start, end);
+        }
+    }
+
+    // Getters
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public int getDays() { return days; }
+
+    public Set<String> getUserIds() {
+        return available.keySet();
+    }
+
+    /**
+     * Days the user is free to work, as a copy of the underlying bitset
+     */
+    public BitSet getAvailableDays(String userId) {
+        BitSet bits = available.get(userId);
+        return bits != null ? (BitSet) bits.clone() : new BitSet(days);
+    }
+
+    /**
+     * Days the user has pending leave; these days still count as available
+     */
+    public BitSet getPendingLeaveDays(String userId) {
+        BitSet bits = pendingLeave.get(userId);
+        return bits != null ? (BitSet) bits.clone() : new BitSet(days);
+    }
+
+    public boolean isAvailable(String userId, LocalDate date) {
+        BitSet bits = available.get(userId);
+        long offset = ChronoUnit.DAYS.between(startDate, date);
+        return bits != null && offset >= 0 && offset < days && bits.get((int) offset);
+    }
+
+    /**
+     * Expand the bitsets into the user id to available dates form
+     */
+    public Map<String, List<LocalDate>> toDateMap() {
+        Map<String, List<LocalDate>> result = new LinkedHashMap<>();
+        available.forEach((userId, bits) -> {
+            List<LocalDate> dates = new ArrayList<>(bits.cardinality());
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                dates.add(startDate.plusDays(i));
+            }
+            result.put(userId, dates);
+        });
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface RangeOperation {
+        void apply(int fromIndex, int toIndex);
+    }
+}
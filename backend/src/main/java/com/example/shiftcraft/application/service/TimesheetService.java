@@ -2,34 +2,57 @@ package com.example.shiftcraft.application.service;
 
 import com.example.shiftcraft.persistence.entity.*;
 import com.example.shiftcraft.persistence.repository.*;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @Transactional
 public class TimesheetService {
     
+    private static final Logger log = LoggerFactory.getLogger(TimesheetService.class);
+    
+    /**
+     * Timesheets written per flush during bulk generation; matches hibernate.jdbc.batch_size
+     */
+    static final int BULK_FLUSH_SIZE = 50;
+    
     private final TimesheetRepository timesheetRepository;
     private final TimesheetEntryRepository timesheetEntryRepository;
     private final AssignmentRepository assignmentRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
     
     @Autowired
     public TimesheetService(TimesheetRepository timesheetRepository,
                            TimesheetEntryRepository timesheetEntryRepository,
                            AssignmentRepository assignmentRepository,
-                           UserRepository userRepository) {
+                           UserRepository userRepository,
+                           EntityManager entityManager) {
         this.timesheetRepository = timesheetRepository;
         this.timesheetEntryRepository = timesheetEntryRepository;
         this.assignmentRepository = assignmentRepository;
         this.userRepository = userRepository;
+        this.entityManager = entityManager;
     }
     
     /**
@@ -76,6 +99,114 @@ public class TimesheetService {
         return timesheetRepository.save(timesheet);
     }
     
+    /**
+     * Generate timesheets for every user with active or completed assignments in the period.
+     * Assignments are read in one query and grouped by user; timesheets and their entries are
+     * written in JDBC batches and detached after each flush, leaving anything else the caller's
+     * transaction holds managed. Users who already have a timesheet for exactly this period
+     * are skipped.
+     */
+    public BulkGenerationResult generateTimesheetsForPeriod(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start must be before period end");
+        }
+        
+        Set<String> existing = new HashSet<>(timesheetRepository
+            .findUserIdsWithTimesheetForPeriod(periodStart, periodEnd));
+        
+        return writeTimesheets(periodStart, periodEnd,
+            assignmentRepository.findBillableAssignmentsInPeriod(periodStart, periodEnd), existing);
+    }
+    
+    /**
+     * Generate timesheets for the given users only. Used by {@link PeriodCloseExecutor} to
+     * process one partition of the staff list inside its own transaction.
+     */
+    public BulkGenerationResult generateTimesheetsForUsers(Collection<String> userIds,
+                                                          LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start must be before period end");
+        }
+        if (userIds.isEmpty()) {
+            return new BulkGenerationResult(periodStart, periodEnd, 0, 0, 0);
+        }
+        
+        Set<String> existing = new HashSet<>(timesheetRepository
+            .findUserIdsWithTimesheetForPeriod(userIds, periodStart, periodEnd));
+        
+        return writeTimesheets(periodStart, periodEnd,
+            assignmentRepository.findBillableAssignmentsForUsersInPeriod(userIds, periodStart, periodEnd),
+            existing);
+    }
+    
+    /**
+     * Group billable assignments by user and write one timesheet per user in flushed batches
+     */
+    private BulkGenerationResult writeTimesheets(LocalDate periodStart, LocalDate periodEnd,
+                                                 List<Assignment> assignments, Set<String> existing) {
+        Map<String, List<Assignment>> assignmentsByUser = new LinkedHashMap<>();
+        for (Assignment assignment : assignments) {
+            assignmentsByUser.computeIfAbsent(assignment.getUser().getId(), id -> new ArrayList<>())
+                .add(assignment);
+        }
+        
+        int totalUsers = assignmentsByUser.size();
+        int processedUsers = 0;
+        int timesheetsCreated = 0;
+        int entriesCreated = 0;
+        int skippedUsers = 0;
+        List<Timesheet> batch = new ArrayList<>(BULK_FLUSH_SIZE);
+        
+        for (List<Assignment> userAssignments : assignmentsByUser.values()) {
+            processedUsers++;
+            User user = userAssignments.get(0).getUser();
+            
+            if (existing.contains(user.getId())) {
+                skippedUsers++;
+                continue;
+            }
+            
+            Timesheet timesheet = new Timesheet(user, periodStart, periodEnd);
+            for (Assignment assignment : userAssignments) {
+                timesheet.getEntries().add(createEntryFromAssignment(timesheet, assignment));
+            }
+            timesheet.calculateTotals();
+            batch.add(timesheet);
+            entriesCreated += userAssignments.size();
+            
+            if (batch.size() == BULK_FLUSH_SIZE) {
+                timesheetsCreated += flushBatch(batch);
+                log.debug("Timesheets for {} to {}: {} of {} users processed, {} written",
+                    periodStart, periodEnd, processedUsers, totalUsers, timesheetsCreated);
+            }
+        }
+        
+        timesheetsCreated += flushBatch(batch);
+        
+        log.debug("Generated {} timesheets with {} entries for {} to {} ({} users skipped)",
+            timesheetsCreated, entriesCreated, periodStart, periodEnd, skippedUsers);
+        
+        return new BulkGenerationResult(periodStart, periodEnd, timesheetsCreated, entriesCreated, skippedUsers);
+    }
+    
+    /**
+     * Write a batch of timesheets (entries cascade) and detach it so the persistence context
+     * does not grow with the whole period. Only the batch is detached: clearing the context
+     * would also drop unflushed changes and managed entities belonging to the caller.
+     */
+    private int flushBatch(List<Timesheet> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        int written = batch.size();
+        List<Timesheet> saved = timesheetRepository.saveAll(batch);
+        timesheetRepository.flush();
+        saved.forEach(entityManager::detach);
+        batch.clear();
+        return written;
+    }
+    
     /**
      * Add manual timesheet entry
      */
@@ -93,16 +224,62 @@ public class TimesheetService {
         entry.setBreakMinutes(breakMinutes);
         entry.setDescription(description);
         entry.setEntryType(TimesheetEntry.EntryType.MANUAL_ADJUSTMENT);
+        entry.calculateHours();
         
         entry = timesheetEntryRepository.save(entry);
         
-        // Recalculate timesheet totals
-        timesheet.calculateTotals();
-        timesheetRepository.save(timesheet);
+        // Apply only this entry to the stored total, atomically in the database
+        timesheetRepository.addToTotalMinutes(timesheetId, entry.getWorkedMinutes());
         
         return entry;
     }
     
+    /**
+     * Update a manual adjustment entry, applying the change in worked minutes to the totals.
+     * Entries generated from assignments are not editable here.
+     */
+    public TimesheetEntry updateManualEntry(UUID entryId, LocalDate workDate, 
+                                          LocalTime startTime, LocalTime endTime, 
+                                          Integer breakMinutes, String description) {
+        TimesheetEntry entry = timesheetEntryRepository.findById(entryId)
+            .orElseThrow(() -> new RuntimeException("Timesheet entry not found with id: " + entryId));
+        
+        if (entry.getEntryType() != TimesheetEntry.EntryType.MANUAL_ADJUSTMENT) {
+            throw new IllegalStateException("Only manual adjustment entries can be changed");
+        }
+        
+        Timesheet timesheet = entry.getTimesheet();
+        if (timesheet.getStatus() != Timesheet.TimesheetStatus.DRAFT) {
+            throw new IllegalStateException("Can only change entries on draft timesheets");
+        }
+        
+        int previousMinutes = entry.getWorkedMinutes();
+        entry.setWorkDate(workDate);
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setBreakMinutes(breakMinutes);
+        entry.setDescription(description);
+        entry.calculateHours();
+        
+        entry = timesheetEntryRepository.save(entry);
+        
+        timesheetRepository.addToTotalMinutes(timesheet.getId(), entry.getWorkedMinutes() - previousMinutes);
+        
+        return entry;
+    }
+    
+    /**
+     * Compare every timesheet's stored total with the sum of its entries and
+     * repair any that have drifted. Returns the number of timesheets corrected.
+     */
+    public int reconcileTotals() {
+        for (TimesheetRepository.TotalsDrift drift : timesheetRepository.findTotalsDrift()) {
+            log.warn("Timesheet {} total drifted: stored {} minutes, entries sum to {} minutes",
+                drift.getTimesheetId(), drift.getStoredMinutes(), drift.getEntryMinutes());
+        }
+        return timesheetRepository.repairTotalsDrift();
+    }
+    
     /**
      * Calculate overtime hours for a timesheet
      */
@@ -171,6 +348,31 @@ public class TimesheetService {
         return timesheetRepository.findByStatus(status);
     }
     
+    /**
+     * Get one page of all timesheets, newest first
+     */
+    @Transactional(readOnly = true)
+    public Window<Timesheet> getTimesheetPage(ScrollPosition position, int pageSize) {
+        return timesheetRepository.findAllByOrderByGeneratedAtDescIdDesc(position, Limit.of(pageSize));
+    }
+    
+    /**
+     * Get one page of submitted timesheets awaiting approval, oldest first
+     */
+    @Transactional(readOnly = true)
+    public Window<Timesheet> getSubmittedTimesheetPage(ScrollPosition position, int pageSize) {
+        return timesheetRepository.findByStatusOrderByGeneratedAtAscIdAsc(
+            Timesheet.TimesheetStatus.SUBMITTED, position, Limit.of(pageSize));
+    }
+    
+    /**
+     * Count timesheets, optionally only those in one status
+     */
+    @Transactional(readOnly = true)
+    public long countTimesheets(Timesheet.TimesheetStatus status) {
+        return status == null ? timesheetRepository.count() : timesheetRepository.countByStatus(status);
+    }
+    
     /**
      * Generate weekly timesheet (common use case)
      */
@@ -192,7 +394,35 @@ public class TimesheetService {
         entry.setBreakMinutes(template.getBreakMinutes());
         entry.setEntryType(TimesheetEntry.EntryType.SHIFT);
         entry.setDescription("Shift: " + template.getName());
+        entry.calculateHours();
         
         return entry;
     }
+    
+    /**
+     * Data classes for bulk generation
+     */
+    public static class BulkGenerationResult {
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+        private final int timesheetsCreated;
+        private final int entriesCreated;
+        private final int skippedUsers;
+        
+        public BulkGenerationResult(LocalDate periodStart, LocalDate periodEnd,
+                                   int timesheetsCreated, int entriesCreated, int skippedUsers) {
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.timesheetsCreated = timesheetsCreated;
+            this.entriesCreated = entriesCreated;
+            this.skippedUsers = skippedUsers;
+        }
+        
+        // Getters
+        public LocalDate getPeriodStart() { return periodStart; }
+        public LocalDate getPeriodEnd() { return periodEnd; }
+        public int getTimesheetsCreated() { return timesheetsCreated; }
+        public int getEntriesCreated() { return entriesCreated; }
+        public int getSkippedUsers() { return skippedUsers; }
+    }
 }
\ No newline at end of file
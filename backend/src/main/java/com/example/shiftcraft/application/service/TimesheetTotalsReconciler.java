@@ -0,0 +1,33 @@
+package com.example.shiftcraft.application.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically repairs timesheet totals that no longer match their entries.
+ * Totals are maintained incrementally, so concurrent edits or direct database
+ * changes can leave them out of step. Set the cron to "-" to disable.
+ */
+@Component
+public class TimesheetTotalsReconciler {
+    
+    private static final Logger log = LoggerFactory.getLogger(TimesheetTotalsReconciler.class);
+    
+    private final TimesheetService timesheetService;
+    
+    @Autowired
+    public TimesheetTotalsReconciler(TimesheetService timesheetService) {
+        this.timesheetService = timesheetService;
+    }
+    
+    @Scheduled(cron = "${app.timesheets.reconcile.cron:0 30 2 * * *}")
+    public void reconcile() {
+        int repaired = timesheetService.reconcileTotals();
+        if (repaired > 0) {
+            log.info("Repaired totals on {} timesheets", repaired);
+        }
+    }
+}
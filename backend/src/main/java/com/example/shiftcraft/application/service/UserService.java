@@ -1,10 +1,12 @@
 package com.example.shiftcraft.application.service;
 
+import com.example.shiftcraft.application.config.CacheConfig;
 import com.example.shiftcraft.persistence.entity.Role;
 import com.example.shiftcraft.persistence.entity.User;
 import com.example.shiftcraft.persistence.repository.RoleRepository;
 import com.example.shiftcraft.persistence.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -92,6 +94,7 @@ public class UserService {
     /**
      * Update user status
      */
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#result.email")
     public User updateUserStatus(String userId, User.UserStatus status) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
@@ -103,6 +106,7 @@ public class UserService {
     /**
      * Add role to user
      */
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#result.email")
     public User addRoleToUser(String userId, String roleName) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
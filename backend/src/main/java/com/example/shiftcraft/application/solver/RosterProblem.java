@@ -0,0 +1,125 @@
+package com.example.shiftcraft.application.solver;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Input to the {@link RosterSolver}: staff with their roles, skill levels and blocked
+ * days, and the shifts in a date window with the number of slots still to fill.
+ * Identifiers are opaque strings so the solver does not depend on the persistence layer.
+ */
+public class RosterProblem {
+    
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final int days;
+    private final Map<String, Staff> staff = new LinkedHashMap<>();
+    private final List<Shift> shifts = new ArrayList<>();
+    private int minimumSkillLevel = 0;
+    
+    public RosterProblem(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    }
+    
+    /**
+     * Add a staff member; skill levels are ordinals where higher means more experienced
+     */
+    public void addStaff(String staffId, Set<String> roleIds, Map<String, Integer> skillLevels) {
+        staff.put(staffId, new Staff(staffId, roleIds, skillLevels, new BitSet(days)));
+    }
+    
+    /**
+     * Mark a day on which the staff member cannot take a shift (leave or an existing assignment)
+     */
+    public void blockDay(String staffId, LocalDate date) {
+        blockDays(staffId, date, date);
+    }
+    
+    /**
+     * Mark an inclusive date range as blocked, clamped to the problem window
+     */
+    public void blockDays(String staffId, LocalDate from, LocalDate to) {
+        Staff member = staff.get(staffId);
+        if (member == null) {
+            return;
+        }
+        int start = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, from));
+        int end = (int) Math.min(days, ChronoUnit.DAYS.between(startDate, to) + 1);
+        if (start < end) {
+            member.blockedDays.set(start, end);
+        }
+    }
+    
+    /**
+     * Add a shift needing {@code openSlots} more people with the given role and skills
+     */
+    public void addShift(String shiftId, LocalDate date, int minutes, String roleId,
+                         Set<String> requiredSkillIds, int openSlots) {
+        if (date.isBefore(startDate) || date.isAfter(endDate)) {
+            throw new IllegalArgumentException("Shift date " + date + " is outside the problem window");
+        }
+        shifts.add(new Shift(shiftId, (int) ChronoUnit.DAYS.between(startDate, date), minutes,
+            roleId, requiredSkillIds, openSlots));
+    }
+    
+    // Getters and Setters
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public int getDays() { return days; }
+    
+    public int getMinimumSkillLevel() { return minimumSkillLevel; }
+    public void setMinimumSkillLevel(int minimumSkillLevel) { this.minimumSkillLevel = minimumSkillLevel; }
+    
+    List<Staff> getStaff() { return new ArrayList<>(staff.values()); }
+    List<Shift> getShifts() { return Collections.unmodifiableList(shifts); }
+    
+    public int getStaffCount() { return staff.size(); }
+    
+    public int getSlotCount() {
+        return shifts.stream().mapToInt(shift -> shift.openSlots).sum();
+    }
+    
+    static final class Staff {
+        final String id;
+        final Set<String> roleIds;
+        final Map<String, Integer> skillLevels;
+        final BitSet blockedDays;
+        
+        Staff(String id, Set<String> roleIds, Map<String, Integer> skillLevels, BitSet blockedDays) {
+            this.id = id;
+            this.roleIds = roleIds;
+            this.skillLevels = skillLevels;
+            this.blockedDays = blockedDays;
+        }
+    }
+    
+    static final class Shift {
+        final String id;
+        final int day;
+        final int minutes;
+        final String roleId;
+        final Set<String> requiredSkillIds;
+        final int openSlots;
+        
+        Shift(String id, int day, int minutes, String roleId, Set<String> requiredSkillIds, int openSlots) {
+            this.id = id;
+            this.day = day;
+            this.minutes = minutes;
+            this.roleId = roleId;
+            this.requiredSkillIds = requiredSkillIds;
+            this.openSlots = openSlots;
+        }
+    }
+}
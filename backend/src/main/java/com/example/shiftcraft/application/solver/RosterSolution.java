@@ -0,0 +1,56 @@
+package com.example.shiftcraft.application.solver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Proposed assignment of staff to shifts produced by the {@link RosterSolver}
+ */
+public class RosterSolution {
+    
+    private final List<ProposedAssignment> assignments;
+    private final Map<String, Integer> unfilledSlots;
+    private final Map<String, Long> staffMinutes;
+    private final int totalSlots;
+    private final Duration elapsed;
+    
+    public RosterSolution(List<ProposedAssignment> assignments, Map<String, Integer> unfilledSlots,
+                          Map<String, Long> staffMinutes, int totalSlots, Duration elapsed) {
+        this.assignments = Collections.unmodifiableList(assignments);
+        this.unfilledSlots = Collections.unmodifiableMap(unfilledSlots);
+        this.staffMinutes = Collections.unmodifiableMap(staffMinutes);
+        this.totalSlots = totalSlots;
+        this.elapsed = elapsed;
+    }
+    
+    // Getters
+    public List<ProposedAssignment> getAssignments() { return assignments; }
+    public Map<String, Integer> getUnfilledSlots() { return unfilledSlots; }
+    public Map<String, Long> getStaffMinutes() { return staffMinutes; }
+    public int getTotalSlots() { return totalSlots; }
+    public Duration getElapsed() { return elapsed; }
+    
+    public int getFilledSlots() {
+        return assignments.size();
+    }
+    
+    public boolean isComplete() {
+        return assignments.size() == totalSlots;
+    }
+    
+    public static class ProposedAssignment {
+        private final String shiftId;
+        private final String staffId;
+        
+        public ProposedAssignment(String shiftId, String staffId) {
+            this.shiftId = shiftId;
+            this.staffId = staffId;
+        }
+        
+        // Getters
+        public String getShiftId() { return shiftId; }
+        public String getStaffId() { return staffId; }
+    }
+}
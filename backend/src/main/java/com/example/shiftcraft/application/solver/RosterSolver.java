@@ -0,0 +1,440 @@
+package com.example.shiftcraft.application.solver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills shift slots with eligible staff. A greedy pass places the most constrained
+ * slots first with the least-loaded eligible person, then several threads run an
+ * independent local search from that start until the time budget or a stall limit
+ * is reached, and the best result wins.
+ *
+ * Hard constraints: the staff member holds the shift's role and every required
+ * skill at or above the minimum level, has no blocked day (leave or an existing
+ * shift) and works at most one shift per day. Solutions are ranked by unfilled
+ * slots first and then by the sum of squared worked minutes, which favours an even
+ * spread of hours across staff.
+ */
+public class RosterSolver {
+    
+    static final long DEFAULT_STALL_ITERATIONS = 400_000;
+    
+    private static final int UNASSIGNED = -1;
+    private static final int EJECTION_ATTEMPTS = 8;
+    
+    private final int threads;
+    private final Duration timeBudget;
+    private final long stallIterations;
+    
+    public RosterSolver(int threads, Duration timeBudget) {
+        this(threads, timeBudget, DEFAULT_STALL_ITERATIONS);
+    }
+    
+    RosterSolver(int threads, Duration timeBudget, long stallIterations) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Solver needs at least one thread");
+        }
+        this.threads = threads;
+        this.timeBudget = timeBudget;
+        this.stallIterations = stallIterations;
+    }
+    
+    public RosterSolution solve(RosterProblem problem) {
+        long started = System.nanoTime();
+        long deadline = started + timeBudget.toNanos();
+        
+        Model model = new Model(problem);
+        State initial = construct(model);
+        State best = initial;
+        
+        if (model.slotCount > 0) {
+            List<Future<State>> futures = new ArrayList<>(threads);
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                for (int t = 0; t < threads; t++) {
+                    SplittableRandom random = new SplittableRandom(0x5DEECE66DL * (t + 1));
+                    futures.add(executor.submit(() -> improve(model, initial.copy(), random, deadline)));
+                }
+                for (Future<State> future : futures) {
+                    State candidate = future.get();
+                    if (candidate.isBetterThan(best)) {
+                        best = candidate;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Roster search failed", e.getCause());
+            }
+        }
+        
+        return toSolution(model, best, Duration.ofNanos(System.nanoTime() - started));
+    }
+    
+    /**
+     * Greedy start: slots with the fewest eligible staff first, each given to the
+     * free eligible person with the fewest minutes so far
+     */
+    private State construct(Model model) {
+        State state = new State(model);
+        
+        Integer[] order = new Integer[model.slotCount];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator
+            .comparingInt((Integer slot) -> model.slotEligible[slot].length)
+            .thenComparingInt(slot -> model.slotDay[slot]));
+        
+        for (int slot : order) {
+            int day = model.slotDay[slot];
+            int chosen = UNASSIGNED;
+            long chosenMinutes = Long.MAX_VALUE;
+            for (int staff : model.slotEligible[slot]) {
+                if (state.isFree(staff, day) && state.minutes[staff] < chosenMinutes) {
+                    chosen = staff;
+                    chosenMinutes = state.minutes[staff];
+                }
+            }
+            if (chosen != UNASSIGNED) {
+                state.assign(slot, chosen);
+            }
+        }
+        return state;
+    }
+    
+    private State improve(Model model, State state, SplittableRandom random, long deadline) {
+        State best = state.copy();
+        long sinceImprovement = 0;
+        
+        for (long iteration = 0; sinceImprovement < stallIterations; iteration++) {
+            if ((iteration & 1023) == 0 && System.nanoTime() >= deadline) {
+                break;
+            }
+            
+            int move = random.nextInt(4);
+            if (state.unfilled > 0 && move == 0) {
+                tryFill(model, state, random);
+            } else if (move < 3) {
+                tryMove(model, state, random);
+            } else {
+                trySwap(model, state, random);
+            }
+            
+            if (state.isBetterThan(best)) {
+                best = state.copy();
+                sinceImprovement = 0;
+            } else {
+                sinceImprovement++;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Fill an open slot directly, or by moving a busy eligible person's shift that
+     * day to someone else who is free and eligible for it
+     */
+    private void tryFill(Model model, State state, SplittableRandom random) {
+        int slot = state.randomUnfilledSlot(random);
+        if (slot == UNASSIGNED) {
+            return;
+        }
+        int day = model.slotDay[slot];
+        int[] eligible = model.slotEligible[slot];
+        if (eligible.length == 0) {
+            return;
+        }
+        
+        int offset = random.nextInt(eligible.length);
+        for (int i = 0; i < eligible.length; i++) {
+            int staff = eligible[(offset + i) % eligible.length];
+            if (state.isFree(staff, day)) {
+                state.assign(slot, staff);
+                return;
+            }
+        }
+        
+        for (int attempt = 0; attempt < EJECTION_ATTEMPTS; attempt++) {
+            int staff = eligible[random.nextInt(eligible.length)];
+            int other = state.daySlot[staff][day];
+            if (other == UNASSIGNED) {
+                continue;
+            }
+            for (int replacement : model.slotEligible[other]) {
+                if (replacement != staff && state.isFree(replacement, day)) {
+                    state.unassign(other);
+                    state.assign(other, replacement);
+                    state.assign(slot, staff);
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Hand one assigned slot to another free, eligible person if it evens out hours
+     */
+    private void tryMove(Model model, State state, SplittableRandom random) {
+        int slot = random.nextInt(model.slotCount);
+        int from = state.slotStaff[slot];
+        int[] eligible = model.slotEligible[slot];
+        if (from == UNASSIGNED || eligible.length < 2) {
+            return;
+        }
+        int to = eligible[random.nextInt(eligible.length)];
+        if (to == from || !state.isFree(to, model.slotDay[slot])) {
+            return;
+        }
+        
+        long minutes = model.slotMinutes[slot];
+        long delta = square(state.minutes[from] - minutes) - square(state.minutes[from])
+            + square(state.minutes[to] + minutes) - square(state.minutes[to]);
+        if (delta < 0 || (delta == 0 && random.nextInt(8) == 0)) {
+            state.unassign(slot);
+            state.assign(slot, to);
+        }
+    }
+    
+    /**
+     * Exchange the slots of two people when both are eligible for the other's shift
+     */
+    private void trySwap(Model model, State state, SplittableRandom random) {
+        int first = random.nextInt(model.slotCount);
+        int second = random.nextInt(model.slotCount);
+        int a = state.slotStaff[first];
+        int b = state.slotStaff[second];
+        if (a == UNASSIGNED || b == UNASSIGNED || a == b) {
+            return;
+        }
+        long firstMinutes = model.slotMinutes[first];
+        long secondMinutes = model.slotMinutes[second];
+        if (firstMinutes == secondMinutes) {
+            return;
+        }
+        if (!model.isEligible(first, b) || !model.isEligible(second, a)) {
+            return;
+        }
+        int firstDay = model.slotDay[first];
+        int secondDay = model.slotDay[second];
+        if (firstDay != secondDay && (!state.isFree(b, firstDay) || !state.isFree(a, secondDay))) {
+            return;
+        }
+        
+        long change = secondMinutes - firstMinutes;
+        long delta = square(state.minutes[a] + change) - square(state.minutes[a])
+            + square(state.minutes[b] - change) - square(state.minutes[b]);
+        if (delta < 0) {
+            state.unassign(first);
+            state.unassign(second);
+            state.assign(first, b);
+            state.assign(second, a);
+        }
+    }
+    
+    private RosterSolution toSolution(Model model, State state, Duration elapsed) {
+        List<RosterSolution.ProposedAssignment> assignments = new ArrayList<>(model.slotCount - state.unfilled);
+        Map<String, Integer> unfilled = new LinkedHashMap<>();
+        for (int slot = 0; slot < model.slotCount; slot++) {
+            String shiftId = model.shiftIds[model.slotShift[slot]];
+            int staff = state.slotStaff[slot];
+            if (staff == UNASSIGNED) {
+                unfilled.merge(shiftId, 1, Integer::sum);
+            } else {
+                assignments.add(new RosterSolution.ProposedAssignment(shiftId, model.staffIds[staff]));
+            }
+        }
+        
+        Map<String, Long> minutes = new LinkedHashMap<>();
+        for (int staff = 0; staff < model.staffIds.length; staff++) {
+            minutes.put(model.staffIds[staff], state.minutes[staff]);
+        }
+        return new RosterSolution(assignments, unfilled, minutes, model.slotCount, elapsed);
+    }
+    
+    private static long square(long value) {
+        return value * value;
+    }
+    
+    /**
+     * Index-based, read-only view of the problem shared by all search threads
+     */
+    static final class Model {
+        final String[] staffIds;
+        final String[] shiftIds;
+        final BitSet[] blocked;
+        final int slotCount;
+        final int[] slotShift;
+        final int[] slotDay;
+        final int[] slotMinutes;
+        final int[][] slotEligible;
+        final BitSet[] shiftEligible;
+        final int days;
+        
+        Model(RosterProblem problem) {
+            List<RosterProblem.Staff> staff = problem.getStaff();
+            List<RosterProblem.Shift> shifts = problem.getShifts();
+            days = problem.getDays();
+            
+            staffIds = new String[staff.size()];
+            blocked = new BitSet[staff.size()];
+            for (int i = 0; i < staff.size(); i++) {
+                staffIds[i] = staff.get(i).id;
+                blocked[i] = staff.get(i).blockedDays;
+            }
+            
+            shiftIds = new String[shifts.size()];
+            shiftEligible = new BitSet[shifts.size()];
+            int[][] eligibleByShift = new int[shifts.size()][];
+            int slots = 0;
+            for (int s = 0; s < shifts.size(); s++) {
+                RosterProblem.Shift shift = shifts.get(s);
+                shiftIds[s] = shift.id;
+                eligibleByShift[s] = eligibleStaff(shift, staff, problem.getMinimumSkillLevel());
+                shiftEligible[s] = new BitSet(staff.size());
+                for (int member : eligibleByShift[s]) {
+                    shiftEligible[s].set(member);
+                }
+                slots += shift.openSlots;
+            }
+            
+            slotCount = slots;
+            slotShift = new int[slots];
+            slotDay = new int[slots];
+            slotMinutes = new int[slots];
+            slotEligible = new int[slots][];
+            int slot = 0;
+            for (int s = 0; s < shifts.size(); s++) {
+                RosterProblem.Shift shift = shifts.get(s);
+                for (int i = 0; i < shift.openSlots; i++, slot++) {
+                    slotShift[slot] = s;
+                    slotDay[slot] = shift.day;
+                    slotMinutes[slot] = shift.minutes;
+                    slotEligible[slot] = eligibleByShift[s];
+                }
+            }
+        }
+        
+        boolean isEligible(int slot, int staff) {
+            return shiftEligible[slotShift[slot]].get(staff);
+        }
+        
+        /**
+         * Staff holding the role and every required skill, most experienced first
+         */
+        private static int[] eligibleStaff(RosterProblem.Shift shift, List<RosterProblem.Staff> staff,
+                                           int minimumSkillLevel) {
+            List<int[]> candidates = new ArrayList<>();
+            for (int i = 0; i < staff.size(); i++) {
+                RosterProblem.Staff member = staff.get(i);
+                if (!member.roleIds.contains(shift.roleId) || member.blockedDays.get(shift.day)) {
+                    continue;
+                }
+                int experience = 0;
+                boolean qualified = true;
+                for (String skillId : shift.requiredSkillIds) {
+                    Integer level = member.skillLevels.get(skillId);
+                    if (level == null || level < minimumSkillLevel) {
+                        qualified = false;
+                        break;
+                    }
+                    experience += level;
+                }
+                if (qualified) {
+                    candidates.add(new int[] {i, experience});
+                }
+            }
+            candidates.sort((x, y) -> Integer.compare(y[1], x[1]));
+            return candidates.stream().mapToInt(candidate -> candidate[0]).toArray();
+        }
+    }
+    
+    /**
+     * Mutable assignment owned by a single search thread
+     */
+    static final class State {
+        final Model model;
+        final int[] slotStaff;
+        final int[][] daySlot;
+        final long[] minutes;
+        int unfilled;
+        long sumOfSquares;
+        
+        State(Model model) {
+            this.model = model;
+            this.slotStaff = new int[model.slotCount];
+            Arrays.fill(slotStaff, UNASSIGNED);
+            this.daySlot = new int[model.staffIds.length][model.days];
+            for (int[] row : daySlot) {
+                Arrays.fill(row, UNASSIGNED);
+            }
+            this.minutes = new long[model.staffIds.length];
+            this.unfilled = model.slotCount;
+        }
+        
+        private State(State other) {
+            this.model = other.model;
+            this.slotStaff = other.slotStaff.clone();
+            this.daySlot = new int[other.daySlot.length][];
+            for (int i = 0; i < daySlot.length; i++) {
+                daySlot[i] = other.daySlot[i].clone();
+            }
+            this.minutes = other.minutes.clone();
+            this.unfilled = other.unfilled;
+            this.sumOfSquares = other.sumOfSquares;
+        }
+        
+        State copy() {
+            return new State(this);
+        }
+        
+        boolean isFree(int staff, int day) {
+            return daySlot[staff][day] == UNASSIGNED && !model.blocked[staff].get(day);
+        }
+        
+        void assign(int slot, int staff) {
+            long shiftMinutes = model.slotMinutes[slot];
+            sumOfSquares += square(minutes[staff] + shiftMinutes) - square(minutes[staff]);
+            minutes[staff] += shiftMinutes;
+            slotStaff[slot] = staff;
+            daySlot[staff][model.slotDay[slot]] = slot;
+            unfilled--;
+        }
+        
+        void unassign(int slot) {
+            int staff = slotStaff[slot];
+            long shiftMinutes = model.slotMinutes[slot];
+            sumOfSquares += square(minutes[staff] - shiftMinutes) - square(minutes[staff]);
+            minutes[staff] -= shiftMinutes;
+            slotStaff[slot] = UNASSIGNED;
+            daySlot[staff][model.slotDay[slot]] = UNASSIGNED;
+            unfilled++;
+        }
+        
+        int randomUnfilledSlot(SplittableRandom random) {
+            int start = random.nextInt(slotStaff.length);
+            for (int i = 0; i < slotStaff.length; i++) {
+                int slot = (start + i) % slotStaff.length;
+                if (slotStaff[slot] == UNASSIGNED) {
+                    return slot;
+                }
+            }
+            return UNASSIGNED;
+        }
+        
+        boolean isBetterThan(State other) {
+            return unfilled < other.unfilled
+                || (unfilled == other.unfilled && sumOfSquares < other.sumOfSquares);
+        }
+    }
+}
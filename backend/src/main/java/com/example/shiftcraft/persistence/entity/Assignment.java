@@ -4,14 +4,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
-@Table(name = "assignments")
+@Table(name = "assignments", indexes = {
+    @Index(name = "idx_assignments_shift_status", columnList = "shift_instance_id, status"),
+    @Index(name = "idx_assignments_user_shift", columnList = "user_id, shift_instance_id")
+})
 public class Assignment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @UuidV7
+    private UUID id;
     
     // Many-to-one relationship with ShiftInstance
     @ManyToOne(fetch = FetchType.LAZY)
@@ -53,8 +57,8 @@ public class Assignment {
     }
     
     // Getters and Setters
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
     
     public ShiftInstance getShiftInstance() { return shiftInstance; }
     public void setShiftInstance(ShiftInstance shiftInstance) { this.shiftInstance = shiftInstance; }
@@ -7,11 +7,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+    @Index(name = "idx_leave_requests_user_status_dates", columnList = "user_id, status, end_date, start_date"),
+    @Index(name = "idx_leave_requests_status_dates", columnList = "status, end_date, start_date"),
+    @Index(name = "idx_leave_requests_status_requested", columnList = "status, requested_at, id")
+})
 public class LeaveRequest {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     // Many-to-one relationship with User
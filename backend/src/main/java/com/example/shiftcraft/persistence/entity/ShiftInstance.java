@@ -9,11 +9,17 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "shift_instances")
+@Table(name = "shift_instances", indexes = {
+    @Index(name = "idx_shift_instances_date_status", columnList = "shift_date, status"),
+    // Business key, unique in the baseline schema; rollOutTemplates relies on it
+    @Index(name = "idx_shift_instances_template_date", columnList = "template_id, shift_date", unique = true)
+})
+// Deliberately outside the second-level and query caches: rollOutTemplates inserts through JDBC
+// behind Hibernate's back, and the schedule pages must see a published range at once
 public class ShiftInstance {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     // Many-to-one relationship with ShiftTemplate
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalTime;
 import java.util.HashSet;
@@ -11,10 +13,11 @@ import java.util.Set;
 
 @Entity
 @Table(name = "shift_templates")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shift-templates")
 public class ShiftTemplate {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     // Many-to-one relationship with Location
@@ -59,6 +62,7 @@ public class ShiftTemplate {
         joinColumns = @JoinColumn(name = "template_id"),
         inverseJoinColumns = @JoinColumn(name = "skill_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shift-template-skills")
     private Set<Skill> requiredSkills = new HashSet<>();
     
     // One-to-many relationship with ShiftInstance
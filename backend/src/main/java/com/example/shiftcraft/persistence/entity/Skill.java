@@ -2,16 +2,19 @@ package com.example.shiftcraft.persistence.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "skills")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "skills")
 public class Skill {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     @NotBlank
@@ -2,6 +2,8 @@ package com.example.shiftcraft.persistence.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -10,11 +12,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "timesheets")
+@Table(name = "timesheets", indexes = {
+    @Index(name = "idx_timesheets_user_period", columnList = "user_id, period_start, period_end"),
+    @Index(name = "idx_timesheets_period", columnList = "period_start, period_end"),
+    @Index(name = "idx_timesheets_status_generated", columnList = "status, generated_at, id"),
+    @Index(name = "idx_timesheets_generated", columnList = "generated_at, id")
+})
+// Only changed columns are written, so flushing a loaded timesheet cannot overwrite a total
+// that TimesheetRepository.addToTotalMinutes adjusted in the database meanwhile
+@DynamicUpdate
 public class Timesheet {
     
+    /**
+     * Standard 40 hour work week for overtime calculation
+     */
+    public static final long STANDARD_MINUTES = 40 * 60;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     // Many-to-one relationship with User
@@ -30,14 +45,8 @@ public class Timesheet {
     @Column(name = "period_end", nullable = false)
     private LocalDate periodEnd;
     
-    @Column(name = "total_hours", precision = 8, scale = 2)
-    private BigDecimal totalHours = BigDecimal.ZERO;
-    
-    @Column(name = "regular_hours", precision = 8, scale = 2)
-    private BigDecimal regularHours = BigDecimal.ZERO;
-    
-    @Column(name = "overtime_hours", precision = 8, scale = 2)
-    private BigDecimal overtimeHours = BigDecimal.ZERO;
+    @Column(name = "total_minutes", nullable = false)
+    private long totalMinutes;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -52,8 +61,10 @@ public class Timesheet {
     @Column(name = "approved_by")
     private String approvedBy;
     
-    // One-to-many relationship with TimesheetEntry
+    // One-to-many relationship with TimesheetEntry; listings are keyset pages, which cannot
+    // fetch-join a collection, so a page's entries load together when the first one is touched
     @OneToMany(mappedBy = "timesheet", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 25)
     private List<TimesheetEntry> entries = new ArrayList<>();
     
     public enum TimesheetStatus {
@@ -82,14 +93,16 @@ public class Timesheet {
     public LocalDate getPeriodEnd() { return periodEnd; }
     public void setPeriodEnd(LocalDate periodEnd) { this.periodEnd = periodEnd; }
     
-    public BigDecimal getTotalHours() { return totalHours; }
-    public void setTotalHours(BigDecimal totalHours) { this.totalHours = totalHours; }
+    public long getTotalMinutes() { return totalMinutes; }
+    public void setTotalMinutes(long totalMinutes) { this.totalMinutes = totalMinutes; }
     
-    public BigDecimal getRegularHours() { return regularHours; }
-    public void setRegularHours(BigDecimal regularHours) { this.regularHours = regularHours; }
+    public long getRegularMinutes() { return Math.min(totalMinutes, STANDARD_MINUTES); }
+    public long getOvertimeMinutes() { return Math.max(totalMinutes - STANDARD_MINUTES, 0); }
     
-    public BigDecimal getOvertimeHours() { return overtimeHours; }
-    public void setOvertimeHours(BigDecimal overtimeHours) { this.overtimeHours = overtimeHours; }
+    // Hours are derived from the stored minutes for display and export
+    public BigDecimal getTotalHours() { return TimesheetEntry.minutesToHours(totalMinutes); }
+    public BigDecimal getRegularHours() { return TimesheetEntry.minutesToHours(getRegularMinutes()); }
+    public BigDecimal getOvertimeHours() { return TimesheetEntry.minutesToHours(getOvertimeMinutes()); }
     
     public TimesheetStatus getStatus() { return status; }
     public void setStatus(TimesheetStatus status) { this.status = status; }
@@ -108,25 +121,17 @@ public class Timesheet {
     
     // Helper methods
     public void calculateTotals() {
-        this.totalHours = entries.stream()
-            .map(TimesheetEntry::getHours)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // Standard 40 hour work week for overtime calculation
-        BigDecimal standardHours = new BigDecimal("40");
-        if (totalHours.compareTo(standardHours) > 0) {
-            this.regularHours = standardHours;
-            this.overtimeHours = totalHours.subtract(standardHours);
-        } else {
-            this.regularHours = totalHours;
-            this.overtimeHours = BigDecimal.ZERO;
+        long minutes = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            minutes += entries.get(i).getWorkedMinutes();
         }
+        this.totalMinutes = minutes;
     }
     
     @Override
     public String toString() {
         return "Timesheet{user=" + (user != null ? user.getFullName() : "null") + 
                ", period=" + periodStart + " to " + periodEnd + 
-               ", totalHours=" + totalHours + "}";
+               ", totalMinutes=" + totalMinutes + "}";
     }
 }
\ No newline at end of file
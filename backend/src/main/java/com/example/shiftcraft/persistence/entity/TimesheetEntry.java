@@ -4,16 +4,23 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.UUID;
 
 @Entity
-@Table(name = "timesheet_entries")
+@Table(name = "timesheet_entries", indexes = {
+    @Index(name = "idx_timesheet_entries_timesheet_date", columnList = "timesheet_id, work_date"),
+    @Index(name = "idx_timesheet_entries_work_date", columnList = "work_date")
+})
 public class TimesheetEntry {
     
+    private static final BigDecimal MINUTES_PER_HOUR = BigDecimal.valueOf(60);
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @UuidV7
+    private UUID id;
     
     // Many-to-one relationship with Timesheet
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,8 +47,8 @@ public class TimesheetEntry {
     @Column(name = "break_minutes", nullable = false)
     private Integer breakMinutes = 0;
     
-    @Column(name = "hours", precision = 8, scale = 2, nullable = false)
-    private BigDecimal hours;
+    @Column(name = "worked_minutes", nullable = false)
+    private int workedMinutes;
     
     @Enumerated(EnumType.STRING)
     @Column(name = "entry_type", nullable = false)
@@ -66,8 +73,8 @@ public class TimesheetEntry {
     }
     
     // Getters and Setters
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
     
     public Timesheet getTimesheet() { return timesheet; }
     public void setTimesheet(Timesheet timesheet) { this.timesheet = timesheet; }
@@ -87,8 +94,13 @@ public class TimesheetEntry {
     public Integer getBreakMinutes() { return breakMinutes; }
     public void setBreakMinutes(Integer breakMinutes) { this.breakMinutes = breakMinutes; }
     
-    public BigDecimal getHours() { return hours; }
-    public void setHours(BigDecimal hours) { this.hours = hours; }
+    public int getWorkedMinutes() { return workedMinutes; }
+    public void setWorkedMinutes(int workedMinutes) { this.workedMinutes = workedMinutes; }
+    
+    /**
+     * Worked time in hours, derived from the stored minutes for display and export
+     */
+    public BigDecimal getHours() { return minutesToHours(workedMinutes); }
     
     public EntryType getEntryType() { return entryType; }
     public void setEntryType(EntryType entryType) { this.entryType = entryType; }
@@ -99,12 +111,18 @@ public class TimesheetEntry {
     // Helper methods
     public void calculateHours() {
         if (startTime != null && endTime != null) {
-            long totalMinutes = java.time.Duration.between(startTime, endTime).toMinutes();
-            totalMinutes -= (breakMinutes != null ? breakMinutes : 0);
-            this.hours = BigDecimal.valueOf(totalMinutes).divide(BigDecimal.valueOf(60), 2, java.math.RoundingMode.HALF_UP);
+            int minutes = (endTime.toSecondOfDay() - startTime.toSecondOfDay()) / 60;
+            this.workedMinutes = minutes - (breakMinutes != null ? breakMinutes : 0);
         }
     }
     
+    /**
+     * Convert a minute count to hours rounded to two decimal places
+     */
+    public static BigDecimal minutesToHours(long minutes) {
+        return BigDecimal.valueOf(minutes).divide(MINUTES_PER_HOUR, 2, RoundingMode.HALF_UP);
+    }
+    
     @PrePersist
     @PreUpdate
     protected void onSave() {
@@ -115,6 +133,6 @@ public class TimesheetEntry {
     public String toString() {
         return "TimesheetEntry{workDate=" + workDate + 
                ", startTime=" + startTime + ", endTime=" + endTime + 
-               ", hours=" + hours + "}";
+               ", workedMinutes=" + workedMinutes + "}";
     }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -14,7 +16,7 @@ import java.util.Set;
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     @NotBlank
@@ -22,8 +24,9 @@ public class User {
     @Column(unique = true, nullable = false)
     private String email;
     
+    // BCrypt hash, prefixed with its encoder id (e.g. {bcrypt}) once rehashed
     @NotBlank
-    @Size(min = 60, max = 60)
+    @Size(min = 60, max = 100)
     @Column(name = "password_hash", nullable = false)
     private String passwordHash;
     
@@ -52,6 +55,7 @@ public class User {
         joinColumns = @JoinColumn(name = "user_id"),
         inverseJoinColumns = @JoinColumn(name = "role_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     private Set<Role> roles = new HashSet<>();
     
     // Many-to-many relationship with Skill via user_skills
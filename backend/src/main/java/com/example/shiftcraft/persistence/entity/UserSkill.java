@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 public class UserSkill {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     // Many-to-one relationship with User
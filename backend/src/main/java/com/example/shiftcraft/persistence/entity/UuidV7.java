@@ -0,0 +1,18 @@
+package com.example.shiftcraft.persistence.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the identifier as a time-ordered UUIDv7, so new rows land at the right-hand edge of
+ * the primary key index instead of at random pages. Works on {@code UUID} and {@code String} ids.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,59 @@
+package com.example.shiftcraft.persistence.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 UUIDv7: 48 bits of Unix milliseconds, a 12-bit counter that keeps ids generated in the
+ * same millisecond in order, and 62 random bits. Ids from one JVM are strictly increasing.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** Last issued timestamp in the upper 52 bits and counter in the lower 12 */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private final boolean stringId;
+
+    public UuidV7Generator(UuidV7 config, Member member, CustomIdGeneratorCreationContext context) {
+        Class<?> type = member instanceof Field field ? field.getType() : ((Method) member).getReturnType();
+        if (type != UUID.class && type != String.class) {
+            throw new IllegalArgumentException("@UuidV7 needs a UUID or String id, not " + type.getName());
+        }
+        this.stringId = type == String.class;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        UUID id = next();
+        return stringId ? id.toString() : id;
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        // Past 4096 ids in one millisecond the counter carries into the timestamp, borrowing a
+        // millisecond from the clock rather than going backwards
+        long stamp = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -1,16 +1,19 @@
 package com.example.shiftcraft.persistence.repository;
 
 import com.example.shiftcraft.persistence.entity.Assignment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
-public interface AssignmentRepository extends JpaRepository<Assignment, String> {
+public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
     
     List<Assignment> findByUserId(String userId);
     
@@ -21,9 +24,45 @@ public interface AssignmentRepository extends JpaRepository<Assignment, String>
     @Query("SELECT a FROM Assignment a WHERE a.user.id = :userId AND a.shiftInstance.shiftDate = :date")
     List<Assignment> findByUserIdAndDate(@Param("userId") String userId, @Param("date") LocalDate date);
     
+    @EntityGraph(attributePaths = {"shiftInstance", "shiftInstance.template", "shiftInstance.template.location"})
     @Query("SELECT a FROM Assignment a WHERE a.user.id = :userId AND a.shiftInstance.shiftDate BETWEEN :startDate AND :endDate")
     List<Assignment> findByUserIdAndDateRange(@Param("userId") String userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
+    @EntityGraph(attributePaths = {"user", "user.roles", "shiftInstance", "shiftInstance.template",
+        "shiftInstance.template.location", "shiftInstance.template.role"})
     @Query("SELECT a FROM Assignment a WHERE a.shiftInstance.shiftDate BETWEEN :startDate AND :endDate AND a.status = 'ACTIVE'")
     List<Assignment> findActiveAssignmentsInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @EntityGraph(attributePaths = {"user", "shiftInstance", "shiftInstance.template"})
+    @Query("SELECT a FROM Assignment a WHERE a.shiftInstance.shiftDate BETWEEN :startDate AND :endDate AND a.status IN ('ACTIVE', 'COMPLETED')")
+    List<Assignment> findBillableAssignmentsInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @EntityGraph(attributePaths = {"user", "shiftInstance", "shiftInstance.template"})
+    @Query("SELECT a FROM Assignment a WHERE a.user.id IN :userIds AND a.shiftInstance.shiftDate BETWEEN :startDate AND :endDate AND a.status IN ('ACTIVE', 'COMPLETED')")
+    List<Assignment> findBillableAssignmentsForUsersInPeriod(@Param("userIds") Collection<String> userIds, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT DISTINCT a.user.id FROM Assignment a WHERE a.shiftInstance.shiftDate BETWEEN :startDate AND :endDate AND a.status IN ('ACTIVE', 'COMPLETED') ORDER BY a.user.id")
+    List<String> findBillableUserIdsInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT a.user.id AS userId, a.shiftInstance.shiftDate AS shiftDate FROM Assignment a WHERE a.shiftInstance.shiftDate BETWEEN :startDate AND :endDate AND a.status = 'ACTIVE'")
+    List<UserShiftDate> findActiveUserShiftDatesInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT a.shiftInstance.id AS shiftInstanceId, COUNT(a) AS assigned FROM Assignment a WHERE a.shiftInstance.shiftDate BETWEEN :startDate AND :endDate AND a.status = 'ACTIVE' GROUP BY a.shiftInstance.id")
+    List<ShiftAssignmentCount> countActiveAssignmentsPerShiftInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Projection of an assignment down to the user and the day it occupies
+     */
+    interface UserShiftDate {
+        String getUserId();
+        LocalDate getShiftDate();
+    }
+    
+    /**
+     * Projection of the number of active assignments on one shift instance
+     */
+    interface ShiftAssignmentCount {
+        String getShiftInstanceId();
+        long getAssigned();
+    }
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package com.example.shiftcraft.persistence.repository;
 
 import com.example.shiftcraft.persistence.entity.LeaveRequest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -21,12 +26,58 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Stri
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.status = 'PENDING' ORDER BY lr.requestedAt ASC")
     List<LeaveRequest> findPendingRequests();
     
+    /**
+     * One page of pending requests, oldest first. Continues after the given keyset position
+     * ({@code requestedAt}, {@code id}), so later pages seek on the index instead of skipping rows
+     */
+    default Window<LeaveRequest> findPendingRequests(ScrollPosition position, Limit limit) {
+        return findByStatusOrderByRequestedAtAscIdAsc(LeaveRequest.LeaveStatus.PENDING, position, limit);
+    }
+    
+    @EntityGraph(attributePaths = "user")
+    Window<LeaveRequest> findByStatusOrderByRequestedAtAscIdAsc(LeaveRequest.LeaveStatus status, ScrollPosition position, Limit limit);
+    
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.user.id = :userId AND lr.status = :status")
     List<LeaveRequest> findByUserIdAndStatus(@Param("userId") String userId, @Param("status") LeaveRequest.LeaveStatus status);
     
+    @EntityGraph(attributePaths = {"user", "user.roles"})
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.startDate <= :endDate AND lr.endDate >= :startDate AND lr.status = 'APPROVED'")
     List<LeaveRequest> findApprovedLeaveInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.user.id = :userId AND lr.startDate <= :endDate AND lr.endDate >= :startDate AND lr.status IN ('PENDING', 'APPROVED')")
     List<LeaveRequest> findUserLeaveInPeriod(@Param("userId") String userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT COUNT(lr) > 0 FROM LeaveRequest lr WHERE lr.user.id = :userId AND lr.startDate <= :endDate AND lr.endDate >= :startDate AND lr.status IN ('PENDING', 'APPROVED')")
+    boolean existsActiveLeaveForUserInPeriod(@Param("userId") String userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT COUNT(lr) > 0 FROM LeaveRequest lr WHERE lr.user.id = :userId AND lr.startDate <= :endDate AND lr.endDate >= :startDate AND lr.status = 'APPROVED'")
+    boolean existsApprovedLeaveForUserInPeriod(@Param("userId") String userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT lr.user.id AS userId, lr.startDate AS startDate, lr.endDate AS endDate, lr.status AS status FROM LeaveRequest lr WHERE lr.startDate <= :endDate AND lr.endDate >= :startDate AND lr.status IN ('PENDING', 'APPROVED')")
+    List<UserLeaveRange> findActiveLeaveRangesInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT lr.user.id AS userId, lr.startDate AS startDate, lr.endDate AS endDate, lr.status AS status FROM LeaveRequest lr WHERE lr.user.id = :userId AND lr.status IN ('PENDING', 'APPROVED')")
+    List<UserLeaveRange> findActiveLeaveRangesForUser(@Param("userId") String userId);
+    
+    @Query("SELECT COUNT(lr) AS activeCount, MAX(COALESCE(lr.reviewedAt, lr.requestedAt)) AS lastChange FROM LeaveRequest lr WHERE lr.user.id = :userId AND lr.status IN ('PENDING', 'APPROVED')")
+    LeaveVersion findActiveLeaveVersionForUser(@Param("userId") String userId);
+    
+    /**
+     * Projection of a leave request down to the user and the dates it covers
+     */
+    interface UserLeaveRange {
+        String getUserId();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        LeaveRequest.LeaveStatus getStatus();
+    }
+    
+    /**
+     * How many pending or approved requests a user has, and when the latest of them was
+     * submitted or reviewed; changes whenever the user's active leave does
+     */
+    interface LeaveVersion {
+        long getActiveCount();
+        LocalDateTime getLastChange();
+    }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.example.shiftcraft.persistence.repository;
 
 import com.example.shiftcraft.persistence.entity.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +13,10 @@ import java.util.Optional;
 @Repository
 public interface LocationRepository extends JpaRepository<Location, String> {
     
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Location> findAll();
+    
     Optional<Location> findByName(String name);
     
     List<Location> findByCity(String city);
@@ -1,12 +1,18 @@
 package com.example.shiftcraft.persistence.repository;
 
 import com.example.shiftcraft.persistence.entity.ShiftInstance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,9 +29,33 @@ public interface ShiftInstanceRepository extends JpaRepository<ShiftInstance, St
     
     List<ShiftInstance> findByStatus(ShiftInstance.ShiftStatus status);
     
+    @EntityGraph(attributePaths = {"template", "template.location", "template.role"})
     @Query("SELECT si FROM ShiftInstance si WHERE si.shiftDate >= :startDate AND si.shiftDate <= :endDate AND si.status = 'PUBLISHED'")
     List<ShiftInstance> findPublishedShiftsInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
+    @EntityGraph(attributePaths = {"template", "template.role", "template.requiredSkills"})
+    @Query("SELECT si FROM ShiftInstance si WHERE si.shiftDate >= :startDate AND si.shiftDate <= :endDate AND si.status = 'DRAFT' AND si.template.isActive = true")
+    List<ShiftInstance> findDraftShiftsInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
     @Query("SELECT si FROM ShiftInstance si WHERE si.template.location.id = :locationId AND si.shiftDate = :date")
     List<ShiftInstance> findByLocationAndDate(@Param("locationId") String locationId, @Param("date") LocalDate date);
+    
+    // Locked so the ids returned are exactly the rows a following publishDrafts changes. The
+    // location filter is a subquery so that FOR UPDATE covers shift_instances alone.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT si.id FROM ShiftInstance si WHERE si.shiftDate >= :startDate AND si.shiftDate <= :endDate AND si.status = 'DRAFT' " +
+           "AND (:locationId IS NULL OR si.template.id IN (SELECT t.id FROM ShiftTemplate t WHERE t.location.id = :locationId))")
+    List<String> lockDraftIdsInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                      @Param("locationId") String locationId);
+    
+    // Locked so that slot counts checked while applying a roster proposal cannot change underneath it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT si FROM ShiftInstance si WHERE si.id IN :ids")
+    List<ShiftInstance> lockAllById(@Param("ids") Collection<String> ids);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ShiftInstance si SET si.status = 'PUBLISHED', si.publishedBy = :publishedBy, si.publishedAt = :publishedAt " +
+           "WHERE si.id IN :ids AND si.status = 'DRAFT'")
+    int publishDrafts(@Param("ids") Collection<String> ids, @Param("publishedBy") String publishedBy,
+                      @Param("publishedAt") LocalDateTime publishedAt);
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.example.shiftcraft.persistence.repository;
 
 import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ShiftTemplateRepository extends JpaRepository<ShiftTemplate, String> {
@@ -17,9 +23,32 @@ public interface ShiftTemplateRepository extends JpaRepository<ShiftTemplate, St
     
     List<ShiftTemplate> findByIsActiveTrue();
     
+    /**
+     * All templates with location and role loaded. The query cache keeps the ids and the
+     * second-level cache the rows, so each session gets its own instances; any write to
+     * shift_templates invalidates the cached result
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT st FROM ShiftTemplate st JOIN FETCH st.location JOIN FETCH st.role ORDER BY st.name")
+    List<ShiftTemplate> findAllWithLocationAndRole();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT st FROM ShiftTemplate st JOIN FETCH st.location JOIN FETCH st.role WHERE st.isActive = true ORDER BY st.name")
+    List<ShiftTemplate> findActiveWithLocationAndRole();
+    
     @Query("SELECT st FROM ShiftTemplate st WHERE st.location.id = :locationId AND st.isActive = true")
     List<ShiftTemplate> findActiveByLocationId(@Param("locationId") String locationId);
     
+    // Serializes roll-outs over the same templates; ordered so overlapping roll-outs lock in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT st.id FROM ShiftTemplate st WHERE st.isActive = true AND (:locationId IS NULL OR st.location.id = :locationId) ORDER BY st.id")
+    List<String> lockActiveIds(@Param("locationId") String locationId);
+    
+    // Taken before a single instance insert, so it cannot interleave with a roll-out of the same template
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT st FROM ShiftTemplate st WHERE st.id = :id")
+    Optional<ShiftTemplate> lockById(@Param("id") String id);
+    
     @Query("SELECT st FROM ShiftTemplate st JOIN st.requiredSkills s WHERE s.name = :skillName")
     List<ShiftTemplate> findByRequiredSkillName(@Param("skillName") String skillName);
 }
\ No newline at end of file
@@ -1,20 +1,27 @@
 package com.example.shiftcraft.persistence.repository;
 
+import com.example.shiftcraft.persistence.entity.Timesheet;
 import com.example.shiftcraft.persistence.entity.TimesheetEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TimesheetEntryRepository extends JpaRepository<TimesheetEntry, String> {
+public interface TimesheetEntryRepository extends JpaRepository<TimesheetEntry, UUID> {
     
     List<TimesheetEntry> findByTimesheetId(String timesheetId);
     
-    List<TimesheetEntry> findByAssignmentId(String assignmentId);
+    List<TimesheetEntry> findByAssignmentId(UUID assignmentId);
     
     List<TimesheetEntry> findByWorkDate(LocalDate workDate);
     
@@ -22,4 +29,43 @@ public interface TimesheetEntryRepository extends JpaRepository<TimesheetEntry,
     
     @Query("SELECT te FROM TimesheetEntry te WHERE te.timesheet.id = :timesheetId AND te.workDate BETWEEN :startDate AND :endDate")
     List<TimesheetEntry> findByTimesheetIdAndDateRange(@Param("timesheetId") String timesheetId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+    
+    /**
+     * Payroll rows for every entry worked in the period, read through a forward-only cursor.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT u.email AS email, u.firstName AS firstName, u.lastName AS lastName, " +
+           "t.id AS timesheetId, t.periodStart AS periodStart, t.periodEnd AS periodEnd, t.status AS timesheetStatus, " +
+           "te.workDate AS workDate, te.startTime AS startTime, te.endTime AS endTime, " +
+           "te.breakMinutes AS breakMinutes, te.workedMinutes AS workedMinutes, " +
+           "te.entryType AS entryType, te.description AS description " +
+           "FROM TimesheetEntry te JOIN te.timesheet t JOIN t.user u " +
+           "WHERE te.workDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY u.lastName, u.firstName, u.id, te.workDate, te.startTime")
+    Stream<PayrollRow> streamPayrollRows(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    /**
+     * One timesheet entry flattened with its user and timesheet for payroll export
+     */
+    interface PayrollRow {
+        String getEmail();
+        String getFirstName();
+        String getLastName();
+        String getTimesheetId();
+        LocalDate getPeriodStart();
+        LocalDate getPeriodEnd();
+        Timesheet.TimesheetStatus getTimesheetStatus();
+        LocalDate getWorkDate();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+        Integer getBreakMinutes();
+        int getWorkedMinutes();
+        TimesheetEntry.EntryType getEntryType();
+        String getDescription();
+    }
+}
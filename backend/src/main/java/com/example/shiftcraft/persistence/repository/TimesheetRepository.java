@@ -1,12 +1,18 @@
 package com.example.shiftcraft.persistence.repository;
 
 import com.example.shiftcraft.persistence.entity.Timesheet;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,11 +23,61 @@ public interface TimesheetRepository extends JpaRepository<Timesheet, String> {
     
     List<Timesheet> findByStatus(Timesheet.TimesheetStatus status);
     
+    long countByStatus(Timesheet.TimesheetStatus status);
+    
+    /**
+     * Keyset pages over ({@code generatedAt}, {@code id}): each page continues after the last
+     * row of the previous one, so page N costs the same as page 1
+     */
+    @EntityGraph(attributePaths = "user")
+    Window<Timesheet> findAllByOrderByGeneratedAtDescIdDesc(ScrollPosition position, Limit limit);
+    
+    @EntityGraph(attributePaths = "user")
+    Window<Timesheet> findByStatusOrderByGeneratedAtAscIdAsc(Timesheet.TimesheetStatus status, ScrollPosition position, Limit limit);
+    
     Optional<Timesheet> findByUserIdAndPeriodStartAndPeriodEnd(String userId, LocalDate periodStart, LocalDate periodEnd);
     
+    @Query("SELECT t.user.id FROM Timesheet t WHERE t.periodStart = :periodStart AND t.periodEnd = :periodEnd")
+    List<String> findUserIdsWithTimesheetForPeriod(@Param("periodStart") LocalDate periodStart, @Param("periodEnd") LocalDate periodEnd);
+    
+    @Query("SELECT t.user.id FROM Timesheet t WHERE t.user.id IN :userIds AND t.periodStart = :periodStart AND t.periodEnd = :periodEnd")
+    List<String> findUserIdsWithTimesheetForPeriod(@Param("userIds") Collection<String> userIds, @Param("periodStart") LocalDate periodStart, @Param("periodEnd") LocalDate periodEnd);
+    
     @Query("SELECT t FROM Timesheet t WHERE t.user.id = :userId AND t.periodStart >= :startDate AND t.periodEnd <= :endDate")
     List<Timesheet> findByUserIdAndPeriodRange(@Param("userId") String userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
     @Query("SELECT t FROM Timesheet t WHERE t.periodStart >= :startDate AND t.periodEnd <= :endDate")
     List<Timesheet> findByPeriodRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+    
+    @Query("SELECT t.id AS timesheetId, t.totalMinutes AS storedMinutes, COALESCE(SUM(e.workedMinutes), 0) AS entryMinutes " +
+           "FROM Timesheet t LEFT JOIN t.entries e GROUP BY t.id, t.totalMinutes " +
+           "HAVING t.totalMinutes <> COALESCE(SUM(e.workedMinutes), 0)")
+    List<TotalsDrift> findTotalsDrift();
+    
+    /**
+     * Add the change in one entry's worked minutes to the stored total. Done in the database,
+     * so concurrent edits to one timesheet cannot lose each other's deltas, and without
+     * loading the entries collection
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Timesheet t SET t.totalMinutes = t.totalMinutes + :delta WHERE t.id = :id")
+    int addToTotalMinutes(@Param("id") String id, @Param("delta") long delta);
+    
+    /**
+     * Set every drifted total to the sum of its entries; returns the number of timesheets changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Timesheet t SET t.totalMinutes = " +
+           "(SELECT COALESCE(SUM(e.workedMinutes), 0) FROM TimesheetEntry e WHERE e.timesheet = t) " +
+           "WHERE t.totalMinutes <> (SELECT COALESCE(SUM(e.workedMinutes), 0) FROM TimesheetEntry e WHERE e.timesheet = t)")
+    int repairTotalsDrift();
+    
+    /**
+     * A timesheet whose stored total no longer matches the sum of its entries
+     */
+    interface TotalsDrift {
+        String getTimesheetId();
+        long getStoredMinutes();
+        long getEntryMinutes();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.shiftcraft.persistence.repository;
 
 import com.example.shiftcraft.persistence.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,9 +17,13 @@ public interface UserRepository extends JpaRepository<User, String> {
     
     List<User> findByStatus(User.UserStatus status);
     
+    @EntityGraph(attributePaths = "roles")
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     List<User> findByRoleName(@Param("roleName") String roleName);
     
+    @Query("SELECT u.id FROM User u JOIN u.roles r WHERE r.name = :roleName")
+    List<String> findIdsByRoleName(@Param("roleName") String roleName);
+    
     @Query("SELECT u FROM User u JOIN u.skills us JOIN us.skill s WHERE s.name = :skillName")
     List<User> findBySkillName(@Param("skillName") String skillName);
     
@@ -26,4 +31,15 @@ public interface UserRepository extends JpaRepository<User, String> {
     long countActiveUsers();
     
     boolean existsByEmail(String email);
+    
+    @Query("SELECT u.id AS userId, r.id AS roleId FROM User u JOIN u.roles r WHERE u.status = 'ACTIVE'")
+    List<UserRoleId> findActiveUserRoleIds();
+    
+    /**
+     * Projection of one user-role membership
+     */
+    interface UserRoleId {
+        String getUserId();
+        String getRoleId();
+    }
 }
\ No newline at end of file
@@ -23,4 +23,16 @@ public interface UserSkillRepository extends JpaRepository<UserSkill, String> {
     
     @Query("SELECT us FROM UserSkill us WHERE us.skill.name = :skillName AND us.level IN :levels")
     List<UserSkill> findBySkillNameAndLevels(@Param("skillName") String skillName, @Param("levels") List<UserSkill.SkillLevel> levels);
+    
+    @Query("SELECT us.user.id AS userId, us.skill.id AS skillId, us.level AS level FROM UserSkill us WHERE us.user.status = 'ACTIVE'")
+    List<UserSkillLevel> findActiveUserSkillLevels();
+    
+    /**
+     * Projection of a user's level in one skill
+     */
+    interface UserSkillLevel {
+        String getUserId();
+        String getSkillId();
+        UserSkill.SkillLevel getLevel();
+    }
 }
\ No newline at end of file
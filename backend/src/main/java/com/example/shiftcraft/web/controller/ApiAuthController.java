@@ -0,0 +1,148 @@
+package com.example.shiftcraft.web.controller;
+
+import com.example.shiftcraft.web.security.AuthenticatedUser;
+import com.example.shiftcraft.web.security.BoundedPasswordEncoder;
+import com.example.shiftcraft.web.security.CurrentUser;
+import com.example.shiftcraft.web.security.CustomUserDetailsService;
+import com.example.shiftcraft.web.security.JwtTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api")
+public class ApiAuthController {
+    
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenService jwtTokenService;
+    
+    // Checked against when there is no usable account, so every rejected sign-in costs a hash
+    private volatile String userNotFoundPasswordHash;
+    
+    @Autowired
+    public ApiAuthController(CustomUserDetailsService userDetailsService, PasswordEncoder passwordEncoder,
+                             JwtTokenService jwtTokenService) {
+        this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtTokenService = jwtTokenService;
+    }
+    
+    /**
+     * Exchange email and password for a bearer token. Answers 400 when either is missing,
+     * and 503 with Retry-After when the password hashing pool is saturated. Unknown and
+     * disabled accounts still pay for a hash check, so response times don't reveal them.
+     */
+    @PostMapping("/auth/token")
+    public ResponseEntity<TokenResponse> issueToken(@RequestBody TokenRequest request) {
+        if (!StringUtils.hasText(request.getEmail()) || !StringUtils.hasText(request.getPassword())) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        UserDetails details;
+        try {
+            details = userDetailsService.loadUserByUsername(request.getEmail());
+        } catch (UsernameNotFoundException e) {
+            details = null;
+        }
+        
+        try {
+            if (details == null || !details.isEnabled()) {
+                mitigateAgainstTimingAttack(request.getPassword());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            if (!passwordEncoder.matches(request.getPassword(), details.getPassword())) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            if (passwordEncoder.upgradeEncoding(details.getPassword())) {
+                details = userDetailsService.updatePassword(details, passwordEncoder.encode(request.getPassword()));
+            }
+        } catch (BoundedPasswordEncoder.PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+        }
+        
+        AuthenticatedUser user = ((CustomUserDetailsService.CustomUserPrincipal) details).getAuthenticatedUser();
+        JwtTokenService.IssuedToken token = jwtTokenService.issue(user);
+        return ResponseEntity.ok(new TokenResponse(token.getToken(), token.getExpiresAt()));
+    }
+    
+    /**
+     * Same cost as checking a real account's password, as DaoAuthenticationProvider does
+     */
+    private void mitigateAgainstTimingAttack(String password) {
+        if (userNotFoundPasswordHash == null) {
+            userNotFoundPasswordHash = passwordEncoder.encode("userNotFoundPassword");
+        }
+        passwordEncoder.matches(password, userNotFoundPasswordHash);
+    }
+    
+    /**
+     * The caller as described by their token
+     */
+    @GetMapping("/me")
+    public MeResponse me(@CurrentUser AuthenticatedUser currentUser) {
+        return new MeResponse(currentUser.getId(), currentUser.getEmail(), currentUser.getFullName(),
+            currentUser.getRoleNames());
+    }
+    
+    public static class TokenRequest {
+        private String email;
+        private String password;
+        
+        // Constructors
+        public TokenRequest() {}
+        
+        // Getters and Setters
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+    
+    public static class TokenResponse {
+        private final String token;
+        private final Instant expiresAt;
+        
+        public TokenResponse(String token, Instant expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+        
+        // Getters
+        public String getToken() { return token; }
+        public String getTokenType() { return "Bearer"; }
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+    
+    public static class MeResponse {
+        private final String id;
+        private final String email;
+        private final String fullName;
+        private final Set<String> roles;
+        
+        public MeResponse(String id, String email, String fullName, Set<String> roles) {
+            this.id = id;
+            this.email = email;
+            this.fullName = fullName;
+            this.roles = roles;
+        }
+        
+        // Getters
+        public String getId() { return id; }
+        public String getEmail() { return email; }
+        public String getFullName() { return fullName; }
+        public Set<String> getRoles() { return roles; }
+    }
+}
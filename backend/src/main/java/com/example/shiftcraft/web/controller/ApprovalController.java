@@ -2,22 +2,19 @@ package com.example.shiftcraft.web.controller;
 
 import com.example.shiftcraft.application.service.LeaveService;
 import com.example.shiftcraft.application.service.TimesheetService;
-import com.example.shiftcraft.application.service.UserService;
 import com.example.shiftcraft.persistence.entity.LeaveRequest;
 import com.example.shiftcraft.persistence.entity.Timesheet;
-import com.example.shiftcraft.persistence.entity.User;
+import com.example.shiftcraft.web.security.AuthenticatedUser;
+import com.example.shiftcraft.web.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
-import java.util.Optional;
-
 @Controller
 @RequestMapping("/approvals")
 @PreAuthorize("hasRole('MANAGER')")
@@ -25,25 +22,34 @@ public class ApprovalController {
     
     private final LeaveService leaveService;
     private final TimesheetService timesheetService;
-    private final UserService userService;
+    private final int pageSize;
     
     @Autowired
-    public ApprovalController(LeaveService leaveService, TimesheetService timesheetService, UserService userService) {
+    public ApprovalController(LeaveService leaveService, TimesheetService timesheetService,
+                              @Value("${app.listings.page-size:25}") int pageSize) {
         this.leaveService = leaveService;
         this.timesheetService = timesheetService;
-        this.userService = userService;
+        this.pageSize = pageSize;
     }
     
     @GetMapping
-    public String approvalsPage(Model model) {
-        // Get pending leave requests
-        List<LeaveRequest> pendingLeaveRequests = leaveService.getPendingLeaveRequests();
+    public String approvalsPage(@RequestParam(required = false) String leaveAfter,
+                                @RequestParam(required = false) String timesheetsAfter,
+                                Model model) {
+        // Get pending leave requests, oldest first, one page at a time
+        Window<LeaveRequest> pendingLeaveRequests = leaveService.getPendingLeaveRequests(
+            KeysetCursor.position(leaveAfter, "requestedAt"), pageSize);
         
         // Get submitted timesheets awaiting approval
-        List<Timesheet> submittedTimesheets = timesheetService.getTimesheetsByStatus(Timesheet.TimesheetStatus.SUBMITTED);
+        Window<Timesheet> submittedTimesheets = timesheetService.getSubmittedTimesheetPage(
+            KeysetCursor.position(timesheetsAfter, "generatedAt"), pageSize);
         
-        model.addAttribute("pendingLeaveRequests", pendingLeaveRequests);
-        model.addAttribute("submittedTimesheets", submittedTimesheets);
+        model.addAttribute("pendingLeaveRequests", pendingLeaveRequests.getContent());
+        model.addAttribute("leaveAfter", leaveAfter);
+        model.addAttribute("nextLeavePage", KeysetCursor.next(pendingLeaveRequests, "requestedAt"));
+        model.addAttribute("submittedTimesheets", submittedTimesheets.getContent());
+        model.addAttribute("timesheetsAfter", timesheetsAfter);
+        model.addAttribute("nextTimesheetPage", KeysetCursor.next(submittedTimesheets, "generatedAt"));
         
         return "approvals";
     }
@@ -51,16 +57,12 @@ public class ApprovalController {
     @PostMapping("/leave/{requestId}/approve")
     public String approveLeaveRequest(@PathVariable String requestId,
                                     @RequestParam(required = false) String notes,
+                                    @CurrentUser AuthenticatedUser currentUser,
                                     RedirectAttributes redirectAttributes) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = auth.getName();
-            
-            Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-            
-            if (currentUser.isPresent()) {
+            if (currentUser != null) {
                 LeaveRequest approved = leaveService.approveLeaveRequest(
-                    requestId, currentUser.get().getId(), notes);
+                    requestId, currentUser.getId(), notes);
                 
                 redirectAttributes.addFlashAttribute("successMessage", 
                     "Leave request approved for " + approved.getUser().getFullName());
@@ -75,16 +77,12 @@ public class ApprovalController {
     @PostMapping("/leave/{requestId}/reject")
     public String rejectLeaveRequest(@PathVariable String requestId,
                                    @RequestParam(required = false) String notes,
+                                   @CurrentUser AuthenticatedUser currentUser,
                                    RedirectAttributes redirectAttributes) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = auth.getName();
-            
-            Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-            
-            if (currentUser.isPresent()) {
+            if (currentUser != null) {
                 LeaveRequest rejected = leaveService.rejectLeaveRequest(
-                    requestId, currentUser.get().getId(), notes);
+                    requestId, currentUser.getId(), notes);
                 
                 redirectAttributes.addFlashAttribute("successMessage", 
                     "Leave request rejected for " + rejected.getUser().getFullName());
@@ -98,16 +96,12 @@ public class ApprovalController {
     
     @PostMapping("/timesheet/{timesheetId}/approve")
     public String approveTimesheet(@PathVariable String timesheetId,
+                                  @CurrentUser AuthenticatedUser currentUser,
                                   RedirectAttributes redirectAttributes) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = auth.getName();
-            
-            Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-            
-            if (currentUser.isPresent()) {
+            if (currentUser != null) {
                 Timesheet approved = timesheetService.approveTimesheet(
-                    timesheetId, currentUser.get().getId());
+                    timesheetId, currentUser.getId());
                 
                 redirectAttributes.addFlashAttribute("successMessage", 
                     "Timesheet approved for " + approved.getUser().getFullName());
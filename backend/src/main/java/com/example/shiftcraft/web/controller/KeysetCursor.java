@@ -0,0 +1,51 @@
+package com.example.shiftcraft.web.controller;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Opaque URL token for a keyset position over (timestamp, id), used by the "next page"
+ * links of paginated listings. A token that cannot be read restarts from the first page.
+ */
+final class KeysetCursor {
+    
+    private static final String SEPARATOR = "|";
+    
+    private KeysetCursor() {}
+    
+    /**
+     * Token that continues after the last row of the window, or null on the last page
+     */
+    static String next(Window<?> window, String timestampProperty) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> keys = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+        String raw = keys.get(timestampProperty) + SEPARATOR + keys.get("id");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static KeysetScrollPosition position(String token, String timestampProperty) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return ScrollPosition.keyset();
+            }
+            LocalDateTime timestamp = LocalDateTime.parse(raw.substring(0, separator));
+            return ScrollPosition.forward(Map.of(timestampProperty, timestamp, "id", raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ScrollPosition.keyset();
+        }
+    }
+}
@@ -1,12 +1,10 @@
 package com.example.shiftcraft.web.controller;
 
 import com.example.shiftcraft.application.service.LeaveService;
-import com.example.shiftcraft.application.service.UserService;
 import com.example.shiftcraft.persistence.entity.LeaveRequest;
-import com.example.shiftcraft.persistence.entity.User;
+import com.example.shiftcraft.web.security.AuthenticatedUser;
+import com.example.shiftcraft.web.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -14,37 +12,28 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 @Controller
 @RequestMapping("/requests")
 public class LeaveRequestController {
     
     private final LeaveService leaveService;
-    private final UserService userService;
     
     @Autowired
-    public LeaveRequestController(LeaveService leaveService, UserService userService) {
+    public LeaveRequestController(LeaveService leaveService) {
         this.leaveService = leaveService;
-        this.userService = userService;
     }
     
     @GetMapping
-    public String requestsPage(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = auth.getName();
-        
-        Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-        
+    public String requestsPage(@CurrentUser AuthenticatedUser currentUser, Model model) {
         // Always add leaveRequest and leaveTypes for template
         model.addAttribute("leaveRequest", new LeaveRequestForm());
         model.addAttribute("leaveTypes", LeaveRequest.LeaveType.values());
         
-        if (currentUser.isPresent()) {
-            User user = currentUser.get();
-            List<LeaveRequest> userRequests = leaveService.getUserLeaveRequests(user.getId());
+        if (currentUser != null) {
+            List<LeaveRequest> userRequests = leaveService.getUserLeaveRequests(currentUser.getId());
             
-            model.addAttribute("currentUser", user);
+            model.addAttribute("currentUser", currentUser);
             model.addAttribute("userRequests", userRequests);
         }
         
@@ -52,17 +41,13 @@ public class LeaveRequestController {
     }
     
     @PostMapping
-    public String submitLeaveRequest(@ModelAttribute LeaveRequestForm form, 
+    public String submitLeaveRequest(@ModelAttribute LeaveRequestForm form,
+                                   @CurrentUser AuthenticatedUser currentUser,
                                    RedirectAttributes redirectAttributes) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = auth.getName();
-            
-            Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-            
-            if (currentUser.isPresent()) {
+            if (currentUser != null) {
                 LeaveRequest request = leaveService.submitLeaveRequest(
-                    currentUser.get().getId(),
+                    currentUser.getId(),
                     form.getStartDate(),
                     form.getEndDate(),
                     form.getLeaveType(),
@@ -81,15 +66,11 @@ public class LeaveRequestController {
     
     @PostMapping("/{requestId}/cancel")
     public String cancelLeaveRequest(@PathVariable String requestId,
+                                   @CurrentUser AuthenticatedUser currentUser,
                                    RedirectAttributes redirectAttributes) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = auth.getName();
-            
-            Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-            
-            if (currentUser.isPresent()) {
-                leaveService.cancelLeaveRequest(requestId, currentUser.get().getId());
+            if (currentUser != null) {
+                leaveService.cancelLeaveRequest(requestId, currentUser.getId());
                 redirectAttributes.addFlashAttribute("successMessage", 
                     "Leave request cancelled successfully!");
             }
@@ -1,47 +1,48 @@
 package com.example.shiftcraft.web.controller;
 
 import com.example.shiftcraft.application.service.ScheduleService;
-import com.example.shiftcraft.application.service.UserService;
-import com.example.shiftcraft.persistence.entity.User;
+import com.example.shiftcraft.application.service.ShiftFillingService;
+import com.example.shiftcraft.application.service.ShiftService;
+import com.example.shiftcraft.application.solver.RosterSolution;
+import com.example.shiftcraft.persistence.entity.Assignment;
+import com.example.shiftcraft.web.security.AuthenticatedUser;
+import com.example.shiftcraft.web.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDate;
-import java.util.Optional;
+import java.util.List;
 
 @Controller
 @RequestMapping("/schedule")
 public class ScheduleController {
     
     private final ScheduleService scheduleService;
-    private final UserService userService;
+    private final ShiftService shiftService;
+    private final ShiftFillingService shiftFillingService;
     
     @Autowired
-    public ScheduleController(ScheduleService scheduleService, UserService userService) {
+    public ScheduleController(ScheduleService scheduleService, ShiftService shiftService,
+                              ShiftFillingService shiftFillingService) {
         this.scheduleService = scheduleService;
-        this.userService = userService;
+        this.shiftService = shiftService;
+        this.shiftFillingService = shiftFillingService;
     }
     
     @GetMapping
-    public String viewSchedule(@RequestParam(required = false) String date, Model model) {
+    public String viewSchedule(@RequestParam(required = false) String date,
+                               @CurrentUser AuthenticatedUser user, Model model) {
         LocalDate scheduleDate = date != null ? LocalDate.parse(date) : LocalDate.now();
         
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = auth.getName();
-        
-        Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-        
-        if (currentUser.isPresent()) {
-            User user = currentUser.get();
-            boolean isManager = userService.userHasRole(user.getId(), "MANAGER");
-            
-            if (isManager) {
+        if (user != null) {
+            if (user.isManager()) {
                 // Managers see full schedule for all users
                 ScheduleService.WeeklySchedule weeklySchedule = scheduleService.getWeeklySchedule(scheduleDate);
                 model.addAttribute("weeklySchedule", weeklySchedule);
@@ -62,7 +63,76 @@ public class ScheduleController {
     }
     
     @GetMapping("/week")
-    public String viewWeeklySchedule(@RequestParam String weekStart, Model model) {
-        return viewSchedule(weekStart, model);
+    public String viewWeeklySchedule(@RequestParam String weekStart,
+                                     @CurrentUser AuthenticatedUser user, Model model) {
+        return viewSchedule(weekStart, user, model);
+    }
+    
+    /**
+     * Solve the open slots of the draft shifts in a date range and apply the proposal
+     */
+    @PostMapping("/fill")
+    @PreAuthorize("hasRole('MANAGER')")
+    public String fillDraftShifts(@RequestParam String startDate,
+                                  @RequestParam String endDate,
+                                  @CurrentUser AuthenticatedUser user,
+                                  RedirectAttributes redirectAttributes) {
+        try {
+            RosterSolution solution = shiftFillingService.proposeAssignments(
+                LocalDate.parse(startDate), LocalDate.parse(endDate));
+            List<Assignment> created = shiftFillingService.applyProposal(solution, user.getId());
+            
+            redirectAttributes.addFlashAttribute("successMessage",
+                "Assigned " + created.size() + " of " + solution.getTotalSlots() + " open slots");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        
+        return "redirect:/schedule?date=" + startDate;
+    }
+    
+    /**
+     * Create draft instances of the active templates for a date range
+     */
+    @PostMapping("/roll-out")
+    @PreAuthorize("hasRole('MANAGER')")
+    public String rollOutTemplates(@RequestParam String startDate,
+                                   @RequestParam String endDate,
+                                   @RequestParam(required = false) String locationId,
+                                   RedirectAttributes redirectAttributes) {
+        try {
+            int created = shiftService.rollOutTemplates(LocalDate.parse(startDate), LocalDate.parse(endDate),
+                blankToNull(locationId));
+            redirectAttributes.addFlashAttribute("successMessage", "Created " + created + " draft shifts");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        
+        return "redirect:/schedule?date=" + startDate;
+    }
+    
+    /**
+     * Publish the draft shifts of a date range so staff can see them
+     */
+    @PostMapping("/publish")
+    @PreAuthorize("hasRole('MANAGER')")
+    public String publishShifts(@RequestParam String startDate,
+                                @RequestParam String endDate,
+                                @RequestParam(required = false) String locationId,
+                                @CurrentUser AuthenticatedUser user,
+                                RedirectAttributes redirectAttributes) {
+        try {
+            List<String> published = shiftService.publishShiftInstances(LocalDate.parse(startDate),
+                LocalDate.parse(endDate), blankToNull(locationId), user.getId());
+            redirectAttributes.addFlashAttribute("successMessage", "Published " + published.size() + " shifts");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        
+        return "redirect:/schedule?date=" + startDate;
+    }
+    
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,28 @@
 package com.example.shiftcraft.web.controller;
 
+import com.example.shiftcraft.application.service.PayrollExportService;
+import com.example.shiftcraft.application.service.PeriodCloseExecutor;
 import com.example.shiftcraft.application.service.TimesheetService;
 import com.example.shiftcraft.application.service.UserService;
 import com.example.shiftcraft.persistence.entity.Timesheet;
 import com.example.shiftcraft.persistence.entity.User;
+import com.example.shiftcraft.web.security.AuthenticatedUser;
+import com.example.shiftcraft.web.security.CurrentUser;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 @Controller
 @RequestMapping("/timesheets")
@@ -22,28 +30,36 @@ public class TimesheetController {
     
     private final TimesheetService timesheetService;
     private final UserService userService;
+    private final PeriodCloseExecutor periodCloseExecutor;
+    private final PayrollExportService payrollExportService;
+    private final int pageSize;
     
     @Autowired
-    public TimesheetController(TimesheetService timesheetService, UserService userService) {
+    public TimesheetController(TimesheetService timesheetService, UserService userService,
+                               PeriodCloseExecutor periodCloseExecutor,
+                               PayrollExportService payrollExportService,
+                               @Value("${app.listings.page-size:25}") int pageSize) {
         this.timesheetService = timesheetService;
         this.userService = userService;
+        this.periodCloseExecutor = periodCloseExecutor;
+        this.payrollExportService = payrollExportService;
+        this.pageSize = pageSize;
     }
     
     @GetMapping
-    public String timesheetsPage(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = auth.getName();
-        
-        Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-        
-        if (currentUser.isPresent()) {
-            User user = currentUser.get();
-            boolean isManager = userService.userHasRole(user.getId(), "MANAGER");
-            
-            if (isManager) {
-                // Managers can see all timesheets
-                List<Timesheet> allTimesheets = timesheetService.getTimesheetsByStatus(null);
-                model.addAttribute("timesheets", allTimesheets);
+    public String timesheetsPage(@CurrentUser AuthenticatedUser user,
+                                 @RequestParam(required = false) String after,
+                                 Model model) {
+        if (user != null) {
+            if (user.isManager()) {
+                // Managers can see all timesheets, one page at a time
+                Window<Timesheet> page = timesheetService.getTimesheetPage(
+                    KeysetCursor.position(after, "generatedAt"), pageSize);
+                model.addAttribute("timesheets", page.getContent());
+                model.addAttribute("nextPage", KeysetCursor.next(page, "generatedAt"));
+                model.addAttribute("firstPage", after == null || after.isBlank());
+                model.addAttribute("totalTimesheets", timesheetService.countTimesheets(null));
+                model.addAttribute("pendingTimesheets", timesheetService.countTimesheets(Timesheet.TimesheetStatus.SUBMITTED));
                 model.addAttribute("isManager", true);
                 
                 // Add staff list for generating timesheets
@@ -53,6 +69,11 @@ public class TimesheetController {
                 // Staff see only their own timesheets
                 List<Timesheet> userTimesheets = timesheetService.getUserTimesheets(user.getId());
                 model.addAttribute("timesheets", userTimesheets);
+                model.addAttribute("firstPage", true);
+                model.addAttribute("totalTimesheets", userTimesheets.size());
+                model.addAttribute("pendingTimesheets", userTimesheets.stream()
+                    .filter(timesheet -> timesheet.getStatus() == Timesheet.TimesheetStatus.SUBMITTED)
+                    .count());
                 model.addAttribute("isManager", false);
             }
             
@@ -65,22 +86,18 @@ public class TimesheetController {
     
     @PostMapping("/generate")
     public String generateTimesheet(@ModelAttribute TimesheetForm form,
+                                   @CurrentUser AuthenticatedUser currentUser,
                                    RedirectAttributes redirectAttributes) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = auth.getName();
-            
-            Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-            
-            if (currentUser.isPresent()) {
+            if (currentUser != null) {
                 String targetUserId = form.getUserId();
                 
                 // If no userId specified, use current user
                 if (targetUserId == null || targetUserId.isEmpty()) {
-                    targetUserId = currentUser.get().getId();
+                    targetUserId = currentUser.getId();
                 } else {
                     // Only managers can generate timesheets for others
-                    if (!userService.userHasRole(currentUser.get().getId(), "MANAGER")) {
+                    if (!currentUser.isManager()) {
                         redirectAttributes.addFlashAttribute("errorMessage", 
                             "Only managers can generate timesheets for other users");
                         return "redirect:/timesheets";
@@ -105,25 +122,78 @@ public class TimesheetController {
         return "redirect:/timesheets";
     }
     
+    @PostMapping("/generate-all")
+    public String generateAllTimesheets(@ModelAttribute TimesheetForm form,
+                                       @CurrentUser AuthenticatedUser currentUser,
+                                       RedirectAttributes redirectAttributes) {
+        try {
+            if (currentUser != null) {
+                if (!currentUser.isManager()) {
+                    redirectAttributes.addFlashAttribute("errorMessage", 
+                        "Only managers can generate timesheets for the whole team");
+                    return "redirect:/timesheets";
+                }
+                
+                PeriodCloseExecutor.PeriodCloseResult result = periodCloseExecutor.closePeriod(
+                    form.getPeriodStart(),
+                    form.getPeriodEnd()
+                );
+                
+                redirectAttributes.addFlashAttribute("successMessage", 
+                    "Generated " + result.getTimesheetsCreated() + " timesheets with " + 
+                    result.getEntriesCreated() + " entries" + 
+                    (result.getSkippedUsers() > 0 ? " (" + result.getSkippedUsers() + " already existed)" : ""));
+                if (!result.getFailures().isEmpty()) {
+                    redirectAttributes.addFlashAttribute("errorMessage", 
+                        "Timesheets for " + result.getFailedUsers() + " staff could not be generated: " + 
+                        result.getFailures().get(0).getMessage());
+                }
+            }
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        
+        return "redirect:/timesheets";
+    }
+    
+    @PostMapping("/reconcile")
+    public String reconcileTotals(@CurrentUser AuthenticatedUser currentUser,
+                                  RedirectAttributes redirectAttributes) {
+        try {
+            if (currentUser != null) {
+                if (!currentUser.isManager()) {
+                    redirectAttributes.addFlashAttribute("errorMessage", 
+                        "Only managers can verify timesheet totals");
+                    return "redirect:/timesheets";
+                }
+                
+                int repaired = timesheetService.reconcileTotals();
+                redirectAttributes.addFlashAttribute("successMessage", 
+                    repaired == 0 ? "All timesheet totals match their entries" 
+                                  : "Corrected totals on " + repaired + " timesheets");
+            }
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        
+        return "redirect:/timesheets";
+    }
+    
     @PostMapping("/generate-weekly")
     public String generateWeeklyTimesheet(@RequestParam String weekStart,
                                          @RequestParam(required = false) String userId,
+                                         @CurrentUser AuthenticatedUser currentUser,
                                          RedirectAttributes redirectAttributes) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = auth.getName();
-            
-            Optional<User> currentUser = userService.findByEmail(currentUserEmail);
-            
-            if (currentUser.isPresent()) {
+            if (currentUser != null) {
                 String targetUserId = userId;
                 
                 // If no userId specified, use current user
                 if (targetUserId == null || targetUserId.isEmpty()) {
-                    targetUserId = currentUser.get().getId();
+                    targetUserId = currentUser.getId();
                 } else {
                     // Only managers can generate timesheets for others
-                    if (!userService.userHasRole(currentUser.get().getId(), "MANAGER")) {
+                    if (!currentUser.isManager()) {
                         redirectAttributes.addFlashAttribute("errorMessage", 
                             "Only managers can generate timesheets for other users");
                         return "redirect:/timesheets";
@@ -164,11 +234,15 @@ public class TimesheetController {
     }
     
     @GetMapping("/export")
-    public String exportTimesheets(@RequestParam LocalDate periodStart,
-                                  @RequestParam LocalDate periodEnd,
-                                  Model model) {
-        // For CSV export functionality (could be implemented)
-        return "redirect:/timesheets";
+    @PreAuthorize("hasRole('MANAGER')")
+    public void exportTimesheets(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodStart,
+                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodEnd,
+                                 HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, 
+            "attachment; filename=\"payroll-" + periodStart + "-to-" + periodEnd + ".csv\"");
+        
+        payrollExportService.writePayrollCsv(periodStart, periodEnd, response.getOutputStream());
     }
     
     /**
@@ -0,0 +1,56 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.User;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Snapshot of the signed-in user taken at login, so controllers can read the user id
+ * and role names without going back to the database on every request. API requests
+ * rebuild it from the token claims instead.
+ */
+public final class AuthenticatedUser implements Principal, Serializable {
+    
+    private final String id;
+    private final String email;
+    private final String fullName;
+    private final User.UserStatus status;
+    private final Set<String> roleNames;
+    
+    public AuthenticatedUser(String id, String email, String fullName, User.UserStatus status, Set<String> roleNames) {
+        this.id = id;
+        this.email = email;
+        this.fullName = fullName;
+        this.status = status;
+        this.roleNames = Set.copyOf(roleNames);
+    }
+    
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getFullName(), user.getStatus(),
+            user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
+    }
+    
+    public boolean hasRole(String roleName) {
+        return roleNames.contains(roleName);
+    }
+    
+    public boolean isManager() {
+        return hasRole("MANAGER");
+    }
+    
+    @Override
+    public String getName() {
+        return email;
+    }
+    
+    // Getters
+    public String getId() { return id; }
+    public String getEmail() { return email; }
+    public String getFullName() { return fullName; }
+    public User.UserStatus getStatus() { return status; }
+    public Set<String> getRoleNames() { return roleNames; }
+}
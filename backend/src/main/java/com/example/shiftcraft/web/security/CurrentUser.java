@@ -0,0 +1,17 @@
+package com.example.shiftcraft.web.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the signed-in {@link AuthenticatedUser} into a controller method parameter.
+ * Resolves to {@code null} when the request is anonymous or the account no longer exists.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
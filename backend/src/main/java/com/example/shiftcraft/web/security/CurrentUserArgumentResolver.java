@@ -0,0 +1,67 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.application.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Optional;
+
+/**
+ * Resolves {@link CurrentUser} parameters. Sessions created by form login carry a
+ * {@link CustomUserDetailsService.CustomUserPrincipal}, which already holds the user
+ * snapshot, and API tokens carry it as the principal, so no query is needed. Any other principal falls back to one email lookup,
+ * remembered for the rest of the request.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+    
+    private static final String REQUEST_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".user";
+    
+    private final UserService userService;
+    
+    @Autowired
+    public CurrentUserArgumentResolver(UserService userService) {
+        this.userService = userService;
+    }
+    
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+            && AuthenticatedUser.class.isAssignableFrom(parameter.getParameterType());
+    }
+    
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object cached = webRequest.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return ((Optional<?>) cached).orElse(null);
+        }
+        
+        Optional<AuthenticatedUser> user = resolve(SecurityContextHolder.getContext().getAuthentication());
+        webRequest.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user.orElse(null);
+    }
+    
+    private Optional<AuthenticatedUser> resolve(Authentication auth) {
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        if (auth.getPrincipal() instanceof CustomUserDetailsService.CustomUserPrincipal principal) {
+            return Optional.of(principal.getAuthenticatedUser());
+        }
+        if (auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return userService.findByEmail(auth.getName()).map(AuthenticatedUser::of);
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.shiftcraft.web.security;
 
-import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.application.config.CacheConfig;
 import com.example.shiftcraft.persistence.entity.User;
 import com.example.shiftcraft.persistence.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,7 +20,7 @@ import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     private final UserRepository userRepository;
     
@@ -26,7 +29,12 @@ public class CustomUserDetailsService implements UserDetailsService {
         this.userRepository = userRepository;
     }
     
+    /**
+     * Cached by email; UserService evicts the entry whenever a user's status or roles change.
+     * Lookups that fail are not cached.
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS, key = "#email")
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
@@ -38,15 +46,31 @@ public class CustomUserDetailsService implements UserDetailsService {
         return new CustomUserPrincipal(user);
     }
     
+    /**
+     * Called after a successful sign-in whose stored hash is outdated (no {id} prefix or a
+     * lower BCrypt cost than configured), with the password already re-encoded
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#user.username")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByEmail(user.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + user.getUsername()));
+        entity.setPasswordHash(newPassword);
+        return new CustomUserPrincipal(userRepository.save(entity));
+    }
+    
     /**
      * Custom UserDetails implementation that wraps our User entity
      */
     public static class CustomUserPrincipal implements UserDetails {
         
         private final User user;
+        private final AuthenticatedUser authenticatedUser;
         
         public CustomUserPrincipal(User user) {
             this.user = user;
+            this.authenticatedUser = AuthenticatedUser.of(user);
         }
         
         @Override
@@ -99,10 +123,12 @@ public class CustomUserDetailsService implements UserDetailsService {
             return user.getFullName();
         }
         
+        public AuthenticatedUser getAuthenticatedUser() {
+            return authenticatedUser;
+        }
+        
         public boolean hasRole(String roleName) {
-            return user.getRoles().stream()
-                .map(Role::getName)
-                .anyMatch(roleName::equals);
+            return authenticatedUser.hasRole(roleName);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.persistence.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Issues and verifies signed API tokens. Everything a request needs about the caller
+ * (id, email, name and role names) travels in the claims, so verifying a token needs
+ * neither a session nor a database read.
+ */
+@Service
+public class JwtTokenService {
+    
+    private static final String EMAIL_CLAIM = "email";
+    private static final String NAME_CLAIM = "name";
+    private static final String ROLES_CLAIM = "roles";
+    
+    // Example values from docs and older configs; anyone can sign tokens with these
+    private static final Set<String> PLACEHOLDER_SECRETS = Set.of(
+        "replace-me-with-a-proper-secret-key-for-production", "changeme", "change-me", "secret", "your-secret-key");
+    
+    private final SecretKey key;
+    private final long expirationMs;
+    private final Clock clock;
+    
+    @Autowired
+    public JwtTokenService(@Value("${app.jwt.secret:}") String secret,
+                           @Value("${app.jwt.expiration-ms:86400000}") long expirationMs) {
+        this(secret, expirationMs, Clock.systemUTC());
+    }
+    
+    JwtTokenService(String secret, long expirationMs, Clock clock) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.jwt.secret is not set; provide a random secret through JWT_SECRET");
+        }
+        if (PLACEHOLDER_SECRETS.contains(secret.trim().toLowerCase())) {
+            throw new IllegalStateException("app.jwt.secret is a published placeholder; provide a random secret through JWT_SECRET");
+        }
+        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException("app.jwt.secret must be at least 32 bytes for HMAC-SHA256");
+        }
+        this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.expirationMs = expirationMs;
+        this.clock = clock;
+    }
+    
+    public IssuedToken issue(AuthenticatedUser user) {
+        Instant issuedAt = clock.instant();
+        Instant expiresAt = issuedAt.plusMillis(expirationMs);
+        String token = Jwts.builder()
+            .subject(user.getId())
+            .claim(EMAIL_CLAIM, user.getEmail())
+            .claim(NAME_CLAIM, user.getFullName())
+            .claim(ROLES_CLAIM, List.copyOf(user.getRoleNames()))
+            .issuedAt(Date.from(issuedAt))
+            .expiration(Date.from(expiresAt))
+            .signWith(key)
+            .compact();
+        return new IssuedToken(token, expiresAt);
+    }
+    
+    /**
+     * Verify the signature and expiry and rebuild the caller from the claims
+     */
+    public AuthenticatedUser parse(String token) {
+        Claims claims;
+        try {
+            claims = Jwts.parser()
+                .verifyWith(key)
+                .clock(() -> Date.from(clock.instant()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid API token", e);
+        }
+        
+        Set<String> roles = new HashSet<>();
+        if (claims.get(ROLES_CLAIM) instanceof List<?> values) {
+            values.forEach(value -> roles.add(String.valueOf(value)));
+        }
+        return new AuthenticatedUser(claims.getSubject(), claims.get(EMAIL_CLAIM, String.class),
+            claims.get(NAME_CLAIM, String.class), User.UserStatus.ACTIVE, roles);
+    }
+    
+    /**
+     * A signed token and the instant it stops being accepted
+     */
+    public static class IssuedToken {
+        private final String token;
+        private final Instant expiresAt;
+        
+        public IssuedToken(String token, Instant expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+        
+        // Getters
+        public String getToken() { return token; }
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+    
+    public static class InvalidTokenException extends RuntimeException {
+        public InvalidTokenException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.application.config.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the SQL statements and entity loads behind each HTTP request, tagged like
+ * {@code http.server.requests} by method and URI pattern. Registered ahead of Spring Security
+ * (see MetricsConfig) so that the lookups done while authenticating are counted too.
+ * Requests over the statement budget, and requests that run one statement shape at least the
+ * repeat threshold times (the N+1 signature), are counted and logged with the offending SQL.
+ */
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatementMetricsFilter.class);
+
+    public static final String STATEMENTS = "shiftcraft.http.statements";
+    public static final String ENTITY_LOADS = "shiftcraft.http.entity.loads";
+    public static final String BUDGET_EXCEEDED = "shiftcraft.http.statement.budget.exceeded";
+    public static final String REPEATED_STATEMENTS = "shiftcraft.http.repeated.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter statementCounter;
+    private final int statementBudget;
+    private final int repeatThreshold;
+
+    public RequestStatementMetricsFilter(MeterRegistry meterRegistry, SqlStatementCounter statementCounter,
+                                         int statementBudget, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementCounter = statementCounter;
+        this.statementBudget = statementBudget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long entityLoads = statementCounter.entityLoads();
+        try (SqlStatementCounter.Recording recording = statementCounter.startRecording()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                record(request, recording, statementCounter.entityLoads() - entityLoads);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Recording recording, long entityLoads) {
+        int statements = recording.getStatements();
+        // Only mapped handlers set the pattern; keep unmatched paths out of the tag values
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+        DistributionSummary.builder(STATEMENTS)
+            .description("SQL statements prepared per HTTP request")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .maximumExpectedValue(SqlStatementCounter.MAX_EXPECTED_COUNT)
+            .register(meterRegistry)
+            .record(statements);
+        DistributionSummary.builder(ENTITY_LOADS)
+            .description("Entities loaded per HTTP request")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .maximumExpectedValue(SqlStatementCounter.MAX_EXPECTED_COUNT)
+            .register(meterRegistry)
+            .record(entityLoads);
+
+        if (statements > statementBudget) {
+            meterRegistry.counter(BUDGET_EXCEEDED, tags).increment();
+            log.warn("{} {} issued {} SQL statements, over the budget of {}, and loaded {} entities",
+                request.getMethod(), request.getRequestURI(), statements, statementBudget, entityLoads);
+        }
+        List<Map.Entry<String, Integer>> repeated = recording.getRepeatedStatements(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter(REPEATED_STATEMENTS, tags).increment();
+            Map.Entry<String, Integer> worst = repeated.get(0);
+            log.warn("Possible N+1 in {} {}: {} statement shapes ran {}+ times, the most repeated {} times: {}",
+                request.getMethod(), request.getRequestURI(), repeated.size(), repeatThreshold,
+                worst.getValue(), worst.getKey());
+        }
+    }
+}
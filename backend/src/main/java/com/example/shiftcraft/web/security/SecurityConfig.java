@@ -1,14 +1,27 @@
 package com.example.shiftcraft.web.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -16,18 +29,89 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
     
     private final CustomUserDetailsService userDetailsService;
+    private final JwtTokenService jwtTokenService;
     
     @Autowired
-    public SecurityConfig(CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtTokenService jwtTokenService) {
         this.userDetailsService = userDetailsService;
+        this.jwtTokenService = jwtTokenService;
     }
     
+    /**
+     * New hashes are stored as {bcrypt} with the configured cost. Legacy hashes without a
+     * prefix, or with a lower cost, still verify and are rehashed on the next sign-in.
+     * The hashing queue holds a few sign-ins per hashing thread and never more than a quarter
+     * of the servlet threads, so a login storm is refused with 503 while most request threads
+     * are still free, instead of every request thread ending up parked behind the queue.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength,
+                                           @Value("${app.security.hashing.threads:0}") int threads,
+                                           @Value("${app.security.hashing.queue-per-thread:4}") int queuePerThread,
+                                           @Value("${app.security.hashing.timeout:PT10S}") Duration timeout,
+                                           @Value("${server.tomcat.threads.max:200}") int servletThreads) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = Math.min(poolSize * queuePerThread, servletThreads / 4);
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, timeout);
     }
     
+    /**
+     * Chain for the separate management server. Health checks and Prometheus scrapes carry no
+     * credentials, so that port is reachable only from the monitoring network; every other
+     * endpoint needs a manager. On the application port the actuator stays behind sign-in.
+     */
     @Bean
+    @Order(0)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(request -> WebServerApplicationContext.hasServerNamespace(
+                WebApplicationContextUtils.getWebApplicationContext(request.getServletContext()), "management"))
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
+                .anyRequest().hasRole("MANAGER")
+            )
+            .httpBasic(basic -> {})
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            .csrf(csrf -> csrf.disable())
+            .requestCache(cache -> cache.disable())
+            .userDetailsService(userDetailsService);
+            
+        return http.build();
+    }
+    
+    /**
+     * Stateless chain for the JSON API: bearer tokens only, no session, no CSRF
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/api/**")
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers(HttpMethod.POST, "/api/auth/token").permitAll()
+                .anyRequest().authenticated()
+            )
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            .csrf(csrf -> csrf.disable())
+            .requestCache(cache -> cache.disable())
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenService), UsernamePasswordAuthenticationFilter.class);
+            
+        return http.build();
+    }
+    
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .authorizeHttpRequests(authz -> authz
@@ -68,9 +152,6 @@ public class SecurityConfig {
                 .and()
                 .sessionFixation().migrateSession()
             )
-            .csrf(csrf -> csrf
-                .ignoringRequestMatchers("/api/**")
-            )
             .userDetailsService(userDetailsService);
             
         return http.build();
@@ -0,0 +1,28 @@
+-- Time-ordered UUIDv7 keys
+-- The application generates v7 ids itself (UuidV7Generator); this function gives rows inserted
+-- from SQL the same ordering. Existing v4 keys stay valid: both are plain uuid values, and only
+-- new rows append at the right-hand edge of the primary key index.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS uuid AS $$
+  -- 48-bit Unix milliseconds over the first six bytes of a random UUID, version nibble 4 -> 7
+  SELECT encode(
+    set_bit(
+      set_bit(
+        overlay(uuid_send(gen_random_uuid())
+                placing substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                FROM 1 FOR 6),
+        52, 1),
+      53, 1),
+    'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+-- Insert-heavy tables first; the rest follow so every key is generated the same way
+ALTER TABLE assignments ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE timesheet_entries ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE shift_instances ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE timesheets ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE leave_requests ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE swap_requests ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE audit_events ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+
+-- Indexes that grew fragmented under random keys can be rebuilt online once traffic has moved
+-- to v7 keys, e.g. REINDEX INDEX CONCURRENTLY assignments_pkey;
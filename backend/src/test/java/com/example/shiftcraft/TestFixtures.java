@@ -0,0 +1,37 @@
+package com.example.shiftcraft;
+
+import com.example.shiftcraft.persistence.entity.Location;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import com.example.shiftcraft.persistence.entity.User;
+
+import java.time.LocalTime;
+
+/**
+ * Unsaved entities most tests start from; callers persist them with their own EntityManager or repository
+ */
+public final class TestFixtures {
+
+    /** Placeholder bcrypt hash for users the tests never sign in as */
+    public static final String PASSWORD_HASH = "$2a$10$N.UN6inR9EGNhPpthkDcOuP6PNJz6i/Y5DUiH/rjc6ZJiX8V1z1CK";
+
+    private TestFixtures() {
+    }
+
+    public static User user(String email, String firstName, String lastName) {
+        return new User(email, PASSWORD_HASH, firstName, lastName);
+    }
+
+    public static Role staffRole() {
+        return new Role("STAFF");
+    }
+
+    public static Location location(String name) {
+        return new Location(name, "UTC");
+    }
+
+    /** 08:00 to 16:00 */
+    public static ShiftTemplate dayShift(String name, Location location, Role role) {
+        return new ShiftTemplate(name, location, role, LocalTime.of(8, 0), LocalTime.of(16, 0));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.shiftcraft.application.config;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.application.service.LeaveService;
+import com.example.shiftcraft.application.service.ScheduleService;
+import com.example.shiftcraft.application.service.ShiftService;
+import com.example.shiftcraft.persistence.entity.LeaveRequest;
+import com.example.shiftcraft.persistence.entity.User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+class ServiceMetricsTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void serviceOperation_RecordsLatencyAndStatementCount() {
+        // Arrange
+        long callsBefore = calls("ScheduleService.getWeeklySchedule");
+        double statementsBefore = statements("ScheduleService.getWeeklySchedule");
+
+        // Act
+        scheduleService.getWeeklySchedule(LocalDate.of(2024, 6, 10));
+
+        // Assert
+        assertThat(calls("ScheduleService.getWeeklySchedule")).isEqualTo(callsBefore + 1);
+        assertThat(statements("ScheduleService.getWeeklySchedule")).isGreaterThan(statementsBefore);
+    }
+
+    @Test
+    void serviceOperation_CountsEntityLoads() {
+        // Arrange
+        User user = TestFixtures.user("metrics@example.com", "Metrics", "User");
+        entityManager.persist(user);
+        entityManager.persist(new LeaveRequest(user, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 2),
+            LeaveRequest.LeaveType.VACATION, "Holiday"));
+        entityManager.flush();
+        entityManager.clear();
+        double loadsBefore = entityLoads("LeaveService.getLeaveRequestsByStatus");
+
+        // Act
+        leaveService.getLeaveRequestsByStatus(LeaveRequest.LeaveStatus.PENDING);
+
+        // Assert
+        assertThat(entityLoads("LeaveService.getLeaveRequestsByStatus")).isGreaterThanOrEqualTo(loadsBefore + 1);
+    }
+
+    @Test
+    void failingOperation_IsTaggedWithErrorOutcome() {
+        // Act
+        assertThatThrownBy(() -> shiftService.cancelAssignment(UUID.randomUUID(), "Sick"))
+            .isInstanceOf(RuntimeException.class);
+
+        // Assert
+        assertThat(meterRegistry.get(ServiceMetricsAspect.TIMER)
+            .tags("operation", "ShiftService.cancelAssignment", "outcome", "error", "exception", "RuntimeException")
+            .timer().count()).isPositive();
+    }
+
+    private long calls(String operation) {
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.TIMER)
+            .tags("operation", operation, "outcome", "success").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double statements(String operation) {
+        DistributionSummary summary = meterRegistry.find(ServiceMetricsAspect.STATEMENTS)
+            .tags("operation", operation, "outcome", "success").summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private double entityLoads(String operation) {
+        DistributionSummary summary = meterRegistry.find(ServiceMetricsAspect.ENTITY_LOADS)
+            .tags("operation", operation, "outcome", "success").summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
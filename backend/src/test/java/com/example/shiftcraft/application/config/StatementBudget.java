@@ -0,0 +1,25 @@
+package com.example.shiftcraft.application.config;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a Spring test whose body prepares more SQL statements than declared, or runs one
+ * statement shape more often than allowed (the N+1 signature). Setup in @BeforeEach is not
+ * counted. Slice tests need SqlStatementCounter imported, e.g. {@code @Import(SqlStatementCounter.class)}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface StatementBudget {
+
+    /** Most statements the test body may prepare */
+    int statements();
+
+    /** Most times any single statement shape may run */
+    int repeats() default Integer.MAX_VALUE;
+}
@@ -0,0 +1,59 @@
+package com.example.shiftcraft.application.config;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Records the statements of each test body annotated with {@link StatementBudget} and fails the
+ * test when it goes over, listing the most repeated statement shapes.
+ */
+class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(StatementBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatementCounter counter = SpringExtension.getApplicationContext(context)
+            .getBeanProvider(SqlStatementCounter.class)
+            .getIfAvailable(() -> {
+                throw new IllegalStateException("@StatementBudget needs a SqlStatementCounter bean; import it in slice tests");
+            });
+        context.getStore(NAMESPACE).put(context.getUniqueId(), counter.startRecording());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatementCounter.Recording recording =
+            context.getStore(NAMESPACE).remove(context.getUniqueId(), SqlStatementCounter.Recording.class);
+        recording.close();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        StatementBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), StatementBudget.class)
+            .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), StatementBudget.class))
+            .orElseThrow();
+        if (recording.getStatements() > budget.statements() || recording.getMaxRepeats() > budget.repeats()) {
+            throw new AssertionError(String.format("%s prepared %d SQL statements (budget %d), one shape up to %d times (budget %d):%n%s",
+                context.getDisplayName(), recording.getStatements(), budget.statements(),
+                recording.getMaxRepeats(), budget.repeats(), describe(recording.getRepeatedStatements(2))));
+        }
+    }
+
+    private static String describe(List<Map.Entry<String, Integer>> repeated) {
+        if (repeated.isEmpty()) {
+            return "  no statement shape repeated";
+        }
+        return repeated.stream()
+            .limit(5)
+            .map(shape -> "  " + shape.getValue() + "x " + shape.getKey().replaceAll("\\s+", " "))
+            .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
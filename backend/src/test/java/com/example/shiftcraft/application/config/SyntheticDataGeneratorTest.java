@@ -0,0 +1,87 @@
+package com.example.shiftcraft.application.config;
+
+import com.example.shiftcraft.persistence.entity.Assignment;
+import com.example.shiftcraft.persistence.entity.LeaveRequest;
+import com.example.shiftcraft.persistence.repository.AssignmentRepository;
+import com.example.shiftcraft.persistence.repository.LeaveRequestRepository;
+import com.example.shiftcraft.persistence.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class SyntheticDataGeneratorTest {
+
+    private static final int LOCATIONS = 2;
+    private static final int STAFF_PER_LOCATION = 20;
+    private static final int WEEKS = 3;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void generate_LoadsNetworkThatRepositoriesCanQuery() {
+        // Arrange
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbcTemplate, new BCryptPasswordEncoder(4),
+            LOCATIONS, STAFF_PER_LOCATION, WEEKS, 7L, 100);
+        LocalDate today = LocalDate.of(2024, 6, 12); // Wednesday
+        LocalDate currentWeek = LocalDate.of(2024, 6, 10);
+
+        // Act
+        SyntheticDataGenerator.GenerationResult result = generator.generate(today);
+
+        // Assert - five templates a day per clinic, three staff on each published one
+        int publishedShifts = WEEKS * 7 * LOCATIONS * 5;
+        assertThat(result.getRows())
+            .containsEntry("users", 1 + LOCATIONS + LOCATIONS * STAFF_PER_LOCATION)
+            .containsEntry("shift_instances", publishedShifts + 7 * LOCATIONS * 5)
+            .containsEntry("assignments", publishedShifts * 3);
+        assertThat(result.getTotalRows()).isEqualTo(jdbcTemplate.queryForObject(
+            "SELECT (SELECT COUNT(*) FROM users) + (SELECT COUNT(*) FROM user_roles) + (SELECT COUNT(*) FROM roles)" +
+            " + (SELECT COUNT(*) FROM skills) + (SELECT COUNT(*) FROM user_skills) + (SELECT COUNT(*) FROM locations)" +
+            " + (SELECT COUNT(*) FROM shift_templates) + (SELECT COUNT(*) FROM template_skill_requirements)" +
+            " + (SELECT COUNT(*) FROM shift_instances) + (SELECT COUNT(*) FROM assignments)" +
+            " + (SELECT COUNT(*) FROM leave_requests) + (SELECT COUNT(*) FROM timesheets)" +
+            " + (SELECT COUNT(*) FROM timesheet_entries)", Integer.class));
+
+        assertThat(userRepository.findByEmail(SyntheticDataGenerator.MANAGER_EMAIL))
+            .hasValueSatisfying(manager -> assertThat(manager.getRoles())
+                .extracting(role -> role.getName()).containsExactly("MANAGER"));
+
+        List<Assignment> thisWeek = assignmentRepository.findActiveAssignmentsInPeriod(currentWeek, currentWeek.plusDays(6));
+        assertThat(thisWeek).hasSize(7 * LOCATIONS * 5 * 3);
+        assertThat(assignmentRepository.findActiveAssignmentsInPeriod(currentWeek.plusDays(7), currentWeek.plusDays(13)))
+            .isEmpty();
+
+        // Nobody is double-booked, and timesheet totals match their entries
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT a.user_id FROM assignments a " +
+            "JOIN shift_instances si ON si.id = a.shift_instance_id GROUP BY a.user_id, si.shift_date HAVING COUNT(*) > 1) d",
+            Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM timesheets t WHERE t.total_minutes <> " +
+            "(SELECT SUM(e.worked_minutes) FROM timesheet_entries e WHERE e.timesheet_id = t.id)", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM timesheets WHERE status = 'SUBMITTED'", Integer.class))
+            .isPositive();
+
+        assertThat(leaveRequestRepository.findAll()).isNotEmpty()
+            .filteredOn(leave -> leave.getStatus() == LeaveRequest.LeaveStatus.PENDING)
+            .allSatisfy(leave -> assertThat(leave.getStartDate()).isAfter(today));
+    }
+}
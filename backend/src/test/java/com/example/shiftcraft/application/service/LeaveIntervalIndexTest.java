@@ -0,0 +1,247 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.persistence.entity.LeaveRequest;
+import com.example.shiftcraft.persistence.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaveIntervalIndexTest {
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private MutableClock clock;
+    private LeaveIntervalIndex index;
+
+    private final LocalDate june1 = LocalDate.of(2024, 6, 1);
+
+    private final LeaveRequestRepository.LeaveVersion unchanged = version(1, LocalDateTime.of(2024, 5, 20, 9, 0));
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        index = new LeaveIntervalIndex(leaveRequestRepository, Duration.ofSeconds(30), clock);
+        lenient().when(leaveRequestRepository.findActiveLeaveVersionForUser("user1")).thenReturn(unchanged);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void hasLeave_DistinguishesPendingFromApproved() {
+        // Arrange
+        when(leaveRequestRepository.findActiveLeaveRangesForUser("user1")).thenReturn(List.of(
+            range(june1, june1.plusDays(4), LeaveRequest.LeaveStatus.APPROVED),
+            range(june1.plusDays(20), june1.plusDays(22), LeaveRequest.LeaveStatus.PENDING)));
+        when(leaveRequestRepository.existsApprovedLeaveForUserInPeriod("user1", june1.plusDays(4), june1.plusDays(10)))
+            .thenReturn(true);
+        when(leaveRequestRepository.existsActiveLeaveForUserInPeriod("user1", june1.plusDays(5), june1.plusDays(21)))
+            .thenReturn(true);
+
+        // Act & Assert
+        assertThat(index.hasApprovedLeave("user1", june1.plusDays(4), june1.plusDays(10))).isTrue();
+        assertThat(index.hasApprovedLeave("user1", june1.plusDays(5), june1.plusDays(21))).isFalse();
+        assertThat(index.hasActiveLeave("user1", june1.plusDays(5), june1.plusDays(21))).isTrue();
+        assertThat(index.hasActiveLeave("user1", june1.plusDays(23), june1.plusDays(30))).isFalse();
+        assertThat(index.hasActiveLeave("user1", june1.minusDays(3), june1.minusDays(1))).isFalse();
+
+        verify(leaveRequestRepository, times(1)).findActiveLeaveRangesForUser("user1");
+    }
+
+    @Test
+    void hit_ContradictedByDatabase_ReturnsFalseAndReloads() {
+        // Arrange - another instance rejected the leave after it was loaded
+        when(leaveRequestRepository.findActiveLeaveRangesForUser("user1"))
+            .thenReturn(List.of(range(june1, june1.plusDays(2), LeaveRequest.LeaveStatus.APPROVED)))
+            .thenReturn(List.of());
+        when(leaveRequestRepository.existsApprovedLeaveForUserInPeriod("user1", june1, june1)).thenReturn(false);
+
+        // Act & Assert
+        assertThat(index.hasApprovedLeave("user1", june1, june1)).isFalse();
+        assertThat(index.hasApprovedLeave("user1", june1, june1)).isFalse();
+        verify(leaveRequestRepository, times(2)).findActiveLeaveRangesForUser("user1");
+        verify(leaveRequestRepository, times(1)).existsApprovedLeaveForUserInPeriod("user1", june1, june1);
+    }
+
+    @Test
+    void invalidate_DuringLoad_IsNotOverwrittenByTheLoadedEntry() throws Exception {
+        // Arrange - the first load reads leave that is cancelled while the load is in flight
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(leaveRequestRepository.findActiveLeaveRangesForUser("user1"))
+            .thenAnswer(invocation -> {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return List.of(range(june1, june1, LeaveRequest.LeaveStatus.APPROVED));
+            })
+            .thenReturn(List.of());
+        when(leaveRequestRepository.existsApprovedLeaveForUserInPeriod("user1", june1, june1)).thenReturn(true);
+        Thread reader = new Thread(() -> index.hasApprovedLeave("user1", june1, june1));
+        reader.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act - invalidate while the reader is still loading
+        Thread writer = new Thread(() -> index.invalidate("user1"));
+        writer.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getState() != Thread.State.BLOCKED && writer.isAlive() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        reader.join(5_000);
+        writer.join(5_000);
+
+        // Assert - the stale entry did not survive the invalidation
+        assertThat(index.hasApprovedLeave("user1", june1, june1)).isFalse();
+        verify(leaveRequestRepository, times(2)).findActiveLeaveRangesForUser("user1");
+    }
+
+    @Test
+    void intervalSet_MatchesLinearScan() {
+        Random random = new Random(42);
+        List<long[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            long start = random.nextInt(1000);
+            intervals.add(new long[] {start, start + random.nextInt(i % 10 == 0 ? 120 : 6)});
+        }
+        LeaveIntervalIndex.IntervalSet set = LeaveIntervalIndex.IntervalSet.of(intervals);
+
+        for (int q = 0; q < 5000; q++) {
+            long from = random.nextInt(1100) - 50;
+            long to = from + random.nextInt(10);
+            boolean expected = intervals.stream().anyMatch(iv -> iv[0] <= to && iv[1] >= from);
+            assertThat(set.overlaps(from, to)).as("[%d, %d]", from, to).isEqualTo(expected);
+        }
+        assertThat(set.size()).isEqualTo(200);
+        assertThat(LeaveIntervalIndex.IntervalSet.of(List.of()).overlaps(0, 100)).isFalse();
+    }
+
+    @Test
+    void invalidate_EvictsAfterTransactionCompletes() {
+        // Arrange
+        when(leaveRequestRepository.findActiveLeaveRangesForUser("user1"))
+            .thenReturn(List.of())
+            .thenReturn(List.of(range(june1, june1, LeaveRequest.LeaveStatus.APPROVED)));
+        assertThat(index.hasApprovedLeave("user1", june1, june1)).isFalse();
+
+        // Act - still cached until the transaction completes
+        TransactionSynchronizationManager.initSynchronization();
+        index.invalidate("user1");
+        assertThat(index.hasApprovedLeave("user1", june1, june1)).isFalse();
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        // Assert
+        when(leaveRequestRepository.existsApprovedLeaveForUserInPeriod("user1", june1, june1)).thenReturn(true);
+        assertThat(index.hasApprovedLeave("user1", june1, june1)).isTrue();
+        verify(leaveRequestRepository, times(2)).findActiveLeaveRangesForUser("user1");
+    }
+
+    @Test
+    void miss_AfterLeaveApprovedOnAnotherInstance_ReloadsAtOnce() {
+        // Arrange - another instance approves leave after the first load
+        when(leaveRequestRepository.findActiveLeaveRangesForUser("user1"))
+            .thenReturn(List.of())
+            .thenReturn(List.of(range(june1, june1.plusDays(2), LeaveRequest.LeaveStatus.APPROVED)));
+        LeaveRequestRepository.LeaveVersion approvedElsewhere = version(2, LocalDateTime.of(2024, 6, 1, 8, 0));
+        when(leaveRequestRepository.findActiveLeaveVersionForUser("user1"))
+            .thenReturn(unchanged, unchanged, approvedElsewhere);
+        when(leaveRequestRepository.existsApprovedLeaveForUserInPeriod("user1", june1, june1)).thenReturn(true);
+
+        // Act & Assert - well within the ttl
+        assertThat(index.hasApprovedLeave("user1", june1, june1)).isFalse();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(index.hasApprovedLeave("user1", june1, june1)).isTrue();
+        verify(leaveRequestRepository, times(2)).findActiveLeaveRangesForUser("user1");
+    }
+
+    @Test
+    void miss_VersionUnchanged_AnsweredFromIndex() {
+        // Arrange
+        when(leaveRequestRepository.findActiveLeaveRangesForUser("user1"))
+            .thenReturn(List.of(range(june1, june1.plusDays(2), LeaveRequest.LeaveStatus.APPROVED)));
+
+        // Act & Assert
+        assertThat(index.hasApprovedLeave("user1", june1.plusDays(10), june1.plusDays(12))).isFalse();
+        assertThat(index.hasActiveLeave("user1", june1.minusDays(5), june1.minusDays(1))).isFalse();
+        verify(leaveRequestRepository, times(1)).findActiveLeaveRangesForUser("user1");
+        verify(leaveRequestRepository, never()).existsApprovedLeaveForUserInPeriod(any(), any(), any());
+    }
+
+    @Test
+    void entries_ExpireAfterTtl() {
+        // Arrange
+        when(leaveRequestRepository.findActiveLeaveRangesForUser("user1")).thenReturn(List.of());
+
+        // Act
+        index.hasApprovedLeave("user1", june1, june1);
+        clock.advance(Duration.ofSeconds(29));
+        index.hasApprovedLeave("user1", june1, june1);
+        clock.advance(Duration.ofSeconds(1));
+        index.hasApprovedLeave("user1", june1, june1);
+
+        // Assert
+        verify(leaveRequestRepository, times(2)).findActiveLeaveRangesForUser("user1");
+    }
+
+    private LeaveRequestRepository.UserLeaveRange range(LocalDate start, LocalDate end, LeaveRequest.LeaveStatus status) {
+        return new LeaveRequestRepository.UserLeaveRange() {
+            public String getUserId() { return "user1"; }
+            public LocalDate getStartDate() { return start; }
+            public LocalDate getEndDate() { return end; }
+            public LeaveRequest.LeaveStatus getStatus() { return status; }
+        };
+    }
+
+    private LeaveRequestRepository.LeaveVersion version(long activeCount, LocalDateTime lastChange) {
+        return new LeaveRequestRepository.LeaveVersion() {
+            public long getActiveCount() { return activeCount; }
+            public LocalDateTime getLastChange() { return lastChange; }
+        };
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-06-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() { return ZoneOffset.UTC; }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) { return this; }
+
+        @Override
+        public Instant instant() { return now; }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(PayrollExportService.class)
+class PayrollExportServiceTest {
+
+    private static final int STAFF = 30;
+    private static final int DAYS = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PayrollExportService payrollExportService;
+
+    private final LocalDate periodStart = LocalDate.of(2024, 6, 3);
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < STAFF; i++) {
+            User user = TestFixtures.user("staff" + i + "@example.com", "Staff", String.format("Member%02d", i));
+            entityManager.persist(user);
+
+            Timesheet timesheet = new Timesheet(user, periodStart, periodStart.plusDays(DAYS - 1));
+            if (i == 0) {
+                timesheet.setStatus(Timesheet.TimesheetStatus.APPROVED);
+            }
+            entityManager.persist(timesheet);
+
+            // One extra day outside the exported period
+            for (int day = 0; day <= DAYS; day++) {
+                TimesheetEntry entry = new TimesheetEntry(timesheet, periodStart.plusDays(day),
+                    LocalTime.of(9, 0), LocalTime.of(17, 0));
+                entry.setBreakMinutes(30);
+                entry.setDescription(i == 0 && day == 0 ? "Covered reception, \"front desk\"" : "Shift");
+                entityManager.persist(entry);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void writePayrollCsv_WritesOneRowPerEntryInPeriod() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = payrollExportService.writePayrollCsv(periodStart, periodStart.plusDays(DAYS - 1), out);
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo((long) STAFF * DAYS);
+        assertThat(lines).hasSize(STAFF * DAYS + 1);
+        assertThat(lines.get(0)).isEqualTo(PayrollExportService.CSV_HEADER);
+        assertThat(lines.get(1))
+            .startsWith("staff0@example.com,Staff,Member00,")
+            .contains(",APPROVED,2024-06-03,09:00,17:00,30,450,7.50,SHIFT,")
+            .endsWith(",\"Covered reception, \"\"front desk\"\"\"");
+        assertThat(lines.get(lines.size() - 1)).startsWith("staff" + (STAFF - 1) + "@example.com,");
+    }
+
+    @Test
+    void writePayrollCsv_EmptyPeriod_WritesHeaderOnly() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = payrollExportService.writePayrollCsv(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31), out);
+
+        assertThat(rows).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(PayrollExportService.CSV_HEADER + "\n");
+    }
+
+    @Test
+    void writePayrollCsv_PeriodStartAfterEnd_ThrowsException() {
+        assertThatThrownBy(() ->
+            payrollExportService.writePayrollCsv(periodStart.plusDays(1), periodStart, new ByteArrayOutputStream()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Period start must be before period end");
+    }
+
+    @Test
+    void csv_QuotesDelimitersAndNeutralisesFormulas() {
+        assertThat(PayrollExportService.csv(null)).isEmpty();
+        assertThat(PayrollExportService.csv("plain")).isEqualTo("plain");
+        assertThat(PayrollExportService.csv("a,b")).isEqualTo("\"a,b\"");
+        assertThat(PayrollExportService.csv("line\nbreak")).isEqualTo("\"line\nbreak\"");
+        assertThat(PayrollExportService.csv("=SUM(A1:A9)")).isEqualTo("'=SUM(A1:A9)");
+        assertThat(PayrollExportService.csv("\t=SUM(A1:A9)")).isEqualTo("'\t=SUM(A1:A9)");
+        assertThat(PayrollExportService.csv("\r=SUM(A1:A9)")).isEqualTo("\"'\r=SUM(A1:A9)\"");
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.persistence.repository.AssignmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PeriodCloseExecutorTest {
+
+    @Mock
+    private TimesheetService timesheetService;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDate periodStart = LocalDate.of(2024, 6, 1);
+    private final LocalDate periodEnd = LocalDate.of(2024, 6, 30);
+    private final List<String> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            userIds.add("user" + i);
+        }
+        lenient().when(assignmentRepository.findBillableUserIdsInPeriod(periodStart, periodEnd)).thenReturn(userIds);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    void closePeriod_RunsEachPartitionInItsOwnTransaction() {
+        // Arrange
+        when(timesheetService.generateTimesheetsForUsers(anyCollection(), eq(periodStart), eq(periodEnd)))
+            .thenAnswer(invocation -> {
+                Collection<String> partition = invocation.getArgument(0);
+                return new TimesheetService.BulkGenerationResult(periodStart, periodEnd,
+                    partition.size(), partition.size() * 5, 0);
+            });
+        PeriodCloseExecutor executor = new PeriodCloseExecutor(
+            timesheetService, assignmentRepository, transactionManager, 4, 2);
+
+        // Act
+        PeriodCloseExecutor.PeriodCloseResult result = executor.closePeriod(periodStart, periodEnd);
+
+        // Assert
+        assertThat(result.getPartitions()).isEqualTo(3);
+        assertThat(result.getTimesheetsCreated()).isEqualTo(10);
+        assertThat(result.getEntriesCreated()).isEqualTo(50);
+        assertThat(result.getFailures()).isEmpty();
+
+        verify(timesheetService).generateTimesheetsForUsers(userIds.subList(0, 4), periodStart, periodEnd);
+        verify(timesheetService).generateTimesheetsForUsers(userIds.subList(8, 10), periodStart, periodEnd);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void closePeriod_FailedPartition_DoesNotAffectOthers() {
+        // Arrange
+        when(timesheetService.generateTimesheetsForUsers(anyCollection(), eq(periodStart), eq(periodEnd)))
+            .thenAnswer(invocation -> {
+                Collection<String> partition = invocation.getArgument(0);
+                if (partition.contains("user5")) {
+                    throw new IllegalStateException("Deadlock detected");
+                }
+                return new TimesheetService.BulkGenerationResult(periodStart, periodEnd, partition.size(), 0, 0);
+            });
+        PeriodCloseExecutor executor = new PeriodCloseExecutor(
+            timesheetService, assignmentRepository, transactionManager, 4, 2);
+
+        // Act
+        PeriodCloseExecutor.PeriodCloseResult result = executor.closePeriod(periodStart, periodEnd);
+
+        // Assert
+        assertThat(result.getTimesheetsCreated()).isEqualTo(6);
+        assertThat(result.getFailures()).hasSize(1);
+        assertThat(result.getFailures().get(0).getPartitionIndex()).isEqualTo(1);
+        assertThat(result.getFailures().get(0).getUserIds()).containsExactly("user4", "user5", "user6", "user7");
+        assertThat(result.getFailures().get(0).getMessage()).isEqualTo("Deadlock detected");
+        assertThat(result.getFailedUsers()).isEqualTo(4);
+
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void closePeriod_BoundsConcurrentPartitions() {
+        // Arrange
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(timesheetService.generateTimesheetsForUsers(anyCollection(), eq(periodStart), eq(periodEnd)))
+            .thenAnswer(invocation -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return new TimesheetService.BulkGenerationResult(periodStart, periodEnd, 1, 0, 0);
+            });
+        PeriodCloseExecutor executor = new PeriodCloseExecutor(
+            timesheetService, assignmentRepository, transactionManager, 1, 3);
+
+        // Act
+        PeriodCloseExecutor.PeriodCloseResult result = executor.closePeriod(periodStart, periodEnd);
+
+        // Assert
+        assertThat(result.getPartitions()).isEqualTo(10);
+        assertThat(result.getTimesheetsCreated()).isEqualTo(10);
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void closePeriod_PeriodStartAfterEnd_ThrowsException() {
+        PeriodCloseExecutor executor = new PeriodCloseExecutor(
+            timesheetService, assignmentRepository, transactionManager, 4, 2);
+
+        assertThatThrownBy(() -> executor.closePeriod(periodEnd, periodStart))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Period start must be before period end");
+    }
+}
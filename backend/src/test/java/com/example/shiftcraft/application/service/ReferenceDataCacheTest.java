@@ -0,0 +1,145 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.Location;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import com.example.shiftcraft.persistence.repository.LocationRepository;
+import com.example.shiftcraft.persistence.repository.RoleRepository;
+import com.example.shiftcraft.persistence.repository.ShiftTemplateRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reference data comes from Hibernate's second-level and query caches. Not transactional on
+ * purpose: cache entries written in a transaction are only visible to others once it commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private ShiftTemplateRepository shiftTemplateRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Location location;
+    private Role role;
+    private ShiftTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        clearCaches();
+        location = locationRepository.save(TestFixtures.location("Cache Clinic"));
+        role = roleRepository.save(new Role("CACHE_NURSE"));
+        template = shiftService.createShiftTemplate("Cached Early", location.getId(), role.getId(),
+            LocalTime.of(7, 0), LocalTime.of(15, 0), 30);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        shiftTemplateRepository.deleteAll(shiftTemplateRepository.findByLocationId(location.getId()));
+        locationRepository.deleteById(location.getId());
+        roleRepository.deleteById(role.getId());
+        clearCaches();
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void templatesPage_RepeatedLoads_ServeReferenceDataFromCache() throws Exception {
+        mockMvc.perform(get("/templates")).andExpect(status().isOk());
+        long firstLoadStatements = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/templates")).andExpect(status().isOk());
+        }
+
+        // Templates with their location and role, locations, roles: one query each
+        assertThat(firstLoadStatements).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(firstLoadStatements);
+    }
+
+    @Test
+    void cachedTemplates_EachCallGetsItsOwnInstances() {
+        ShiftTemplate first = findTemplate(shiftService.getAllShiftTemplates());
+        first.setName("Changed by one caller");
+
+        ShiftTemplate second = findTemplate(shiftService.getAllShiftTemplates());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("Cached Early");
+        assertThat(second.getLocation().getName()).isEqualTo("Cache Clinic");
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deactivateShiftTemplate_InvalidatesCachedTemplateQueries() {
+        assertThat(shiftService.getActiveShiftTemplates()).extracting(ShiftTemplate::getId).contains(template.getId());
+        assertThat(shiftService.getAllShiftTemplates()).extracting(ShiftTemplate::getId).contains(template.getId());
+
+        shiftService.deactivateShiftTemplate(template.getId());
+
+        assertThat(shiftService.getActiveShiftTemplates()).extracting(ShiftTemplate::getId)
+            .doesNotContain(template.getId());
+        assertThat(shiftService.getAllShiftTemplates())
+            .filteredOn(cached -> cached.getId().equals(template.getId()))
+            .singleElement()
+            .satisfies(cached -> assertThat(cached.getIsActive()).isFalse());
+    }
+
+    @Test
+    void updateShiftTemplate_InvalidatesSoNewNameIsServed() {
+        shiftService.getAllShiftTemplates();
+
+        shiftService.updateShiftTemplate(template.getId(), "Cached Late", "Renamed");
+
+        assertThat(shiftService.getAllShiftTemplates()).extracting(ShiftTemplate::getName)
+            .contains("Cached Late")
+            .doesNotContain("Cached Early");
+    }
+
+    private ShiftTemplate findTemplate(List<ShiftTemplate> templates) {
+        return templates.stream().filter(cached -> cached.getId().equals(template.getId())).findFirst().orElseThrow();
+    }
+
+    private void clearCaches() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
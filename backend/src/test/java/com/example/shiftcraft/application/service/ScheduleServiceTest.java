@@ -0,0 +1,159 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.*;
+import com.example.shiftcraft.persistence.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleServiceTest {
+
+    @Mock
+    private ShiftInstanceRepository shiftInstanceRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @InjectMocks
+    private ScheduleService scheduleService;
+
+    private final LocalDate weekStart = LocalDate.of(2024, 6, 10); // Monday
+    private ShiftTemplate dayShift;
+    private ShiftTemplate nightShift;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        Location location = TestFixtures.location("Main Clinic");
+        Role staffRole = TestFixtures.staffRole();
+
+        dayShift = TestFixtures.dayShift("Day Shift", location, staffRole);
+        nightShift = new ShiftTemplate("Night Shift", location, staffRole, LocalTime.of(20, 0), LocalTime.of(4, 0));
+
+        alice = new User("alice@example.com", "hash", "Alice", "Zimmer");
+        alice.setId("alice");
+        bob = new User("bob@example.com", "hash", "Bob", "Adams");
+        bob.setId("bob");
+    }
+
+    @Test
+    void getWeeklySchedule_PivotsAssignmentsIntoUserByDayGrid() {
+        // Arrange
+        List<Assignment> assignments = Arrays.asList(
+            assignment(alice, dayShift, weekStart),
+            assignment(bob, dayShift, weekStart.plusDays(2)),
+            assignment(alice, nightShift, weekStart.plusDays(6)),
+            assignment(alice, dayShift, weekStart.plusDays(6))
+        );
+        when(assignmentRepository.findActiveAssignmentsInPeriod(weekStart, weekStart.plusDays(6)))
+            .thenReturn(assignments);
+        when(shiftInstanceRepository.findPublishedShiftsInPeriod(weekStart, weekStart.plusDays(6)))
+            .thenReturn(Collections.emptyList());
+        when(leaveRequestRepository.findApprovedLeaveInPeriod(weekStart, weekStart.plusDays(6)))
+            .thenReturn(Collections.emptyList());
+
+        // Act - any date in the week resolves to the same Monday
+        ScheduleService.WeeklySchedule schedule = scheduleService.getWeeklySchedule(weekStart.plusDays(3));
+        ScheduleService.WeeklyScheduleGrid grid = schedule.getGrid();
+
+        // Assert
+        assertThat(grid.getWeekStart()).isEqualTo(weekStart);
+        assertThat(grid.getRows()).extracting(row -> row.getUser().getId())
+            .containsExactly("bob", "alice");
+
+        ScheduleService.GridRow bobRow = grid.getRows().get(0);
+        assertThat(bobRow.getDays()).hasSize(7);
+        assertThat(bobRow.getDays().get(2)).containsExactly(assignments.get(1));
+        assertThat(bobRow.getDays().get(0)).isEmpty();
+
+        ScheduleService.GridRow aliceRow = grid.getRows().get(1);
+        assertThat(aliceRow.getDays().get(0)).containsExactly(assignments.get(0));
+        assertThat(aliceRow.getDays().get(6)).containsExactly(assignments.get(2), assignments.get(3));
+    }
+
+    @Test
+    void weeklyScheduleGrid_IgnoresAssignmentsOutsideTheWeek() {
+        // Arrange
+        List<Assignment> assignments = Arrays.asList(
+            assignment(alice, dayShift, weekStart.minusDays(1)),
+            assignment(alice, dayShift, weekStart.plusDays(7))
+        );
+
+        // Act
+        ScheduleService.WeeklyScheduleGrid grid = ScheduleService.WeeklyScheduleGrid.of(weekStart, assignments);
+
+        // Assert
+        assertThat(grid.getRows()).isEmpty();
+    }
+
+    @Test
+    void weeklyScheduleGrid_LargeRoster_BuildsOneRowPerUser() {
+        // Arrange - 600 staff across 7 days
+        List<Assignment> assignments = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            User user = new User("staff" + i + "@example.com", "hash", "Staff", "Member" + i);
+            user.setId("user" + i);
+            for (int day = 0; day < 7; day += 1 + i % 2) {
+                assignments.add(assignment(user, i % 3 == 0 ? nightShift : dayShift, weekStart.plusDays(day)));
+            }
+        }
+
+        // Act
+        ScheduleService.WeeklyScheduleGrid grid = ScheduleService.WeeklyScheduleGrid.of(weekStart, assignments);
+
+        // Assert
+        assertThat(grid.getRows()).hasSize(600);
+        assertThat(grid.getRows().stream()
+            .flatMap(row -> row.getDays().stream())
+            .mapToInt(List::size)
+            .sum()).isEqualTo(assignments.size());
+    }
+
+    @Test
+    void scheduleConflict_KeepsOnlyDoubleBookedDays() {
+        // Arrange
+        List<Assignment> assignments = Arrays.asList(
+            assignment(alice, dayShift, weekStart),
+            assignment(alice, dayShift, weekStart.plusDays(1)),
+            assignment(alice, nightShift, weekStart.plusDays(1))
+        );
+
+        // Act
+        List<ScheduleService.ScheduleConflict> conflicts = ScheduleService.ScheduleConflict.of("alice", assignments);
+
+        // Assert
+        assertThat(conflicts).singleElement().satisfies(conflict -> {
+            assertThat(conflict.getDate()).isEqualTo(weekStart.plusDays(1));
+            assertThat(conflict.getConflictingAssignments()).containsExactly(assignments.get(1), assignments.get(2));
+        });
+    }
+
+    private Assignment assignment(User user, ShiftTemplate template, LocalDate date) {
+        return new Assignment(new ShiftInstance(template, date), user, "manager");
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts with a cold and then a warm Hibernate second-level cache. Not transactional
+ * on purpose: entries written in a transaction only become visible to others once it commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheStatementCountTest {
+
+    private static final int STAFF = 20;
+    private static final int LOCATIONS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LocalDate weekStart = LocalDate.of(2031, 3, 3);
+    private final List<Object> created = new ArrayList<>();
+    private Statistics statistics;
+    private ShiftTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Role role = persist(new Role("L2_NURSE"));
+            Skill skill = persist(new Skill("L2 Triage"));
+            List<ShiftTemplate> templates = new ArrayList<>();
+            for (int l = 0; l < LOCATIONS; l++) {
+                Location location = persist(TestFixtures.location("L2 Clinic " + l));
+                ShiftTemplate shiftTemplate = TestFixtures.dayShift("L2 Day " + l, location, role);
+                shiftTemplate.setRequiredSkills(Set.of(skill));
+                templates.add(persist(shiftTemplate));
+            }
+            template = templates.get(0);
+
+            List<ShiftInstance> shifts = new ArrayList<>();
+            for (ShiftTemplate shiftTemplate : templates) {
+                ShiftInstance shift = new ShiftInstance(shiftTemplate, weekStart);
+                shift.setStatus(ShiftInstance.ShiftStatus.PUBLISHED);
+                shifts.add(persist(shift));
+            }
+            for (int i = 0; i < STAFF; i++) {
+                User user = TestFixtures.user("l2-staff" + i + "@example.com", "Staff", "Member" + i);
+                user.setRoles(Set.of(role));
+                persist(user);
+                persist(new Assignment(shifts.get(i % LOCATIONS), user, "manager"));
+            }
+        });
+
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Reverse creation order so that children go before their parents
+            for (int i = created.size() - 1; i >= 0; i--) {
+                Object entity = created.get(i);
+                Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+                entityManager.remove(entityManager.find(entity.getClass(), id));
+            }
+        });
+    }
+
+    @Test
+    void getWeeklySchedule_ColdOrWarmCache_KeepsItsFetchPlan() {
+        long cold = statementsForWeeklySchedule();
+        long locationsCached = statistics.getDomainDataRegionStatistics("locations").getPutCount();
+        long warm = statementsForWeeklySchedule();
+
+        // Published shifts, active assignments and approved leave, whether or not the cache is warm
+        assertThat(cold).isEqualTo(3);
+        assertThat(warm).isEqualTo(3);
+        // The joined locations still fill the cache for lookups outside the schedule
+        assertThat(locationsCached).isEqualTo(LOCATIONS);
+    }
+
+    @Test
+    void findLocation_AfterWeeklySchedule_IsServedFromCache() {
+        statementsForWeeklySchedule();
+        double hitsBefore = locationCacheHits();
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status ->
+            assertThat(entityManager.find(Location.class, template.getLocation().getId()).getName())
+                .startsWith("L2 Clinic"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("locations").getHitCount()).isEqualTo(1);
+        // Exported alongside the Spring caches
+        assertThat(locationCacheHits()).isEqualTo(hitsBefore + 1);
+    }
+
+    private double locationCacheHits() {
+        return meterRegistry.get("cache.gets")
+            .tags("cache", "locations", "cache.manager", "hibernate", "result", "hit")
+            .functionCounter().count();
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void templatesPage_AfterTemplateWrite_ReloadsOnlyTheTemplates() throws Exception {
+        long cold = statementsForTemplatesPage();
+        // A template write invalidates the cached template queries; locations and roles are unchanged
+        transactionTemplate.executeWithoutResult(status ->
+            entityManager.find(ShiftTemplate.class, template.getId()).setDescription("Updated"));
+        long warm = statementsForTemplatesPage();
+
+        assertThat(cold).isEqualTo(3);
+        assertThat(warm).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void requiredSkills_WarmCache_LoadWithoutStatements() {
+        long cold = statementsForRequiredSkills();
+        long warm = statementsForRequiredSkills();
+
+        // Template, then the collection joined to its skills
+        assertThat(cold).isEqualTo(2);
+        assertThat(warm).isZero();
+    }
+
+    /** Rendered inside one session, as the schedule page is with open-in-view */
+    private long statementsForWeeklySchedule() {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            ScheduleService.WeeklySchedule schedule = scheduleService.getWeeklySchedule(weekStart);
+            assertThat(schedule.getAssignments()).hasSize(STAFF);
+            for (Assignment assignment : schedule.getAssignments()) {
+                assertThat(assignment.getShiftInstance().getTemplate().getLocation().getName()).startsWith("L2 Clinic");
+                assertThat(assignment.getShiftInstance().getTemplate().getRole().getName()).isEqualTo("L2_NURSE");
+            }
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long statementsForTemplatesPage() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/templates")).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /** Template and its required skills, each time in a fresh session */
+    private long statementsForRequiredSkills() {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            ShiftTemplate loaded = entityManager.find(ShiftTemplate.class, template.getId());
+            assertThat(loaded.getRequiredSkills()).extracting(Skill::getName).containsExactly("L2 Triage");
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        created.add(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.Location;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.ShiftInstance;
+import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import com.example.shiftcraft.persistence.repository.ShiftInstanceRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ShiftBulkPublishTest {
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private ShiftInstanceRepository shiftInstanceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LocalDate weekStart = LocalDate.of(2024, 7, 1);
+    private final LocalDate weekEnd = weekStart.plusDays(6);
+    private Location north;
+    private ShiftTemplate northDay;
+    private ShiftTemplate southDay;
+
+    @BeforeEach
+    void setUp() {
+        Role role = TestFixtures.staffRole();
+        entityManager.persist(role);
+        north = TestFixtures.location("North Clinic");
+        Location south = TestFixtures.location("South Clinic");
+        entityManager.persist(north);
+        entityManager.persist(south);
+        northDay = TestFixtures.dayShift("North Day", north, role);
+        southDay = TestFixtures.dayShift("South Day", south, role);
+        entityManager.persist(northDay);
+        entityManager.persist(southDay);
+        shiftService.rollOutTemplates(weekStart, weekEnd.plusWeeks(1), null);
+    }
+
+    @Test
+    void publishShiftInstances_PublishesDraftsInRangeAndReturnsTheirIds() {
+        // Act
+        List<String> published = shiftService.publishShiftInstances(weekStart, weekEnd, null, "manager-1");
+
+        // Assert
+        assertThat(published).hasSize(14);
+        assertThat(shiftInstanceRepository.findAllById(published))
+            .allMatch(ShiftInstance::isPublished)
+            .allMatch(instance -> "manager-1".equals(instance.getPublishedBy()) && instance.getPublishedAt() != null);
+        assertThat(shiftInstanceRepository.findByShiftDate(weekEnd.plusDays(1)))
+            .allMatch(instance -> instance.getStatus() == ShiftInstance.ShiftStatus.DRAFT);
+    }
+
+    @Test
+    void publishShiftInstances_WithLocation_OnlyPublishesThatLocation() {
+        // Act
+        List<String> published = shiftService.publishShiftInstances(weekStart, weekEnd, north.getId(), "manager-1");
+
+        // Assert
+        assertThat(published).hasSize(7);
+        assertThat(shiftInstanceRepository.findByTemplateId(southDay.getId())).noneMatch(ShiftInstance::isPublished);
+    }
+
+    @Test
+    void publishShiftInstances_SkipsInstancesThatAreNotDraft() {
+        // Arrange
+        ShiftInstance cancelled = shiftInstanceRepository.findByTemplateIdAndShiftDate(northDay.getId(), weekStart).orElseThrow();
+        cancelled.setStatus(ShiftInstance.ShiftStatus.CANCELLED);
+        String alreadyPublished = shiftInstanceRepository.findByTemplateIdAndShiftDate(southDay.getId(), weekStart)
+            .orElseThrow().getId();
+        shiftService.publishShiftInstance(alreadyPublished, "manager-0");
+
+        // Act
+        List<String> published = shiftService.publishShiftInstances(weekStart, weekEnd, null, "manager-1");
+
+        // Assert
+        assertThat(published).hasSize(12).doesNotContain(cancelled.getId(), alreadyPublished);
+        assertThat(shiftInstanceRepository.findById(cancelled.getId())).get()
+            .extracting(ShiftInstance::getStatus).isEqualTo(ShiftInstance.ShiftStatus.CANCELLED);
+        assertThat(shiftInstanceRepository.findById(alreadyPublished)).get()
+            .extracting(ShiftInstance::getPublishedBy).isEqualTo("manager-0");
+    }
+
+    @Test
+    void publishShiftInstances_RunTwice_PublishesNothingTheSecondTime() {
+        // Arrange
+        shiftService.publishShiftInstances(weekStart, weekEnd, null, "manager-1");
+
+        // Act
+        List<String> published = shiftService.publishShiftInstances(weekStart, weekEnd, null, "manager-1");
+
+        // Assert
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void publishShiftInstances_EndBeforeStart_ThrowsException() {
+        // Act & Assert
+        assertThatThrownBy(() -> shiftService.publishShiftInstances(weekEnd, weekStart, null, "manager-1"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
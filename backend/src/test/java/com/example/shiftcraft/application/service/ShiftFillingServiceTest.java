@@ -0,0 +1,202 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.application.solver.RosterSolution;
+import com.example.shiftcraft.persistence.entity.*;
+import com.example.shiftcraft.persistence.repository.AssignmentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(ShiftFillingService.class)
+@TestPropertySource(properties = {
+    "app.solver.threads=1",
+    "app.solver.time-budget=PT0.5S",
+    "app.solver.minimum-skill-level=INTERMEDIATE"
+})
+class ShiftFillingServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ShiftFillingService shiftFillingService;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    private final LocalDate monday = LocalDate.of(2024, 6, 10);
+    private ShiftInstance mondayShift;
+    private ShiftInstance tuesdayShift;
+    private User qualified;
+    private User onLeave;
+    private User alreadyAssigned;
+    private User beginner;
+    private ShiftTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        Role nurseRole = new Role("NURSE");
+        entityManager.persist(nurseRole);
+        Location location = TestFixtures.location("Main Clinic");
+        entityManager.persist(location);
+        Skill triage = new Skill("Triage");
+        entityManager.persist(triage);
+
+        template = new ShiftTemplate("Night Triage", location, nurseRole,
+            LocalTime.of(20, 0), LocalTime.of(4, 0));
+        template.setMaxAssignments(2);
+        template.setRequiredSkills(Set.of(triage));
+        entityManager.persist(template);
+
+        mondayShift = new ShiftInstance(template, monday);
+        entityManager.persist(mondayShift);
+        tuesdayShift = new ShiftInstance(template, monday.plusDays(1));
+        entityManager.persist(tuesdayShift);
+        ShiftInstance published = new ShiftInstance(template, monday.plusDays(2));
+        published.setStatus(ShiftInstance.ShiftStatus.PUBLISHED);
+        entityManager.persist(published);
+
+        qualified = nurse("qualified", nurseRole, triage, UserSkill.SkillLevel.EXPERT);
+        onLeave = nurse("on-leave", nurseRole, triage, UserSkill.SkillLevel.CERTIFIED);
+        beginner = nurse("beginner", nurseRole, triage, UserSkill.SkillLevel.BEGINNER);
+        alreadyAssigned = nurse("assigned", nurseRole, triage, UserSkill.SkillLevel.EXPERT);
+
+        LeaveRequest leave = new LeaveRequest(onLeave, monday, monday, LeaveRequest.LeaveType.VACATION, "Day off");
+        leave.setStatus(LeaveRequest.LeaveStatus.APPROVED);
+        entityManager.persist(leave);
+        entityManager.persist(new Assignment(mondayShift, alreadyAssigned, "manager"));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void proposeAssignments_FillsOpenSlotsWithEligibleStaff() {
+        // Act
+        RosterSolution solution = shiftFillingService.proposeAssignments(monday, monday.plusDays(6));
+
+        // Assert - Monday has one slot left and only "qualified" can take it; Tuesday's two
+        // slots go to the others so that hours stay even
+        assertThat(solution.getTotalSlots()).isEqualTo(3);
+        assertThat(solution.isComplete()).isTrue();
+        assertThat(solution.getAssignments())
+            .filteredOn(assignment -> assignment.getShiftId().equals(mondayShift.getId()))
+            .extracting(RosterSolution.ProposedAssignment::getStaffId)
+            .containsExactly(qualified.getId());
+        assertThat(solution.getAssignments())
+            .filteredOn(assignment -> assignment.getShiftId().equals(tuesdayShift.getId()))
+            .extracting(RosterSolution.ProposedAssignment::getStaffId)
+            .containsExactlyInAnyOrder(onLeave.getId(), alreadyAssigned.getId());
+        assertThat(solution.getStaffMinutes()).containsEntry(qualified.getId(), 480L);
+    }
+
+    @Test
+    void applyProposal_SkipsShiftsNoLongerInDraft() {
+        // Arrange
+        RosterSolution solution = shiftFillingService.proposeAssignments(monday, monday.plusDays(6));
+        ShiftInstance tuesday = entityManager.find(ShiftInstance.class, tuesdayShift.getId());
+        tuesday.setStatus(ShiftInstance.ShiftStatus.PUBLISHED);
+        entityManager.flush();
+
+        // Act
+        List<Assignment> created = shiftFillingService.applyProposal(solution, "manager");
+
+        // Assert
+        assertThat(created).hasSize(1);
+        assertThat(assignmentRepository.findByShiftInstanceId(mondayShift.getId())).hasSize(2);
+    }
+
+    @Test
+    void applyProposal_SkipsStaffWhoseLeaveWasApprovedSinceSolving() {
+        // Arrange
+        RosterSolution solution = new RosterSolution(List.of(
+            new RosterSolution.ProposedAssignment(mondayShift.getId(), qualified.getId())), Map.of(), Map.of(), 1, Duration.ZERO);
+        LeaveRequest leave = new LeaveRequest(entityManager.find(User.class, qualified.getId()), monday, monday,
+            LeaveRequest.LeaveType.SICK, "Flu");
+        leave.setStatus(LeaveRequest.LeaveStatus.APPROVED);
+        entityManager.persist(leave);
+        entityManager.flush();
+
+        // Act
+        List<Assignment> created = shiftFillingService.applyProposal(solution, "manager");
+
+        // Assert
+        assertThat(created).isEmpty();
+        assertThat(assignmentRepository.findByShiftInstanceId(mondayShift.getId())).hasSize(1);
+    }
+
+    @Test
+    void applyProposal_SkipsStaffAlreadyWorkingThatDay() {
+        // Arrange - "qualified" was booked onto another Tuesday shift after the proposal was made
+        RosterSolution solution = new RosterSolution(List.of(
+            new RosterSolution.ProposedAssignment(tuesdayShift.getId(), qualified.getId()),
+            new RosterSolution.ProposedAssignment(tuesdayShift.getId(), onLeave.getId())), Map.of(), Map.of(), 2, Duration.ZERO);
+        ShiftTemplate nightTemplate = entityManager.find(ShiftTemplate.class, template.getId());
+        ShiftTemplate dayTemplate = TestFixtures.dayShift("Day Triage", nightTemplate.getLocation(),
+            nightTemplate.getRole());
+        entityManager.persist(dayTemplate);
+        ShiftInstance dayShift = new ShiftInstance(dayTemplate, monday.plusDays(1));
+        entityManager.persist(dayShift);
+        entityManager.persist(new Assignment(dayShift, entityManager.find(User.class, qualified.getId()), "manager"));
+        entityManager.flush();
+
+        // Act
+        List<Assignment> created = shiftFillingService.applyProposal(solution, "manager");
+
+        // Assert
+        assertThat(created).extracting(assignment -> assignment.getUser().getId()).containsExactly(onLeave.getId());
+    }
+
+    @Test
+    void applyProposal_DoesNotOverfillShiftsFilledSinceSolving() {
+        // Arrange - Monday had one open slot when solved; a manager filled it by hand since
+        RosterSolution solution = shiftFillingService.proposeAssignments(monday, monday.plusDays(6));
+        entityManager.persist(new Assignment(entityManager.find(ShiftInstance.class, mondayShift.getId()),
+            entityManager.find(User.class, beginner.getId()), "manager"));
+        entityManager.flush();
+
+        // Act
+        shiftFillingService.applyProposal(solution, "manager");
+
+        // Assert
+        assertThat(assignmentRepository.findByShiftInstanceId(mondayShift.getId())).hasSize(2);
+        assertThat(assignmentRepository.findByShiftInstanceId(tuesdayShift.getId())).hasSize(2);
+    }
+
+    @Test
+    void applyProposal_SameStaffTwiceOnOneDay_AppliesOnlyTheFirst() {
+        // Arrange
+        RosterSolution solution = new RosterSolution(List.of(
+            new RosterSolution.ProposedAssignment(tuesdayShift.getId(), qualified.getId()),
+            new RosterSolution.ProposedAssignment(tuesdayShift.getId(), qualified.getId())), Map.of(), Map.of(), 2, Duration.ZERO);
+
+        // Act
+        List<Assignment> created = shiftFillingService.applyProposal(solution, "manager");
+
+        // Assert
+        assertThat(created).hasSize(1);
+    }
+
+    private User nurse(String name, Role role, Skill skill, UserSkill.SkillLevel level) {
+        User user = TestFixtures.user(name + "@example.com", "Nurse", name);
+        user.setRoles(Set.of(role));
+        entityManager.persist(user);
+        entityManager.persist(new UserSkill(user, skill, level));
+        return user;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.Location;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.ShiftInstance;
+import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import com.example.shiftcraft.persistence.repository.ShiftInstanceRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overlapping roll-outs in separate transactions. Not transactional on purpose: each roll-out
+ * commits on its own thread, and the rows are removed again afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ShiftRollOutConcurrencyTest {
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private ShiftInstanceRepository shiftInstanceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDate start = LocalDate.of(2032, 1, 5);
+    private final LocalDate end = start.plusDays(29);
+    private Role role;
+    private Location location;
+    private ShiftTemplate early;
+    private ShiftTemplate late;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            role = new Role("ROLL_OUT_STAFF");
+            entityManager.persist(role);
+            location = TestFixtures.location("Roll-out Clinic");
+            entityManager.persist(location);
+            early = new ShiftTemplate("Roll-out Early", location, role, LocalTime.of(7, 0), LocalTime.of(15, 0));
+            late = new ShiftTemplate("Roll-out Late", location, role, LocalTime.of(15, 0), LocalTime.of(23, 0));
+            entityManager.persist(early);
+            entityManager.persist(late);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM ShiftInstance si WHERE si.template.id IN :ids")
+                .setParameter("ids", List.of(early.getId(), late.getId()))
+                .executeUpdate();
+            entityManager.remove(entityManager.find(ShiftTemplate.class, early.getId()));
+            entityManager.remove(entityManager.find(ShiftTemplate.class, late.getId()));
+            entityManager.remove(entityManager.find(Location.class, location.getId()));
+            entityManager.remove(entityManager.find(Role.class, role.getId()));
+        });
+    }
+
+    @Test
+    void rollOutTemplates_OverlappingConcurrentRuns_CreateEachInstanceOnce() throws Exception {
+        // Arrange - two roll-outs sharing the middle ten days, released together
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> {
+                go.await();
+                return shiftService.rollOutTemplates(start, start.plusDays(19), location.getId());
+            });
+            Future<Integer> second = executor.submit(() -> {
+                go.await();
+                return shiftService.rollOutTemplates(start.plusDays(10), end, location.getId());
+            });
+
+            // Act
+            go.countDown();
+            int created = first.get(30, TimeUnit.SECONDS) + second.get(30, TimeUnit.SECONDS);
+
+            // Assert - neither run failed on the unique key and every pair exists exactly once
+            List<ShiftInstance> instances = shiftInstanceRepository.findByShiftDateBetween(start, end).stream()
+                .filter(instance -> instance.getTemplate().getId().equals(early.getId())
+                    || instance.getTemplate().getId().equals(late.getId()))
+                .toList();
+            assertThat(created).isEqualTo(2 * 30);
+            assertThat(instances).hasSize(2 * 30);
+            assertThat(instances)
+                .extracting(instance -> instance.getTemplate().getId() + "|" + instance.getShiftDate())
+                .doesNotHaveDuplicates();
+            assertThat(instances)
+                .extracting(instance -> UUID.fromString(instance.getId()).version())
+                .containsOnly(7);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rollOutTemplates_DuringSingleInstanceCreate_WaitsAndSkipsThatDay() throws Exception {
+        // Arrange - a single create holds its transaction open while the roll-out starts
+        CountDownLatch createdOne = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> single = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                shiftService.createShiftInstance(early.getId(), start.plusDays(5));
+                createdOne.countDown();
+                try {
+                    commit.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(createdOne.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Act
+            Future<Integer> rollOut = executor.submit(() -> shiftService.rollOutTemplates(start, end, location.getId()));
+            Thread.sleep(200);
+            commit.countDown();
+            single.get(30, TimeUnit.SECONDS);
+            int created = rollOut.get(30, TimeUnit.SECONDS);
+
+            // Assert - the roll-out waited for the template lock and filled only the other days
+            assertThat(created).isEqualTo(2 * 30 - 1);
+            assertThat(shiftInstanceRepository.findByTemplateId(early.getId())).hasSize(30);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
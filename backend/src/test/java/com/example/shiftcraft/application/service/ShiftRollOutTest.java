@@ -0,0 +1,135 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.Location;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.ShiftInstance;
+import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import com.example.shiftcraft.persistence.repository.ShiftInstanceRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ShiftRollOutTest {
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private ShiftInstanceRepository shiftInstanceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LocalDate start = LocalDate.of(2024, 7, 1);
+    private final LocalDate end = LocalDate.of(2024, 9, 29);
+    private final int days = 91;
+    private Location north;
+    private Location south;
+    private ShiftTemplate early;
+    private ShiftTemplate late;
+    private ShiftTemplate southDay;
+
+    @BeforeEach
+    void setUp() {
+        Role role = TestFixtures.staffRole();
+        entityManager.persist(role);
+        north = TestFixtures.location("North Clinic");
+        south = TestFixtures.location("South Clinic");
+        entityManager.persist(north);
+        entityManager.persist(south);
+        early = template("Early", north, role, 7);
+        late = template("Late", north, role, 14);
+        southDay = template("Day", south, role, 9);
+        ShiftTemplate retired = template("Retired", north, role, 22);
+        retired.setIsActive(false);
+        entityManager.flush();
+    }
+
+    @Test
+    void rollOutTemplates_CreatesDraftForEveryActiveTemplateAndDay() {
+        // Act
+        int created = shiftService.rollOutTemplates(start, end, null);
+
+        // Assert
+        assertThat(created).isEqualTo(3 * days);
+        assertThat(shiftInstanceRepository.findByShiftDateBetween(start, end))
+            .hasSize(3 * days)
+            .allMatch(instance -> instance.getStatus() == ShiftInstance.ShiftStatus.DRAFT)
+            .noneMatch(instance -> instance.getTemplate().getName().equals("Retired"));
+    }
+
+    @Test
+    void rollOutTemplates_SkipsExistingInstancesAndIsIdempotent() {
+        // Arrange
+        shiftService.createShiftInstance(early.getId(), start.plusDays(3));
+        shiftService.rollOutTemplates(start, start.plusDays(13), null);
+
+        // Act
+        int created = shiftService.rollOutTemplates(start, end, null);
+        int createdAgain = shiftService.rollOutTemplates(start, end, null);
+
+        // Assert
+        assertThat(created).isEqualTo(3 * (days - 14));
+        assertThat(createdAgain).isZero();
+        assertThat(shiftInstanceRepository.findByTemplateId(early.getId())).hasSize(days);
+    }
+
+    @Test
+    void rollOutTemplates_WithLocation_OnlyRollsOutThatLocation() {
+        // Act
+        int created = shiftService.rollOutTemplates(start, end, south.getId());
+
+        // Assert
+        assertThat(created).isEqualTo(days);
+        assertThat(shiftInstanceRepository.findByTemplateId(southDay.getId())).hasSize(days);
+        assertThat(shiftInstanceRepository.findByTemplateId(late.getId())).isEmpty();
+    }
+
+    @Test
+    void rollOutTemplates_EndBeforeStart_ThrowsException() {
+        // Act & Assert
+        assertThatThrownBy(() -> shiftService.rollOutTemplates(end, start, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rollOutTemplates_RangeOverLimit_ThrowsException() {
+        // Act & Assert - the default limit is 92 days, inclusive of both ends
+        assertThatThrownBy(() -> shiftService.rollOutTemplates(start, start.plusDays(92), null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Roll-out is limited to 92 days at a time");
+        assertThat(shiftService.rollOutTemplates(start, start.plusDays(91), north.getId())).isEqualTo(2 * 92);
+    }
+
+    @Test
+    void duplicateTemplateAndDate_IsRejectedByTheBusinessKey() {
+        // Arrange
+        shiftService.rollOutTemplates(start, start, north.getId());
+
+        // Act & Assert
+        assertThatThrownBy(() -> shiftInstanceRepository.saveAndFlush(new ShiftInstance(early, start)))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private ShiftTemplate template(String name, Location location, Role role, int startHour) {
+        ShiftTemplate template = new ShiftTemplate(name, location, role,
+            LocalTime.of(startHour, 0), LocalTime.of((startHour + 8) % 24, 0));
+        entityManager.persist(template);
+        return template;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the per-user-per-day availability path with the batched bitset engine.
+ * Roster size can be raised with -Dbench.availability.staff=400 -Dbench.availability.days=28.
+ */
+@DataJpaTest
+@Import({ScheduleService.class, LeaveIntervalIndex.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class StaffAvailabilityBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StaffAvailabilityBenchmarkTest.class);
+
+    private static final int STAFF = Integer.getInteger("bench.availability.staff", 40);
+    private static final int DAYS = Integer.getInteger("bench.availability.days", 28);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    private Statistics statistics;
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private final List<String> staffIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        windowStart = LocalDate.of(2024, 6, 3);
+        windowEnd = windowStart.plusDays(DAYS - 1);
+
+        Role staffRole = TestFixtures.staffRole();
+        entityManager.persist(staffRole);
+        Location location = TestFixtures.location("Main Clinic");
+        entityManager.persist(location);
+        ShiftTemplate template = TestFixtures.dayShift("Day Shift", location, staffRole);
+        entityManager.persist(template);
+
+        List<ShiftInstance> instances = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            ShiftInstance instance = new ShiftInstance(template, windowStart.plusDays(day));
+            entityManager.persist(instance);
+            instances.add(instance);
+        }
+
+        for (int i = 0; i < STAFF; i++) {
+            User user = TestFixtures.user("staff" + i + "@example.com", "Staff", "Member" + i);
+            user.setRoles(Set.of(staffRole));
+            entityManager.persist(user);
+            staffIds.add(user.getId());
+
+            // Every user works every third day, offset by their index
+            for (int day = i % 3; day < DAYS; day += 3) {
+                Assignment assignment = new Assignment(instances.get(day), user, "manager");
+                if (day % 7 == 6) {
+                    assignment.setStatus(Assignment.AssignmentStatus.CANCELLED);
+                }
+                entityManager.persist(assignment);
+            }
+
+            // Every fourth user has approved leave, every fifth has pending leave
+            if (i % 4 == 0) {
+                LeaveRequest leave = new LeaveRequest(user, windowStart.minusDays(2), windowStart.plusDays(3),
+                    LeaveRequest.LeaveType.VACATION, "Approved");
+                leave.setStatus(LeaveRequest.LeaveStatus.APPROVED);
+                entityManager.persist(leave);
+            }
+            if (i % 5 == 0) {
+                entityManager.persist(new LeaveRequest(user, windowEnd.minusDays(1), windowEnd.plusDays(4),
+                    LeaveRequest.LeaveType.PERSONAL, "Pending"));
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void batchedAvailability_MatchesPerDayPath_WithConstantStatementCount() {
+        // Per-user, per-day path the engine replaces
+        statistics.clear();
+        long legacyStarted = System.nanoTime();
+        Map<String, List<LocalDate>> legacy = new LinkedHashMap<>();
+        for (String userId : staffIds) {
+            legacy.put(userId, windowStart.datesUntil(windowEnd.plusDays(1))
+                .filter(date -> scheduleService.isUserAvailableForShift(userId, date))
+                .toList());
+        }
+        long legacyNanos = System.nanoTime() - legacyStarted;
+        long legacyStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        // Batched engine
+        statistics.clear();
+        long batchedStarted = System.nanoTime();
+        Map<String, List<LocalDate>> batched = scheduleService.getStaffAvailability(windowStart, windowEnd);
+        long batchedNanos = System.nanoTime() - batchedStarted;
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        log.debug("Staff availability ({} staff x {} days): per-day path {} statements in {} ms, "
+                + "batched {} statements in {} ms",
+            STAFF, DAYS, legacyStatements, legacyNanos / 1_000_000, batchedStatements, batchedNanos / 1_000_000);
+
+        assertThat(batched).isEqualTo(legacy);
+        assertThat(batchedStatements).isEqualTo(3);
+        assertThat(legacyStatements).isGreaterThanOrEqualTo((long) STAFF * DAYS);
+    }
+
+    @Test
+    void availabilityBitsets_TrackPendingLeaveSeparately() {
+        StaffAvailability availability = scheduleService.getStaffAvailabilityBitsets(windowStart, windowEnd);
+
+        String approvedLeaveUser = staffIds.get(8);
+        String pendingLeaveUser = staffIds.get(5);
+
+        assertThat(availability.getDays()).isEqualTo(DAYS);
+        assertThat(availability.getUserIds()).containsExactlyInAnyOrderElementsOf(staffIds);
+        assertThat(availability.isAvailable(approvedLeaveUser, windowStart.plusDays(1))).isFalse();
+        assertThat(availability.getPendingLeaveDays(pendingLeaveUser).cardinality()).isEqualTo(2);
+        assertThat(availability.getPendingLeaveDays(approvedLeaveUser).isEmpty()).isTrue();
+    }
+
+    @Test
+    void isUserAvailableForShift_LeaveApprovedBehindTheIndex_IsSeenAtOnce() {
+        // Arrange - the first check caches that this user has no leave
+        String userId = staffIds.get(1);
+        LocalDate freeDay = windowStart.plusDays(2);
+        assertThat(scheduleService.isUserAvailableForShift(userId, freeDay)).isTrue();
+
+        // Act - approved without LeaveService invalidating the index, as on another instance
+        LeaveRequest leave = new LeaveRequest(entityManager.find(User.class, userId), freeDay, freeDay,
+            LeaveRequest.LeaveType.VACATION, "Approved elsewhere");
+        leave.setStatus(LeaveRequest.LeaveStatus.APPROVED);
+        leave.setReviewedAt(LocalDateTime.now());
+        entityManager.persist(leave);
+        entityManager.flush();
+
+        // Assert
+        assertThat(scheduleService.isUserAvailableForShift(userId, freeDay)).isFalse();
+    }
+}
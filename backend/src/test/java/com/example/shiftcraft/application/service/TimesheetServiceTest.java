@@ -2,6 +2,7 @@ package com.example.shiftcraft.application.service;
 
 import com.example.shiftcraft.persistence.entity.*;
 import com.example.shiftcraft.persistence.repository.*;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +17,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +26,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TimesheetServiceTest {
 
+    private static final UUID ENTRY_ID = UUID.fromString("0190a5c4-7e00-7000-8000-000000000002");
+
     @Mock
     private TimesheetRepository timesheetRepository;
 
@@ -36,6 +40,9 @@ class TimesheetServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private TimesheetService timesheetService;
 
@@ -67,7 +74,7 @@ class TimesheetServiceTest {
         testShiftInstance.setId("shift123");
 
         testAssignment = new Assignment(testShiftInstance, testUser, "manager123");
-        testAssignment.setId("assignment123");
+        testAssignment.setId(UUID.fromString("0190a5c4-7e00-7000-8000-000000000001"));
         testAssignment.setStatus(Assignment.AssignmentStatus.ACTIVE);
 
         testTimesheet = new Timesheet(testUser, LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 14));
@@ -166,7 +173,6 @@ class TimesheetServiceTest {
         when(timesheetRepository.findById("timesheet123")).thenReturn(Optional.of(testTimesheet));
         when(timesheetEntryRepository.save(any(TimesheetEntry.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(timesheetRepository.save(any(Timesheet.class))).thenReturn(testTimesheet);
 
         // Act
         TimesheetEntry result = timesheetService.addManualEntry("timesheet123", workDate, startTime, endTime, breakMinutes, description);
@@ -182,7 +188,82 @@ class TimesheetServiceTest {
 
         verify(timesheetRepository).findById("timesheet123");
         verify(timesheetEntryRepository).save(any(TimesheetEntry.class));
-        verify(timesheetRepository).save(testTimesheet);
+        verify(timesheetRepository, never()).save(any(Timesheet.class));
+    }
+
+    @Test
+    void addManualEntry_AppliesEntryMinutesToStoredTotal() {
+        // Arrange
+        testTimesheet.setTotalMinutes(2400);
+        when(timesheetRepository.findById("timesheet123")).thenReturn(Optional.of(testTimesheet));
+        when(timesheetEntryRepository.save(any(TimesheetEntry.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        timesheetService.addManualEntry("timesheet123", LocalDate.of(2024, 6, 12),
+            LocalTime.of(10, 0), LocalTime.of(14, 0), 30, "Manual overtime");
+
+        // Assert - 3.5 hours added in the database, entries collection never touched
+        verify(timesheetRepository).addToTotalMinutes("timesheet123", 210);
+        assertThat(testTimesheet.getEntries()).isEmpty();
+    }
+
+    @Test
+    void updateManualEntry_AppliesChangeInMinutesToStoredTotal() {
+        // Arrange
+        testTimesheet.setTotalMinutes(600);
+        TimesheetEntry entry = new TimesheetEntry(testTimesheet, LocalDate.of(2024, 6, 12),
+            LocalTime.of(9, 0), LocalTime.of(13, 0));
+        entry.setId(ENTRY_ID);
+        entry.setEntryType(TimesheetEntry.EntryType.MANUAL_ADJUSTMENT);
+        when(timesheetEntryRepository.findById(ENTRY_ID)).thenReturn(Optional.of(entry));
+        when(timesheetEntryRepository.save(any(TimesheetEntry.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act - 4h becomes 5.5h
+        TimesheetEntry result = timesheetService.updateManualEntry(ENTRY_ID, LocalDate.of(2024, 6, 12),
+            LocalTime.of(9, 0), LocalTime.of(15, 0), 30, "Stayed late");
+
+        // Assert
+        assertThat(result.getWorkedMinutes()).isEqualTo(330);
+        verify(timesheetRepository).addToTotalMinutes(testTimesheet.getId(), 90);
+    }
+
+    @Test
+    void updateManualEntry_TimesheetNotDraft_ThrowsException() {
+        // Arrange
+        testTimesheet.setStatus(Timesheet.TimesheetStatus.APPROVED);
+        TimesheetEntry entry = new TimesheetEntry(testTimesheet, LocalDate.of(2024, 6, 12),
+            LocalTime.of(9, 0), LocalTime.of(13, 0));
+        entry.setEntryType(TimesheetEntry.EntryType.MANUAL_ADJUSTMENT);
+        when(timesheetEntryRepository.findById(ENTRY_ID)).thenReturn(Optional.of(entry));
+
+        // Act & Assert
+        assertThatThrownBy(() ->
+            timesheetService.updateManualEntry(ENTRY_ID, LocalDate.of(2024, 6, 12),
+                LocalTime.of(9, 0), LocalTime.of(15, 0), 0, "test"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Can only change entries on draft timesheets");
+
+        verify(timesheetRepository, never()).save(any());
+    }
+
+    @Test
+    void updateManualEntry_ShiftEntry_ThrowsException() {
+        // Arrange - generated from an assignment, so its hours come from the shift
+        TimesheetEntry entry = new TimesheetEntry(testTimesheet, LocalDate.of(2024, 6, 12),
+            LocalTime.of(9, 0), LocalTime.of(17, 0));
+        when(timesheetEntryRepository.findById(ENTRY_ID)).thenReturn(Optional.of(entry));
+
+        // Act & Assert
+        assertThatThrownBy(() ->
+            timesheetService.updateManualEntry(ENTRY_ID, LocalDate.of(2024, 6, 12),
+                LocalTime.of(9, 0), LocalTime.of(20, 0), 0, "test"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Only manual adjustment entries can be changed");
+
+        verify(timesheetEntryRepository, never()).save(any());
+        verify(timesheetRepository, never()).addToTotalMinutes(any(), anyInt());
     }
 
     @Test
@@ -202,14 +283,14 @@ class TimesheetServiceTest {
     @Test
     void calculateOvertimeHours_ReturnsCorrectValue() {
         // Arrange
-        testTimesheet.setOvertimeHours(new BigDecimal("8.5"));
+        testTimesheet.setTotalMinutes(Timesheet.STANDARD_MINUTES + 510);
         when(timesheetRepository.findById("timesheet123")).thenReturn(Optional.of(testTimesheet));
 
         // Act
         BigDecimal result = timesheetService.calculateOvertimeHours("timesheet123");
 
         // Assert
-        assertThat(result).isEqualTo(new BigDecimal("8.5"));
+        assertThat(result).isEqualByComparingTo(new BigDecimal("8.5"));
         verify(timesheetRepository).findById("timesheet123");
     }
 
@@ -351,13 +432,13 @@ class TimesheetServiceTest {
         Timesheet timesheet = new Timesheet(testUser, LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 14));
         
         TimesheetEntry entry1 = new TimesheetEntry();
-        entry1.setHours(new BigDecimal("8.0"));
+        entry1.setWorkedMinutes(480);
         
         TimesheetEntry entry2 = new TimesheetEntry();
-        entry2.setHours(new BigDecimal("7.5"));
+        entry2.setWorkedMinutes(450);
         
         TimesheetEntry entry3 = new TimesheetEntry();
-        entry3.setHours(new BigDecimal("40.0")); // This will push into overtime
+        entry3.setWorkedMinutes(2400); // This will push into overtime
         
         timesheet.getEntries().addAll(Arrays.asList(entry1, entry2, entry3));
 
@@ -365,8 +446,136 @@ class TimesheetServiceTest {
         timesheet.calculateTotals();
 
         // Assert
-        assertThat(timesheet.getTotalHours()).isEqualTo(new BigDecimal("55.5"));
-        assertThat(timesheet.getRegularHours()).isEqualTo(new BigDecimal("40"));
-        assertThat(timesheet.getOvertimeHours()).isEqualTo(new BigDecimal("15.5"));
+        assertThat(timesheet.getTotalMinutes()).isEqualTo(3330);
+        assertThat(timesheet.getTotalHours()).isEqualByComparingTo(new BigDecimal("55.5"));
+        assertThat(timesheet.getRegularHours()).isEqualByComparingTo(new BigDecimal("40"));
+        assertThat(timesheet.getOvertimeHours()).isEqualByComparingTo(new BigDecimal("15.5"));
+    }
+
+    @Test
+    void timesheetEntryCalculateHours_StoresWorkedMinutes() {
+        // Arrange
+        TimesheetEntry entry = new TimesheetEntry(testTimesheet, LocalDate.of(2024, 6, 10),
+            LocalTime.of(9, 0), LocalTime.of(17, 20));
+        entry.setBreakMinutes(45);
+
+        // Act
+        entry.calculateHours();
+
+        // Assert
+        assertThat(entry.getWorkedMinutes()).isEqualTo(455);
+        assertThat(entry.getHours()).isEqualTo(new BigDecimal("7.58"));
+    }
+
+    @Test
+    void generateTimesheetsForPeriod_GroupsAssignmentsByUserAndSkipsExisting() {
+        // Arrange
+        LocalDate periodStart = LocalDate.of(2024, 6, 10);
+        LocalDate periodEnd = LocalDate.of(2024, 6, 16);
+
+        User otherUser = new User("other@example.com", "$2a$10$N.UN6inR9EGNhPpthkDcOuP6PNJz6i/Y5DUiH/rjc6ZJiX8V1z1CK", "Other", "User");
+        otherUser.setId("user456");
+        User existingUser = new User("existing@example.com", "$2a$10$N.UN6inR9EGNhPpthkDcOuP6PNJz6i/Y5DUiH/rjc6ZJiX8V1z1CK", "Existing", "User");
+        existingUser.setId("user789");
+
+        ShiftInstance secondShift = new ShiftInstance(testShiftTemplate, LocalDate.of(2024, 6, 11));
+        List<Assignment> assignments = Arrays.asList(
+            testAssignment,
+            new Assignment(testShiftInstance, otherUser, "manager123"),
+            new Assignment(secondShift, testUser, "manager123"),
+            new Assignment(secondShift, existingUser, "manager123")
+        );
+        when(assignmentRepository.findBillableAssignmentsInPeriod(periodStart, periodEnd)).thenReturn(assignments);
+        when(timesheetRepository.findUserIdsWithTimesheetForPeriod(periodStart, periodEnd))
+            .thenReturn(List.of("user789"));
+
+        List<Timesheet> saved = new java.util.ArrayList<>();
+        when(timesheetRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Timesheet> batch = invocation.getArgument(0);
+            saved.addAll(batch);
+            return batch;
+        });
+
+        // Act
+        TimesheetService.BulkGenerationResult result =
+            timesheetService.generateTimesheetsForPeriod(periodStart, periodEnd);
+
+        // Assert
+        assertThat(result.getTimesheetsCreated()).isEqualTo(2);
+        assertThat(result.getEntriesCreated()).isEqualTo(3);
+        assertThat(result.getSkippedUsers()).isEqualTo(1);
+
+        assertThat(saved).extracting(t -> t.getUser().getId()).containsExactly("user123", "user456");
+        assertThat(saved.get(0).getEntries()).hasSize(2);
+        assertThat(saved.get(0).getTotalHours()).isEqualTo(new BigDecimal("15.00"));
+
+        verify(timesheetRepository).flush();
+        // Only the written timesheets leave the caller's persistence context
+        saved.forEach(timesheet -> verify(entityManager).detach(timesheet));
+        verify(entityManager, never()).clear();
+        verifyNoInteractions(timesheetEntryRepository, userRepository);
+    }
+
+    @Test
+    void generateTimesheetsForPeriod_FlushesInBatches() {
+        // Arrange
+        LocalDate periodStart = LocalDate.of(2024, 6, 10);
+        LocalDate periodEnd = LocalDate.of(2024, 6, 16);
+        int users = TimesheetService.BULK_FLUSH_SIZE * 2 + 1;
+
+        List<Assignment> assignments = new java.util.ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            User user = new User("staff" + i + "@example.com", "$2a$10$N.UN6inR9EGNhPpthkDcOuP6PNJz6i/Y5DUiH/rjc6ZJiX8V1z1CK", "Staff", "User" + i);
+            user.setId("staff" + i);
+            assignments.add(new Assignment(testShiftInstance, user, "manager123"));
+        }
+        when(assignmentRepository.findBillableAssignmentsInPeriod(periodStart, periodEnd)).thenReturn(assignments);
+        when(timesheetRepository.findUserIdsWithTimesheetForPeriod(periodStart, periodEnd))
+            .thenReturn(Collections.emptyList());
+        when(timesheetRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TimesheetService.BulkGenerationResult result =
+            timesheetService.generateTimesheetsForPeriod(periodStart, periodEnd);
+
+        // Assert
+        assertThat(result.getTimesheetsCreated()).isEqualTo(users);
+        verify(timesheetRepository, times(3)).saveAll(anyList());
+        verify(timesheetRepository, times(3)).flush();
+        verify(entityManager, times(users)).detach(any(Timesheet.class));
+    }
+
+    @Test
+    void generateTimesheetsForPeriod_PeriodStartAfterEnd_ThrowsException() {
+        // Act & Assert
+        assertThatThrownBy(() ->
+            timesheetService.generateTimesheetsForPeriod(LocalDate.of(2024, 6, 14), LocalDate.of(2024, 6, 10)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Period start must be before period end");
+
+        verifyNoInteractions(assignmentRepository);
+    }
+
+    @Test
+    void generateTimesheetsForUsers_LoadsOnlyTheGivenUsers() {
+        // Arrange
+        LocalDate periodStart = LocalDate.of(2024, 6, 10);
+        LocalDate periodEnd = LocalDate.of(2024, 6, 16);
+        List<String> userIds = List.of("user123");
+
+        when(assignmentRepository.findBillableAssignmentsForUsersInPeriod(userIds, periodStart, periodEnd))
+            .thenReturn(List.of(testAssignment));
+        when(timesheetRepository.findUserIdsWithTimesheetForPeriod(userIds, periodStart, periodEnd))
+            .thenReturn(Collections.emptyList());
+
+        // Act
+        TimesheetService.BulkGenerationResult result =
+            timesheetService.generateTimesheetsForUsers(userIds, periodStart, periodEnd);
+
+        // Assert
+        assertThat(result.getTimesheetsCreated()).isEqualTo(1);
+        assertThat(result.getEntriesCreated()).isEqualTo(1);
+        verify(assignmentRepository, never()).findBillableAssignmentsInPeriod(any(), any());
+        verify(timesheetRepository).saveAll(anyList());
     }
-}
\ No newline at end of file
+}
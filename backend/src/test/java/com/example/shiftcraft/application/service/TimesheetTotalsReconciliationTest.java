@@ -0,0 +1,106 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(TimesheetService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TimesheetTotalsReconciliationTest {
+
+    private static final int ADJUSTMENTS = 40;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    private Statistics statistics;
+    private String timesheetId;
+    private final LocalDate periodStart = LocalDate.of(2024, 6, 10);
+
+    @BeforeEach
+    void setUp() {
+        User user = TestFixtures.user("staff@example.com", "Staff", "Member");
+        entityManager.persist(user);
+
+        Timesheet timesheet = new Timesheet(user, periodStart, periodStart.plusDays(6));
+        entityManager.persist(timesheet);
+        timesheetId = timesheet.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void addManualEntry_KeepsTotalsWithoutLoadingEntries() {
+        // Act - each adjustment is 1 hour
+        for (int i = 0; i < ADJUSTMENTS; i++) {
+            timesheetService.addManualEntry(timesheetId, periodStart.plusDays(i % 7),
+                LocalTime.of(9, 0), LocalTime.of(10, 0), 0, "Adjustment " + i);
+        }
+        entityManager.flush();
+
+        // Assert
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(timesheetService.reconcileTotals()).isZero();
+
+        entityManager.clear();
+        Timesheet timesheet = entityManager.find(Timesheet.class, timesheetId);
+        assertThat(timesheet.getTotalMinutes()).isEqualTo(ADJUSTMENTS * 60L);
+    }
+
+    @Test
+    void addManualEntry_LaterChangeToLoadedTimesheet_KeepsAdjustedTotal() {
+        // Arrange - the timesheet is loaded before the adjustment, so its in-memory total is stale
+        Timesheet loaded = entityManager.find(Timesheet.class, timesheetId);
+
+        // Act
+        timesheetService.addManualEntry(timesheetId, periodStart, LocalTime.of(9, 0), LocalTime.of(10, 0), 0, "Adjustment");
+        loaded.setStatus(Timesheet.TimesheetStatus.SUBMITTED);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        Timesheet timesheet = entityManager.find(Timesheet.class, timesheetId);
+        assertThat(timesheet.getStatus()).isEqualTo(Timesheet.TimesheetStatus.SUBMITTED);
+        assertThat(timesheet.getTotalMinutes()).isEqualTo(60);
+    }
+
+    @Test
+    void reconcileTotals_RepairsDriftedTimesheet() {
+        // Arrange - an entry written behind the service's back
+        Timesheet timesheet = entityManager.find(Timesheet.class, timesheetId);
+        entityManager.persist(new TimesheetEntry(timesheet, periodStart, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int repaired = timesheetService.reconcileTotals();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertThat(repaired).isEqualTo(1);
+        assertThat(entityManager.find(Timesheet.class, timesheetId).getTotalMinutes()).isEqualTo(480);
+        assertThat(timesheetService.reconcileTotals()).isZero();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.shiftcraft.application.service;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ScheduleService.class, LeaveIntervalIndex.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class WeeklyScheduleStatementCountTest {
+
+    private static final int STAFF = 100;
+    private static final int WORKING_DAYS = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    private Statistics statistics;
+    private User staffMember;
+    private final LocalDate weekStart = LocalDate.of(2024, 6, 10);
+
+    @BeforeEach
+    void setUp() {
+        Role staffRole = TestFixtures.staffRole();
+        entityManager.persist(staffRole);
+
+        List<ShiftTemplate> templates = new ArrayList<>();
+        for (int l = 0; l < 2; l++) {
+            Location location = TestFixtures.location("Clinic " + l);
+            entityManager.persist(location);
+            for (int t = 0; t < 3; t++) {
+                ShiftTemplate template = new ShiftTemplate("Shift " + l + "-" + t, location, staffRole,
+                    LocalTime.of(6 + t * 4, 0), LocalTime.of(14 + t * 4, 0));
+                entityManager.persist(template);
+                templates.add(template);
+            }
+        }
+
+        List<ShiftInstance> instances = new ArrayList<>();
+        for (int day = 0; day < WORKING_DAYS; day++) {
+            for (ShiftTemplate template : templates) {
+                ShiftInstance instance = new ShiftInstance(template, weekStart.plusDays(day));
+                instance.setStatus(ShiftInstance.ShiftStatus.PUBLISHED);
+                entityManager.persist(instance);
+                instances.add(instance);
+            }
+        }
+
+        for (int i = 0; i < STAFF; i++) {
+            User user = TestFixtures.user("staff" + i + "@example.com", "Staff", "Member" + i);
+            user.setRoles(Set.of(staffRole));
+            entityManager.persist(user);
+            if (i == 0) {
+                staffMember = user;
+            }
+
+            for (int day = 0; day < WORKING_DAYS; day++) {
+                ShiftInstance instance = instances.get(day * templates.size() + i % templates.size());
+                entityManager.persist(new Assignment(instance, user, "manager"));
+            }
+
+            if (i % 10 == 0) {
+                LeaveRequest leave = new LeaveRequest(user, weekStart.plusDays(5), weekStart.plusDays(6),
+                    LeaveRequest.LeaveType.VACATION, "Weekend away");
+                leave.setStatus(LeaveRequest.LeaveStatus.APPROVED);
+                entityManager.persist(leave);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getWeeklySchedule_RendersFullWeekInConstantStatements() {
+        // Act
+        ScheduleService.WeeklySchedule schedule = scheduleService.getWeeklySchedule(weekStart);
+        StringBuilder rendered = new StringBuilder();
+        for (Assignment assignment : schedule.getAssignments()) {
+            rendered.append(assignment.getUser().getFullName())
+                .append(assignment.getUser().getEmail())
+                .append(assignment.getUser().getRoles().size())
+                .append(assignment.getShiftInstance().getShiftDate())
+                .append(assignment.getShiftInstance().getTemplate().getName())
+                .append(assignment.getShiftInstance().getTemplate().getStartTime())
+                .append(assignment.getShiftInstance().getTemplate().getLocation().getName())
+                .append(assignment.getShiftInstance().getTemplate().getRole().getName());
+        }
+        for (ShiftInstance shift : schedule.getShifts()) {
+            rendered.append(shift.getTemplate().getLocation().getName())
+                .append(shift.getTemplate().getRole().getName());
+        }
+        for (LeaveRequest leave : schedule.getApprovedLeave()) {
+            rendered.append(leave.getUser().getFullName());
+        }
+
+        // Assert
+        assertThat(schedule.getAssignments()).hasSize(STAFF * WORKING_DAYS);
+        assertThat(schedule.getShifts()).hasSize(6 * WORKING_DAYS);
+        assertThat(schedule.getApprovedLeave()).hasSize(STAFF / 10);
+        assertThat(rendered).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getUserWeeklySchedule_LoadsShiftDetailsWithAssignments() {
+        // Act
+        ScheduleService.UserWeeklySchedule schedule =
+            scheduleService.getUserWeeklySchedule(staffMember.getId(), weekStart);
+        for (Assignment assignment : schedule.getAssignments()) {
+            assignment.getShiftInstance().getTemplate().getLocation().getName();
+        }
+
+        // Assert
+        assertThat(schedule.getAssignments()).hasSize(WORKING_DAYS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.shiftcraft.application.solver;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RosterSolverTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RosterSolverTest.class);
+
+    private final LocalDate monday = LocalDate.of(2024, 6, 10);
+
+    @Test
+    void solve_RespectsRoleSkillLeaveAndOneShiftPerDay() {
+        // Arrange
+        RosterProblem problem = SyntheticRosters.month(100, 7L);
+
+        // Act
+        RosterSolution solution = new RosterSolver(2, Duration.ofSeconds(2)).solve(problem);
+
+        // Assert
+        assertHardConstraints(problem, solution);
+        assertThat(solution.getFilledSlots() + solution.getUnfilledSlots().values().stream().mapToInt(Integer::intValue).sum())
+            .isEqualTo(problem.getSlotCount());
+    }
+
+    @Test
+    void solve_OnlyAssignsQualifiedStaff() {
+        // Arrange
+        RosterProblem problem = new RosterProblem(monday, monday);
+        problem.setMinimumSkillLevel(2);
+        problem.addStaff("nurse-expert", Set.of("NURSE"), Map.of("triage", 2));
+        problem.addStaff("nurse-beginner", Set.of("NURSE"), Map.of("triage", 0));
+        problem.addStaff("doctor", Set.of("DOCTOR"), Map.of("triage", 3));
+        problem.addShift("triage-shift", monday, 480, "NURSE", Set.of("triage"), 2);
+
+        // Act
+        RosterSolution solution = new RosterSolver(1, Duration.ofMillis(200)).solve(problem);
+
+        // Assert
+        assertThat(solution.getAssignments()).extracting(RosterSolution.ProposedAssignment::getStaffId)
+            .containsExactly("nurse-expert");
+        assertThat(solution.getUnfilledSlots()).containsEntry("triage-shift", 1);
+        assertThat(solution.isComplete()).isFalse();
+    }
+
+    @Test
+    void solve_SkipsBlockedDaysAndDoubleBookings() {
+        // Arrange
+        RosterProblem problem = new RosterProblem(monday, monday.plusDays(1));
+        problem.addStaff("alice", Set.of("STAFF"), Map.of());
+        problem.addStaff("bob", Set.of("STAFF"), Map.of());
+        problem.blockDay("bob", monday);
+        problem.addShift("early", monday, 480, "STAFF", Set.of(), 1);
+        problem.addShift("late", monday, 480, "STAFF", Set.of(), 1);
+        problem.addShift("next-day", monday.plusDays(1), 480, "STAFF", Set.of(), 2);
+
+        // Act
+        RosterSolution solution = new RosterSolver(1, Duration.ofMillis(200)).solve(problem);
+
+        // Assert
+        assertHardConstraints(problem, solution);
+        assertThat(solution.getFilledSlots()).isEqualTo(3);
+        assertThat(solution.getUnfilledSlots()).hasSize(1);
+    }
+
+    @Test
+    void solve_BalancesHoursAcrossEquivalentStaff() {
+        // Arrange - 4 people, 8 single-slot shifts over a week
+        RosterProblem problem = new RosterProblem(monday, monday.plusDays(6));
+        for (int i = 0; i < 4; i++) {
+            problem.addStaff("staff-" + i, Set.of("STAFF"), Map.of());
+        }
+        for (int day = 0; day < 4; day++) {
+            problem.addShift("day-" + day, monday.plusDays(day), 480, "STAFF", Set.of(), 2);
+        }
+
+        // Act
+        RosterSolution solution = new RosterSolver(2, Duration.ofMillis(500)).solve(problem);
+
+        // Assert
+        assertThat(solution.isComplete()).isTrue();
+        assertThat(solution.getStaffMinutes().values()).containsOnly(960L);
+    }
+
+    @Test
+    void solve_MonthFor300StaffAndSixLocations_FinishesWithinTenSeconds() {
+        // Arrange
+        RosterProblem problem = SyntheticRosters.month(300, 42L);
+        assertThat(SyntheticRosters.locationsFor(300)).isEqualTo(6);
+
+        // Act
+        long started = System.nanoTime();
+        RosterSolution solution = new RosterSolver(Runtime.getRuntime().availableProcessors(), Duration.ofSeconds(5))
+            .solve(problem);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // Assert
+        LongSummaryStatistics minutes = solution.getStaffMinutes().values().stream()
+            .mapToLong(Long::longValue).summaryStatistics();
+        log.debug("Roster solver: {}/{} slots filled for {} staff in {} ms (minutes min {}, max {})",
+            solution.getFilledSlots(), solution.getTotalSlots(), problem.getStaffCount(), elapsed.toMillis(),
+            minutes.getMin(), minutes.getMax());
+
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(10));
+        assertHardConstraints(problem, solution);
+        assertThat(solution.getFilledSlots()).isGreaterThanOrEqualTo(solution.getTotalSlots() * 95 / 100);
+    }
+
+    private void assertHardConstraints(RosterProblem problem, RosterSolution solution) {
+        Map<String, RosterProblem.Staff> staff = new HashMap<>();
+        for (RosterProblem.Staff member : problem.getStaff()) {
+            staff.put(member.id, member);
+        }
+        Map<String, RosterProblem.Shift> shifts = new HashMap<>();
+        Map<String, Integer> capacity = new HashMap<>();
+        for (RosterProblem.Shift shift : problem.getShifts()) {
+            shifts.put(shift.id, shift);
+            capacity.put(shift.id, shift.openSlots);
+        }
+
+        Set<String> staffDays = new HashSet<>();
+        List<RosterSolution.ProposedAssignment> assignments = solution.getAssignments();
+        for (RosterSolution.ProposedAssignment assignment : assignments) {
+            RosterProblem.Staff member = staff.get(assignment.getStaffId());
+            RosterProblem.Shift shift = shifts.get(assignment.getShiftId());
+
+            assertThat(member.roleIds).contains(shift.roleId);
+            for (String skillId : shift.requiredSkillIds) {
+                assertThat(member.skillLevels.get(skillId))
+                    .as("%s level in %s", member.id, skillId)
+                    .isNotNull()
+                    .isGreaterThanOrEqualTo(problem.getMinimumSkillLevel());
+            }
+            assertThat(member.blockedDays.get(shift.day)).as("%s blocked on day %d", member.id, shift.day).isFalse();
+            assertThat(staffDays.add(member.id + "@" + shift.day))
+                .as("%s works twice on day %d", member.id, shift.day).isTrue();
+            capacity.merge(shift.id, -1, Integer::sum);
+        }
+        assertThat(capacity.values()).allMatch(remaining -> remaining >= 0);
+    }
+}
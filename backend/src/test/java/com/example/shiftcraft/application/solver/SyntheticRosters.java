@@ -0,0 +1,83 @@
+package com.example.shiftcraft.application.solver;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded roster problems shaped like a real deployment: one location per 50 staff, five
+ * shift templates per location each needing six people, three roles, eight skills and
+ * roughly one in ten staff on a week of approved leave.
+ */
+public final class SyntheticRosters {
+
+    public static final LocalDate MONTH_START = LocalDate.of(2024, 6, 1);
+    public static final LocalDate MONTH_END = LocalDate.of(2024, 6, 30);
+
+    private static final List<String> ROLES = List.of("NURSE", "DOCTOR", "TECHNICIAN");
+    private static final int SKILLS = 8;
+    private static final int STAFF_PER_LOCATION = 50;
+    private static final int SLOTS_PER_SHIFT = 6;
+
+    /** Role, shift length in minutes and number of required skills for each template */
+    private static final int[][] TEMPLATES = {
+        {0, 450, 0},
+        {0, 450, 1},
+        {0, 690, 1},
+        {1, 480, 1},
+        {2, 450, 0}
+    };
+
+    private SyntheticRosters() {}
+
+    public static RosterProblem month(int staff, long seed) {
+        return generate(staff, MONTH_START, MONTH_END, seed);
+    }
+
+    public static int locationsFor(int staff) {
+        return Math.max(1, staff / STAFF_PER_LOCATION);
+    }
+
+    public static RosterProblem generate(int staff, LocalDate start, LocalDate end, long seed) {
+        Random random = new Random(seed);
+        RosterProblem problem = new RosterProblem(start, end);
+
+        for (int i = 0; i < staff; i++) {
+            // 60% nurses, 20% doctors, 20% technicians, matching the template mix
+            int bucket = i % 5;
+            String role = ROLES.get(bucket < 3 ? 0 : bucket - 2);
+            Map<String, Integer> skills = new HashMap<>();
+            int skillCount = 3 + random.nextInt(3);
+            while (skills.size() < skillCount) {
+                skills.put("skill-" + random.nextInt(SKILLS), random.nextInt(4));
+            }
+            String staffId = "staff-" + i;
+            problem.addStaff(staffId, Set.of(role), skills);
+
+            if (random.nextInt(10) == 0) {
+                LocalDate leaveStart = start.plusDays(random.nextInt(problem.getDays()));
+                problem.blockDays(staffId, leaveStart, leaveStart.plusDays(6));
+            }
+        }
+
+        int locations = locationsFor(staff);
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            for (int location = 0; location < locations; location++) {
+                for (int t = 0; t < TEMPLATES.length; t++) {
+                    int[] template = TEMPLATES[t];
+                    Set<String> required = new HashSet<>();
+                    while (required.size() < template[2]) {
+                        required.add("skill-" + ((location + t + required.size()) % SKILLS));
+                    }
+                    problem.addShift("L" + location + "-T" + t + "-" + date, date, template[1],
+                        ROLES.get(template[0]), required, SLOTS_PER_SHIFT);
+                }
+            }
+        }
+        return problem;
+    }
+}
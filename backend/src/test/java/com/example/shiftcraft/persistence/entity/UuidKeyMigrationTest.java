@@ -0,0 +1,74 @@
+package com.example.shiftcraft.persistence.entity;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies the Flyway migrations to a fresh Postgres and checks that the uuid keys the
+ * Assignment and TimesheetEntry mappings expect are there, defaulting to v7 values.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UuidKeyMigrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:16")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @Test
+    void migrate_AssignmentAndEntryKeys_AreUuidWithV7Default() throws Exception {
+        // Act
+        Flyway.configure()
+            .dataSource(postgreSQLContainer.getJdbcUrl(), postgreSQLContainer.getUsername(), postgreSQLContainer.getPassword())
+            .locations("classpath:db/migration")
+            .load()
+            .migrate();
+
+        // Assert
+        try (Connection connection = DriverManager.getConnection(postgreSQLContainer.getJdbcUrl(),
+                postgreSQLContainer.getUsername(), postgreSQLContainer.getPassword())) {
+            assertUuidColumn(connection, "assignments", "id", "uuid_generate_v7()");
+            assertUuidColumn(connection, "timesheet_entries", "id", "uuid_generate_v7()");
+            assertUuidColumn(connection, "timesheet_entries", "assignment_id", null);
+
+            // A row inserted from SQL gets a v7 key that sorts after the seeded ones
+            try (Statement insert = connection.createStatement();
+                 ResultSet rs = insert.executeQuery(
+                     "INSERT INTO assignments (shift_instance_id, user_id) " +
+                     "VALUES ('b2222222-2222-2222-2222-222222222222', 'dddddddd-dddd-dddd-dddd-dddddddddddd') " +
+                     "RETURNING id")) {
+                rs.next();
+                UUID id = rs.getObject(1, UUID.class);
+                assertThat(id.version()).isEqualTo(7);
+                assertThat(id.toString()).isGreaterThan("c3333333-3333-3333-3333-333333333333");
+            }
+        }
+    }
+
+    private void assertUuidColumn(Connection connection, String table, String column, String expectedDefault) throws Exception {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT data_type, column_default FROM information_schema.columns " +
+                "WHERE table_name = ? AND column_name = ?")) {
+            query.setString(1, table);
+            query.setString(2, column);
+            try (ResultSet rs = query.executeQuery()) {
+                assertThat(rs.next()).as(table + "." + column).isTrue();
+                assertThat(rs.getString("data_type")).isEqualTo("uuid");
+                assertThat(rs.getString("column_default")).isEqualTo(expectedDefault);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.shiftcraft.persistence.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_SetsVersionVariantAndTimestamp() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID id = UuidV7Generator.next();
+
+        // Assert
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertThat(timestamp).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void next_IsStrictlyIncreasingWithinAMillisecond() {
+        // Act - far more than fit in one millisecond's counter
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        // Assert - ordered both as UUIDs and as the strings String ids are stored as
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+            assertThat(ids.get(i).toString()).isGreaterThan(ids.get(i - 1).toString());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.shiftcraft.persistence.entity;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts the same number of assignment-shaped rows keyed by random v4 and by time-ordered v7
+ * UUIDs into native uuid columns, and compares insert time and primary key index size.
+ * Row count can be raised with -Dbench.uuid.rows.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UuidV7IndexSizeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidV7IndexSizeTest.class);
+
+    private static final int ROWS = Integer.getInteger("bench.uuid.rows", 200_000);
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:16")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @Test
+    void timeOrderedKeys_KeepPrimaryKeyIndexSmaller() throws Exception {
+        try (Connection connection = DriverManager.getConnection(postgreSQLContainer.getJdbcUrl(),
+                postgreSQLContainer.getUsername(), postgreSQLContainer.getPassword())) {
+            // Act
+            long randomMillis = insert(connection, "assignments_v4", UUID::randomUUID);
+            long orderedMillis = insert(connection, "assignments_v7", UuidV7Generator::next);
+            long randomIndexBytes = indexSize(connection, "assignments_v4_pkey");
+            long orderedIndexBytes = indexSize(connection, "assignments_v7_pkey");
+
+            // Assert
+            log.debug("{} inserts: v4 keys {} ms, index {} kB; v7 keys {} ms, index {} kB",
+                ROWS, randomMillis, randomIndexBytes / 1024, orderedMillis, orderedIndexBytes / 1024);
+
+            // Appends split the rightmost page and leave it full; random keys split pages half-empty
+            assertThat(orderedIndexBytes).isLessThan(randomIndexBytes * 85 / 100);
+        }
+    }
+
+    private long insert(Connection connection, String table, Supplier<UUID> keys) throws Exception {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, shift_instance_id uuid NOT NULL, " +
+                "user_id varchar(255) NOT NULL, status varchar(20) NOT NULL)");
+        }
+
+        connection.setAutoCommit(false);
+        long started = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, shift_instance_id, user_id, status) VALUES (?, ?, ?, 'ACTIVE')")) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setObject(1, keys.get());
+                insert.setObject(2, UUID.randomUUID());
+                insert.setString(3, "user-" + (i % 1000));
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+
+    private long indexSize(Connection connection, String index) throws Exception {
+        try (PreparedStatement query = connection.prepareStatement("SELECT pg_relation_size(?::regclass)")) {
+            query.setString(1, index);
+            try (ResultSet rs = query.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
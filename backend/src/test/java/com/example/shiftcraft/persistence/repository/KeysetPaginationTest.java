@@ -0,0 +1,133 @@
+package com.example.shiftcraft.persistence.repository;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.LeaveRequest;
+import com.example.shiftcraft.persistence.entity.Timesheet;
+import com.example.shiftcraft.persistence.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class KeysetPaginationTest {
+
+    private static final int USERS = 10;
+    private static final int WEEKS = 6;
+    private static final int PAGE_SIZE = 25;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private Statistics statistics;
+    private final LocalDateTime base = LocalDateTime.of(2024, 6, 1, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        int row = 0;
+        for (int u = 0; u < USERS; u++) {
+            User user = TestFixtures.user("paged" + u + "@example.com", "Paged", "User" + u);
+            entityManager.persist(user);
+            for (int w = 0; w < WEEKS; w++, row++) {
+                LocalDate weekStart = LocalDate.of(2024, 6, 3).plusWeeks(w);
+                Timesheet timesheet = new Timesheet(user, weekStart, weekStart.plusDays(6));
+                // Every three rows share a timestamp so that ties must be broken by id
+                timesheet.setGeneratedAt(base.plusMinutes(row / 3));
+                timesheet.setStatus(row % 2 == 0 ? Timesheet.TimesheetStatus.SUBMITTED : Timesheet.TimesheetStatus.APPROVED);
+                entityManager.persist(timesheet);
+
+                LeaveRequest leave = new LeaveRequest(user, weekStart, weekStart.plusDays(1),
+                    LeaveRequest.LeaveType.VACATION, "Week " + w);
+                leave.setRequestedAt(base.plusMinutes(row / 3));
+                entityManager.persist(leave);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void timesheetPages_WalkEveryRowOnceNewestFirst_InOneStatementPerPage() {
+        List<Timesheet> walked = new ArrayList<>();
+        List<Long> statementsPerPage = new ArrayList<>();
+        Window<Timesheet> page = null;
+        do {
+            statistics.clear();
+            ScrollPosition position = page == null ? ScrollPosition.keyset() : page.positionAt(page.size() - 1);
+            page = timesheetRepository.findAllByOrderByGeneratedAtDescIdDesc(position, Limit.of(PAGE_SIZE));
+            page.forEach(timesheet -> timesheet.getUser().getFullName());
+            statementsPerPage.add(statistics.getPrepareStatementCount());
+            walked.addAll(page.getContent());
+        } while (page.hasNext());
+
+        assertThat(walked).hasSize(USERS * WEEKS);
+        assertThat(walked).extracting(Timesheet::getId).doesNotHaveDuplicates();
+        assertThat(walked).isSortedAccordingTo(Comparator.comparing(Timesheet::getGeneratedAt)
+            .thenComparing(Timesheet::getId).reversed());
+        // The last page costs what the first does: one seek, users joined in
+        assertThat(statementsPerPage).hasSize(3).containsOnly(1L);
+    }
+
+    @Test
+    void submittedTimesheetPages_OnlyReturnSubmittedOldestFirst() {
+        Window<Timesheet> first = timesheetRepository.findByStatusOrderByGeneratedAtAscIdAsc(
+            Timesheet.TimesheetStatus.SUBMITTED, ScrollPosition.keyset(), Limit.of(PAGE_SIZE));
+        Window<Timesheet> second = timesheetRepository.findByStatusOrderByGeneratedAtAscIdAsc(
+            Timesheet.TimesheetStatus.SUBMITTED, first.positionAt(first.size() - 1), Limit.of(PAGE_SIZE));
+
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.hasNext()).isFalse();
+        List<Timesheet> walked = new ArrayList<>(first.getContent());
+        walked.addAll(second.getContent());
+        assertThat(walked).hasSize(USERS * WEEKS / 2)
+            .allMatch(timesheet -> timesheet.getStatus() == Timesheet.TimesheetStatus.SUBMITTED)
+            .isSortedAccordingTo(Comparator.comparing(Timesheet::getGeneratedAt).thenComparing(Timesheet::getId));
+        assertThat(timesheetRepository.countByStatus(Timesheet.TimesheetStatus.SUBMITTED)).isEqualTo(USERS * WEEKS / 2);
+    }
+
+    @Test
+    void pendingLeavePages_SkipDecidedRequestsAndKeepOrderAcrossPages() {
+        LeaveRequest approved = leaveRequestRepository.findPendingRequests().get(0);
+        approved.setStatus(LeaveRequest.LeaveStatus.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<LeaveRequest> walked = new ArrayList<>();
+        Window<LeaveRequest> page = leaveRequestRepository.findPendingRequests(ScrollPosition.keyset(), Limit.of(PAGE_SIZE));
+        walked.addAll(page.getContent());
+        while (page.hasNext()) {
+            page = leaveRequestRepository.findPendingRequests(page.positionAt(page.size() - 1), Limit.of(PAGE_SIZE));
+            walked.addAll(page.getContent());
+        }
+
+        assertThat(walked).hasSize(USERS * WEEKS - 1)
+            .extracting(LeaveRequest::getId)
+            .doesNotContain(approved.getId())
+            .doesNotHaveDuplicates();
+        assertThat(walked).isSortedAccordingTo(Comparator.comparing(LeaveRequest::getRequestedAt)
+            .thenComparing(LeaveRequest::getId));
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.shiftcraft.persistence.repository;
+
+import com.example.shiftcraft.persistence.entity.Timesheet;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL behind the repository queries the scheduling, approval and timesheet
+ * pages depend on, against Postgres holding two years of data for 1,000 staff, and fails when a
+ * plan falls back to a sequential scan of one of the large tables. The statements and their bound
+ * values are recorded at the JDBC layer, so the plans are for exactly what Hibernate sends. The
+ * schema, indexes included, is generated from the entity mappings, as it is for the application.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(RepositoryQueryPlanTest.RecordingDataSourceConfig.class)
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+class RepositoryQueryPlanTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 3);
+    private static final Set<String> LARGE_TABLES =
+        Set.of("shift_instances", "assignments", "leave_requests", "timesheets", "timesheet_entries");
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:16")
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ShiftInstanceRepository shiftInstanceRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+
+    @Autowired
+    private TimesheetEntryRepository timesheetEntryRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        String today = "DATE '" + TODAY + "'";
+
+        // 1,000 staff across 5 locations and 25 shift templates
+        jdbcTemplate.execute("INSERT INTO roles (id, name) VALUES ('role-staff', 'STAFF')");
+        jdbcTemplate.execute("INSERT INTO users (id, email, password_hash, first_name, last_name, status, created_at) " +
+            "SELECT 'user-' || n, 'user' || n || '@example.com', 'hash', 'Staff', 'Member ' || n, 'ACTIVE', TIMESTAMP '2022-01-01' " +
+            "FROM generate_series(1, 1000) n");
+        jdbcTemplate.execute("INSERT INTO user_roles (user_id, role_id) SELECT 'user-' || n, 'role-staff' FROM generate_series(1, 1000) n");
+        jdbcTemplate.execute("INSERT INTO locations (id, name, timezone) SELECT 'loc-' || n, 'Location ' || n, 'UTC' FROM generate_series(1, 5) n");
+        jdbcTemplate.execute("INSERT INTO shift_templates (id, name, location_id, role_id, start_time, end_time, break_minutes, is_active, max_assignments) " +
+            "SELECT 'tpl-' || t, 'Template ' || t, 'loc-' || (1 + t % 5), 'role-staff', TIME '09:00', TIME '17:00', 30, true, 4 " +
+            "FROM generate_series(1, 25) t");
+
+        // Two years of published shifts plus four weeks of drafts, four people on each
+        jdbcTemplate.execute("INSERT INTO shift_instances (id, template_id, shift_date, status) " +
+            "SELECT 'si-' || d || '-' || t, 'tpl-' || t, " + today + " - 730 + d, CASE WHEN d < 730 THEN 'PUBLISHED' ELSE 'DRAFT' END " +
+            "FROM generate_series(0, 757) d CROSS JOIN generate_series(1, 25) t");
+        jdbcTemplate.execute("INSERT INTO assignments (id, shift_instance_id, user_id, status, assigned_at, assigned_by) " +
+            "SELECT 'a-' || d || '-' || t || '-' || k, 'si-' || d || '-' || t, 'user-' || (1 + (d * 100 + t * 4 + k) % 1000), " +
+            "CASE WHEN k = 4 AND d % 10 = 0 THEN 'CANCELLED' ELSE 'ACTIVE' END, TIMESTAMP '2022-01-01', 'manager' " +
+            "FROM generate_series(0, 757) d CROSS JOIN generate_series(1, 25) t CROSS JOIN generate_series(1, 4) k");
+
+        // Twenty leave requests per person, one in ten still pending
+        jdbcTemplate.execute("INSERT INTO leave_requests (id, user_id, start_date, end_date, leave_type, status, requested_at) " +
+            "SELECT 'lr-' || n, 'user-' || (1 + n % 1000), " + today + " - 730 + (n * 37) % 758, " +
+            today + " - 730 + (n * 37) % 758 + n % 7, 'VACATION', " +
+            "CASE WHEN n % 10 = 0 THEN 'PENDING' WHEN n % 10 < 3 THEN 'REJECTED' ELSE 'APPROVED' END, " +
+            "TIMESTAMP '2022-01-01' + n * INTERVAL '1 hour' " +
+            "FROM generate_series(1, 20000) n");
+
+        // A year of weekly timesheets per person with five entries each; last week's are awaiting approval
+        jdbcTemplate.execute("INSERT INTO timesheets (id, user_id, period_start, period_end, status, generated_at, total_minutes) " +
+            "SELECT 'ts-' || u || '-' || w, 'user-' || u, " + today + " - 7 * (52 - w), " + today + " - 7 * (52 - w) + 6, " +
+            "CASE WHEN w < 51 THEN 'APPROVED' WHEN u % 2 = 0 THEN 'SUBMITTED' ELSE 'DRAFT' END, " +
+            "(" + today + " - 7 * (51 - w)) + u * INTERVAL '1 second', 2250 " +
+            "FROM generate_series(1, 1000) u CROSS JOIN generate_series(0, 51) w");
+        jdbcTemplate.execute("INSERT INTO timesheet_entries (id, timesheet_id, work_date, start_time, end_time, break_minutes, worked_minutes, entry_type) " +
+            "SELECT 'te-' || u || '-' || w || '-' || k, 'ts-' || u || '-' || w, " + today + " - 7 * (52 - w) + k, " +
+            "TIME '09:00', TIME '17:00', 30, 450, 'SHIFT' " +
+            "FROM generate_series(1, 1000) u CROSS JOIN generate_series(0, 51) w CROSS JOIN generate_series(0, 4) k");
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void weeklySchedule_UsesIndexes() {
+        assertNoSequentialScans(() -> shiftInstanceRepository.findPublishedShiftsInPeriod(TODAY.minusWeeks(1), TODAY.minusDays(1)));
+        assertNoSequentialScans(() -> assignmentRepository.findActiveAssignmentsInPeriod(TODAY, TODAY.plusDays(6)));
+        assertNoSequentialScans(() -> assignmentRepository.countActiveAssignmentsPerShiftInPeriod(TODAY, TODAY.plusDays(6)));
+    }
+
+    @Test
+    void shiftLookups_UseIndexes() {
+        assertNoSequentialScans(() -> shiftInstanceRepository.findDraftShiftsInPeriod(TODAY, TODAY.plusDays(6)));
+        assertNoSequentialScans(() -> shiftInstanceRepository.findByLocationAndDate("loc-1", TODAY));
+        assertNoSequentialScans(() -> assignmentRepository.findByUserIdAndDateRange("user-42", TODAY.minusWeeks(4), TODAY));
+    }
+
+    @Test
+    void leaveQueries_UseIndexes() {
+        assertNoSequentialScans(() -> leaveRequestRepository.findPendingRequests(ScrollPosition.keyset(), Limit.of(25)));
+        assertNoSequentialScans(() -> leaveRequestRepository.findApprovedLeaveInPeriod(TODAY, TODAY.plusDays(27)));
+        assertNoSequentialScans(() -> leaveRequestRepository.findUserLeaveInPeriod("user-42", TODAY, TODAY.plusDays(27)));
+    }
+
+    @Test
+    void timesheetQueries_UseIndexes() {
+        assertNoSequentialScans(() -> timesheetRepository.findAllByOrderByGeneratedAtDescIdDesc(ScrollPosition.keyset(), Limit.of(25)));
+        assertNoSequentialScans(() -> timesheetRepository.findByStatusOrderByGeneratedAtAscIdAsc(
+            Timesheet.TimesheetStatus.SUBMITTED, ScrollPosition.keyset(), Limit.of(25)));
+        assertNoSequentialScans(() -> timesheetRepository.findUserIdsWithTimesheetForPeriod(TODAY.minusWeeks(1), TODAY.minusDays(1)));
+        assertNoSequentialScans(() -> timesheetEntryRepository.findByTimesheetIdAndDateRange(
+            "ts-42-51", TODAY.minusWeeks(1), TODAY.minusDays(1)));
+    }
+
+    private void assertNoSequentialScans(Runnable query) {
+        RecordingDataSourceConfig.STATEMENTS.clear();
+        query.run();
+        List<RecordedStatement> statements = new ArrayList<>(RecordingDataSourceConfig.STATEMENTS);
+
+        assertThat(statements).isNotEmpty();
+        for (RecordedStatement statement : statements) {
+            JsonNode plan = explain(statement);
+            List<String> scanned = new ArrayList<>();
+            collectSequentialScans(plan, scanned);
+            assertThat(scanned)
+                .as("Sequential scan in plan for%n%s%n%s", statement.sql(), plan.toPrettyString())
+                .isEmpty();
+        }
+    }
+
+    private JsonNode explain(RecordedStatement statement) {
+        String json = jdbcTemplate.query("EXPLAIN (FORMAT JSON) " + statement.sql(),
+            ps -> {
+                for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                    ps.setObject(parameter.getKey(), parameter.getValue());
+                }
+            },
+            rs -> rs.next() ? rs.getString(1) : null);
+        try {
+            return objectMapper.readTree(json).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + json, e);
+        }
+    }
+
+    private void collectSequentialScans(JsonNode node, List<String> scanned) {
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            scanned.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, scanned);
+        }
+    }
+
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {}
+
+    /**
+     * Wraps the data source so every executed prepared statement is recorded with its bound values
+     */
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(DataSource.class, dataSource, RecordingDataSourceConfig::onDataSource) : bean;
+                }
+            };
+        }
+
+        private static Object onDataSource(Object target, String method, Object[] args, Object result) {
+            return method.equals("getConnection") ? wrap(Connection.class, (Connection) result, RecordingDataSourceConfig::onConnection) : result;
+        }
+
+        private static Object onConnection(Object target, String method, Object[] args, Object result) {
+            if (!method.equals("prepareStatement")) {
+                return result;
+            }
+            String sql = (String) args[0];
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return wrap(PreparedStatement.class, (PreparedStatement) result, (statement, name, arguments, returned) -> {
+                if (name.startsWith("set") && arguments != null && arguments.length >= 2 && arguments[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : arguments[1]);
+                } else if (name.equals("executeQuery") || name.equals("execute")) {
+                    STATEMENTS.add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                }
+                return returned;
+            });
+        }
+
+        private static <T> T wrap(Class<T> type, T target, Interceptor interceptor) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                try {
+                    return interceptor.after(target, method.getName(), args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        @FunctionalInterface
+        private interface Interceptor {
+            Object after(Object target, String method, Object[] args, Object result);
+        }
+    }
+}
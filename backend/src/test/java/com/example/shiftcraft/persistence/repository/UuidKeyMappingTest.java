@@ -0,0 +1,90 @@
+package com.example.shiftcraft.persistence.repository;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.Assignment;
+import com.example.shiftcraft.persistence.entity.Location;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.ShiftInstance;
+import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import com.example.shiftcraft.persistence.entity.Timesheet;
+import com.example.shiftcraft.persistence.entity.TimesheetEntry;
+import com.example.shiftcraft.persistence.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assignment and timesheet entry keys are native uuid columns, matching V1, rather than
+ * varchar columns holding the UUID text.
+ */
+@DataJpaTest
+class UuidKeyMappingTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private TimesheetEntryRepository timesheetEntryRepository;
+
+    @Test
+    void schema_AssignmentAndEntryKeys_AreUuidColumns() {
+        // Act & Assert
+        assertThat(columnType("assignments", "id")).isEqualTo("UUID");
+        assertThat(columnType("timesheet_entries", "id")).isEqualTo("UUID");
+        assertThat(columnType("timesheet_entries", "assignment_id")).isEqualTo("UUID");
+    }
+
+    @Test
+    void persist_AssignmentAndEntry_GetV7KeysAndLoadByUuid() {
+        // Arrange
+        Location location = TestFixtures.location("Keyed Clinic");
+        Role role = TestFixtures.staffRole();
+        User user = TestFixtures.user("keyed@example.com", "Keyed", "User");
+        ShiftTemplate template = TestFixtures.dayShift("Keyed Day", location, role);
+        ShiftInstance shift = new ShiftInstance(template, LocalDate.of(2024, 6, 3));
+        Assignment assignment = new Assignment(shift, user, "manager");
+        Timesheet timesheet = new Timesheet(user, LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9));
+        TimesheetEntry entry = new TimesheetEntry(timesheet, shift.getShiftDate(), LocalTime.of(9, 0), LocalTime.of(17, 0));
+        entry.setAssignment(assignment);
+
+        // Act
+        entityManager.persist(location);
+        entityManager.persist(role);
+        entityManager.persist(user);
+        entityManager.persist(template);
+        entityManager.persist(shift);
+        entityManager.persist(assignment);
+        entityManager.persist(timesheet);
+        entityManager.persist(entry);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        UUID assignmentId = assignment.getId();
+        assertThat(assignmentId.version()).isEqualTo(7);
+        assertThat(entry.getId().version()).isEqualTo(7);
+        assertThat(assignmentRepository.findById(assignmentId)).isPresent();
+        assertThat(timesheetEntryRepository.findByAssignmentId(assignmentId))
+            .extracting(TimesheetEntry::getId)
+            .containsExactly(entry.getId());
+    }
+
+    private String columnType(String table, String column) {
+        return (String) entityManager.createNativeQuery(
+                "SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS " +
+                "WHERE LOWER(TABLE_NAME) = ?1 AND LOWER(COLUMN_NAME) = ?2")
+            .setParameter(1, table)
+            .setParameter(2, column)
+            .getSingleResult();
+    }
+}
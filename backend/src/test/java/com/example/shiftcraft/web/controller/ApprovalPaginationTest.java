@@ -0,0 +1,92 @@
+package com.example.shiftcraft.web.controller;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.LeaveRequest;
+import com.example.shiftcraft.persistence.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(properties = "app.listings.page-size=4")
+class ApprovalPaginationTest {
+
+    private static final int REQUESTS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        User user = TestFixtures.user("paged-leave@example.com", "Paged", "Leave");
+        entityManager.persist(user);
+        for (int i = 0; i < REQUESTS; i++) {
+            LeaveRequest leave = new LeaveRequest(user, LocalDate.of(2024, 7, 1).plusWeeks(i),
+                LocalDate.of(2024, 7, 2).plusWeeks(i), LeaveRequest.LeaveType.VACATION, "Request " + i);
+            // Sub-second timestamps must survive the round trip through the cursor
+            leave.setRequestedAt(LocalDateTime.of(2024, 6, 1, 9, 0, 0, 123_456_000).plusSeconds(i / 2));
+            entityManager.persist(leave);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void approvalsPage_FollowingNextLinks_VisitsEveryPendingRequestOnce() throws Exception {
+        List<String> reasons = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MvcResult result = mockMvc.perform(cursor == null ? get("/approvals") : get("/approvals").param("leaveAfter", cursor))
+                .andExpect(status().isOk())
+                .andReturn();
+            @SuppressWarnings("unchecked")
+            List<LeaveRequest> page = (List<LeaveRequest>) result.getModelAndView().getModel().get("pendingLeaveRequests");
+            page.forEach(request -> reasons.add(request.getReason()));
+            cursor = (String) result.getModelAndView().getModel().get("nextLeavePage");
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        // Pairs share a timestamp and are ordered by id, so only the set is fixed
+        assertThat(reasons).containsExactlyInAnyOrder("Request 0", "Request 1", "Request 2", "Request 3", "Request 4",
+            "Request 5", "Request 6", "Request 7", "Request 8", "Request 9");
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void approvalsPage_UnreadableCursor_StartsFromFirstPage() throws Exception {
+        MvcResult result = mockMvc.perform(get("/approvals").param("leaveAfter", "not-a-cursor"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        @SuppressWarnings("unchecked")
+        List<LeaveRequest> page = (List<LeaveRequest>) result.getModelAndView().getModel().get("pendingLeaveRequests");
+        assertThat(page).extracting(LeaveRequest::getReason).hasSize(4).contains("Request 2", "Request 3");
+    }
+}
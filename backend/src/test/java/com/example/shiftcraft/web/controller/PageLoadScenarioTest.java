@@ -0,0 +1,200 @@
+package com.example.shiftcraft.web.controller;
+
+import com.example.shiftcraft.application.config.SyntheticDataGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scripted HTTP load on the schedule, approvals and timesheet pages of a network seeded by
+ * SyntheticDataGenerator. Each page is driven by concurrent signed-in managers in turn, and
+ * p50/p95/p99 latency and SQL statements per request are written to the debug log per page.
+ * Opt-in: -Dbench.load=true, with -Dbench.load.db=postgres to run on a Postgres container
+ * instead of H2. Load is sized with -Dbench.load.clients and -Dbench.load.requests, data with
+ * -Dapp.loadtest.locations, -Dapp.loadtest.staff-per-location and -Dapp.loadtest.weeks.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@EnabledIfSystemProperty(named = "bench.load", matches = "true")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PageLoadScenarioTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PageLoadScenarioTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("bench.load.clients", 4);
+    private static final int REQUESTS = Integer.getInteger("bench.load.requests", 50);
+    private static final int WARMUP_REQUESTS = 5;
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private static PostgreSQLContainer<?> postgreSQLContainer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.loadtest.locations}")
+    private int locations;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (!"postgres".equals(System.getProperty("bench.load.db"))) {
+            return;
+        }
+        postgreSQLContainer = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("shiftcraft")
+            .withUsername("shift")
+            .withPassword("shift");
+        postgreSQLContainer.start();
+        String url = postgreSQLContainer.getJdbcUrl();
+        registry.add("spring.datasource.url", () -> url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgreSQLContainer != null) {
+            postgreSQLContainer.stop();
+        }
+    }
+
+    @Test
+    void pageScenario_ReportsLatencyPercentilesAndStatementsPerRequest() throws Exception {
+        // Arrange - every client signs in as a different clinic manager
+        int clients = Math.min(CLIENTS, locations);
+        List<HttpClient> sessions = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            sessions.add(signIn(SyntheticDataGenerator.managerEmail(i)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        log.debug("{} clients x {} requests per page on {}", clients, REQUESTS,
+            postgreSQLContainer != null ? "Postgres" : "H2");
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            for (String page : List.of("/schedule", "/approvals", "/timesheets")) {
+                // Act
+                run(executor, sessions, page, WARMUP_REQUESTS);
+                long statementsBefore = statistics.getPrepareStatementCount();
+                long[] latencies = run(executor, sessions, page, REQUESTS);
+                double statementsPerRequest =
+                    (double) (statistics.getPrepareStatementCount() - statementsBefore) / latencies.length;
+
+                // Assert
+                log.debug("{}: {} requests, p50 {} ms, p95 {} ms, p99 {} ms, {} statements/request", page,
+                    latencies.length, String.format("%.1f", percentile(latencies, 50)),
+                    String.format("%.1f", percentile(latencies, 95)), String.format("%.1f", percentile(latencies, 99)),
+                    String.format("%.1f", statementsPerRequest));
+                assertThat(latencies).hasSize(clients * REQUESTS);
+                assertThat(statementsPerRequest).isPositive();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Every client requests the page {@code requests} times back to back; returns all latencies in nanoseconds
+     */
+    private long[] run(ExecutorService executor, List<HttpClient> sessions, String page, int requests) throws Exception {
+        List<Future<long[]>> results = new ArrayList<>();
+        for (HttpClient session : sessions) {
+            results.add(executor.submit(() -> {
+                long[] latencies = new long[requests];
+                for (int i = 0; i < requests; i++) {
+                    long started = System.nanoTime();
+                    HttpResponse<String> response = session.send(get(page), HttpResponse.BodyHandlers.ofString());
+                    latencies[i] = System.nanoTime() - started;
+                    assertThat(response.statusCode()).as("GET %s", page).isEqualTo(200);
+                }
+                return latencies;
+            }));
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            all = Arrays.copyOf(all, all.length + latencies.length);
+            System.arraycopy(latencies, 0, all, all.length - latencies.length, latencies.length);
+        }
+        return all;
+    }
+
+    private HttpClient signIn(String email) throws Exception {
+        HttpClient session = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+        String loginPage = session.send(get("/login"), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF_TOKEN.matcher(loginPage);
+        assertThat(csrf.find()).as("CSRF token on the login page").isTrue();
+
+        String form = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+            + "&password=" + URLEncoder.encode(SyntheticDataGenerator.PASSWORD, StandardCharsets.UTF_8)
+            + "&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> response = session.send(HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        assertThat(response.headers().firstValue("Location")).as("redirect after signing in as %s", email)
+            .hasValueSatisfying(location -> assertThat(location).endsWith("/schedule"));
+        return session;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Nearest-rank percentile, in milliseconds
+     */
+    private static double percentile(long[] latencies, int percentile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+    }
+}
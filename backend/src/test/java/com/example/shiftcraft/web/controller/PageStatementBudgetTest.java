@@ -0,0 +1,133 @@
+package com.example.shiftcraft.web.controller;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.application.config.StatementBudget;
+import com.example.shiftcraft.persistence.entity.*;
+import com.example.shiftcraft.web.security.CustomUserDetailsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the manager's main pages. Each page renders data for every staff member,
+ * so a lazy association touched per row shows up as a repeated statement shape and fails the test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class PageStatementBudgetTest {
+
+    private static final int STAFF = 30;
+    private static final int LOCATIONS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LocalDate weekStart = LocalDate.of(2024, 6, 10);
+    private User manager;
+    private User firstStaff;
+
+    @BeforeEach
+    void setUp() {
+        Role managerRole = new Role("MANAGER");
+        Role staffRole = TestFixtures.staffRole();
+        entityManager.persist(managerRole);
+        entityManager.persist(staffRole);
+        manager = TestFixtures.user("budget-manager@example.com", "Budget", "Manager");
+        manager.setRoles(Set.of(managerRole));
+        entityManager.persist(manager);
+
+        List<ShiftInstance> shifts = new ArrayList<>();
+        for (int l = 0; l < LOCATIONS; l++) {
+            Location location = TestFixtures.location("Budget Clinic " + l);
+            entityManager.persist(location);
+            for (int t = 0; t < 2; t++) {
+                ShiftTemplate template = new ShiftTemplate("Shift " + l + "-" + t, location, staffRole,
+                    LocalTime.of(7 + t * 8, 0), LocalTime.of(15 + t * 8, 0));
+                entityManager.persist(template);
+                for (int day = 0; day < 5; day++) {
+                    ShiftInstance shift = new ShiftInstance(template, weekStart.plusDays(day));
+                    shift.setStatus(ShiftInstance.ShiftStatus.PUBLISHED);
+                    entityManager.persist(shift);
+                    shifts.add(shift);
+                }
+            }
+        }
+
+        for (int i = 0; i < STAFF; i++) {
+            User staff = TestFixtures.user("budget-staff" + i + "@example.com", "Staff", "Member" + i);
+            staff.setRoles(Set.of(staffRole));
+            entityManager.persist(staff);
+            if (i == 0) {
+                firstStaff = staff;
+            }
+            for (int day = 0; day < 5; day++) {
+                entityManager.persist(new Assignment(shifts.get((i + day * 6) % shifts.size()), staff, manager.getId()));
+            }
+            entityManager.persist(new LeaveRequest(staff, weekStart.plusWeeks(2), weekStart.plusWeeks(2).plusDays(1),
+                LeaveRequest.LeaveType.VACATION, "Budget"));
+            Timesheet timesheet = new Timesheet(staff, weekStart, weekStart.plusDays(6));
+            timesheet.setStatus(Timesheet.TimesheetStatus.SUBMITTED);
+            entityManager.persist(timesheet);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // Assignments, published shifts and leave; a lazy template per shift would repeat
+    @Test
+    @StatementBudget(statements = 3, repeats = 1)
+    void schedulePage_FullWeek_StaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/schedule").param("date", weekStart.toString()).with(signedInManager()))
+            .andExpect(status().isOk());
+    }
+
+    // User, own assignments and own leave; the week spans all three locations, so a lazy template.location would repeat
+    @Test
+    @StatementBudget(statements = 3, repeats = 1)
+    void schedulePage_StaffWeek_StaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/schedule").param("date", weekStart.toString())
+                .with(user(new CustomUserDetailsService.CustomUserPrincipal(firstStaff))))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @StatementBudget(statements = 2, repeats = 1)
+    void approvalsPage_StaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/approvals").with(signedInManager()))
+            .andExpect(status().isOk());
+    }
+
+    // Page, two counts, staff with roles, and one batch of entries for the whole page
+    @Test
+    @StatementBudget(statements = 5, repeats = 1)
+    void timesheetsPage_StaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/timesheets").with(signedInManager()))
+            .andExpect(status().isOk());
+    }
+
+    private RequestPostProcessor signedInManager() {
+        return user(new CustomUserDetailsService.CustomUserPrincipal(manager));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.shiftcraft.web.controller;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.Location;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.ShiftInstance;
+import com.example.shiftcraft.persistence.entity.ShiftTemplate;
+import com.example.shiftcraft.persistence.entity.User;
+import com.example.shiftcraft.persistence.repository.ShiftInstanceRepository;
+import com.example.shiftcraft.web.security.CustomUserDetailsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ScheduleControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ShiftInstanceRepository shiftInstanceRepository;
+
+    private final LocalDate weekStart = LocalDate.of(2033, 5, 2);
+    private final LocalDate weekEnd = weekStart.plusDays(6);
+    private User manager;
+    private User staff;
+    private Location location;
+    private ShiftTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        Role managerRole = new Role("MANAGER");
+        Role staffRole = TestFixtures.staffRole();
+        entityManager.persist(managerRole);
+        entityManager.persist(staffRole);
+        manager = TestFixtures.user("schedule-manager@example.com", "Schedule", "Manager");
+        manager.setRoles(Set.of(managerRole));
+        entityManager.persist(manager);
+        staff = TestFixtures.user("schedule-staff@example.com", "Schedule", "Staff");
+        staff.setRoles(Set.of(staffRole));
+        entityManager.persist(staff);
+        location = TestFixtures.location("Schedule Clinic");
+        entityManager.persist(location);
+        template = TestFixtures.dayShift("Schedule Day", location, staffRole);
+        entityManager.persist(template);
+        entityManager.flush();
+    }
+
+    @Test
+    void rollOutThenPublish_ManagerCreatesAndPublishesTheWeek() throws Exception {
+        // Act
+        mockMvc.perform(post("/schedule/roll-out")
+                .param("startDate", weekStart.toString())
+                .param("endDate", weekEnd.toString())
+                .param("locationId", location.getId())
+                .with(signedIn(manager)).with(csrf()))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(redirectedUrl("/schedule?date=" + weekStart))
+            .andExpect(flash().attribute("successMessage", "Created 7 draft shifts"));
+        mockMvc.perform(post("/schedule/publish")
+                .param("startDate", weekStart.toString())
+                .param("endDate", weekEnd.toString())
+                .param("locationId", location.getId())
+                .with(signedIn(manager)).with(csrf()))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(flash().attribute("successMessage", "Published 7 shifts"));
+
+        // Assert
+        assertThat(shiftInstanceRepository.findByTemplateId(template.getId()))
+            .hasSize(7)
+            .allMatch(ShiftInstance::isPublished)
+            .allMatch(instance -> manager.getId().equals(instance.getPublishedBy()));
+    }
+
+    @Test
+    void publish_Staff_IsForbidden() throws Exception {
+        // Arrange
+        entityManager.persist(new ShiftInstance(template, weekStart));
+        entityManager.flush();
+
+        // Act
+        mockMvc.perform(post("/schedule/publish")
+                .param("startDate", weekStart.toString())
+                .param("endDate", weekEnd.toString())
+                .with(signedIn(staff)).with(csrf()))
+            .andExpect(status().isForbidden());
+
+        // Assert
+        assertThat(shiftInstanceRepository.findByTemplateId(template.getId())).noneMatch(ShiftInstance::isPublished);
+    }
+
+    @Test
+    void rollOut_Staff_IsForbidden() throws Exception {
+        mockMvc.perform(post("/schedule/roll-out")
+                .param("startDate", weekStart.toString())
+                .param("endDate", weekEnd.toString())
+                .with(signedIn(staff)).with(csrf()))
+            .andExpect(status().isForbidden());
+    }
+
+    private RequestPostProcessor signedIn(User user) {
+        return user(new CustomUserDetailsService.CustomUserPrincipal(user));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+// One hashing thread with one queued sign-in, so two slow checks saturate the pool
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.security.hashing.threads=1",
+    "app.security.hashing.queue-per-thread=1"
+})
+class ApiAuthenticationTest {
+
+    // Well-formed cost-14 hash: checking any password against it keeps a hashing thread busy
+    private static final String SLOW_HASH = "$2a$14$abcdefghijklmnopqrstuu" + "ABCDEFGHIJKLMNOPQRSTUVWXYZ01234";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        Role managerRole = new Role("MANAGER");
+        entityManager.persist(managerRole);
+        manager = new User("api-manager@example.com", passwordEncoder.encode("secret123"), "Api", "Manager");
+        manager.setRoles(Set.of(managerRole));
+        entityManager.persist(manager);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void issueToken_ThenCallApi_WithoutSessionOrUserLoad() throws Exception {
+        // Arrange
+        MvcResult issued = mockMvc.perform(post("/api/auth/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"api-manager@example.com\",\"password\":\"secret123\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tokenType").value("Bearer"))
+            .andExpect(request().sessionAttributeDoesNotExist("SPRING_SECURITY_CONTEXT"))
+            .andReturn();
+        JsonNode body = objectMapper.readTree(issued.getResponse().getContentAsString());
+        String token = body.get("token").asText();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act & Assert
+        MvcResult me = mockMvc.perform(get("/api/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(manager.getId()))
+            .andExpect(jsonPath("$.email").value("api-manager@example.com"))
+            .andExpect(jsonPath("$.roles", contains("MANAGER")))
+            .andReturn();
+
+        assertThat(me.getRequest().getSession(false)).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void issueToken_WrongPassword_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/auth/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"api-manager@example.com\",\"password\":\"wrong\"}"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void issueToken_HashingPoolSaturated_ReturnsServiceUnavailableWithRetryAfter() throws Exception {
+        whileHashingPoolSaturated(() ->
+            // Act & Assert
+            mockMvc.perform(post("/api/auth/token")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"email\":\"api-manager@example.com\",\"password\":\"secret123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1")));
+    }
+
+    @Test
+    void issueToken_UnknownEmail_StillWaitsForAHashCheck() throws Exception {
+        // A rejection that skipped hashing would answer 401 even with the pool full
+        whileHashingPoolSaturated(() ->
+            // Act & Assert
+            mockMvc.perform(post("/api/auth/token")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"email\":\"nobody@example.com\",\"password\":\"secret123\"}"))
+                .andExpect(status().isServiceUnavailable()));
+    }
+
+    @Test
+    void issueToken_UnknownEmail_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/auth/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@example.com\",\"password\":\"secret123\"}"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void issueToken_MissingEmailOrPassword_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/auth/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"password\":\"secret123\"}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/auth/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"api-manager@example.com\",\"password\":\"\"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void api_MissingOrInvalidToken_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/me"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/me").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private void whileHashingPoolSaturated(Request request) throws Exception {
+        // Arrange - one slow check running and one queued fill the pool. The second is only
+        // submitted once the first is running: while the idle worker has yet to take the first
+        // from the queue, the queue is already full and the second would be rejected
+        BoundedPasswordEncoder encoder = (BoundedPasswordEncoder) passwordEncoder;
+        awaitHashingThreads(encoder, 0, 0);
+        List<CompletableFuture<Boolean>> slowChecks = new ArrayList<>();
+        try {
+            slowChecks.add(CompletableFuture.supplyAsync(() -> encoder.matches("password", SLOW_HASH)));
+            awaitHashingThreads(encoder, 1, 0);
+            slowChecks.add(CompletableFuture.supplyAsync(() -> encoder.matches("password", SLOW_HASH)));
+            awaitHashingThreads(encoder, 1, 1);
+
+            request.perform();
+        } finally {
+            CompletableFuture.allOf(slowChecks.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private void awaitHashingThreads(BoundedPasswordEncoder encoder, int active, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((encoder.getActiveCount() != active || encoder.getQueuedCount() != queued)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(encoder.getActiveCount()).isEqualTo(active);
+        assertThat(encoder.getQueuedCount()).isEqualTo(queued);
+    }
+
+    private interface Request {
+        void perform() throws Exception;
+    }
+}
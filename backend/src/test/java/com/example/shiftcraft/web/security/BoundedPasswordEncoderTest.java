@@ -0,0 +1,144 @@
+package com.example.shiftcraft.web.security;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Includes a login-storm simulation; scale it with -Dbench.login.storm=2000 -Dbench.login.cost=10.
+ */
+class BoundedPasswordEncoderTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoderTest.class);
+
+    private static final int STORM_LOGINS = Integer.getInteger("bench.login.storm", 300);
+    private static final int STORM_COST = Integer.getInteger("bench.login.cost", 4);
+
+    @Test
+    void loginStorm_NeverHashesMoreThanPoolSizeAtOnce_AndShedsOverflow() throws Exception {
+        // Arrange
+        int poolSize = 2;
+        int queueCapacity = 16;
+        ConcurrencyTrackingEncoder tracking = new ConcurrencyTrackingEncoder(new BCryptPasswordEncoder(STORM_COST));
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(tracking, poolSize, queueCapacity, Duration.ofSeconds(30));
+        String hash = new BCryptPasswordEncoder(STORM_COST).encode("password123");
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> logins = new ArrayList<>();
+
+        // Act - every "request thread" fires at once, as at shift change
+        long started;
+        try (ExecutorService requestThreads = Executors.newFixedThreadPool(64)) {
+            for (int i = 0; i < STORM_LOGINS; i++) {
+                logins.add(requestThreads.submit(() -> {
+                    start.await();
+                    try {
+                        assertThat(encoder.matches("password123", hash)).isTrue();
+                        accepted.incrementAndGet();
+                    } catch (BoundedPasswordEncoder.PasswordHashingBusyException e) {
+                        shed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            started = System.nanoTime();
+            start.countDown();
+            for (Future<?> login : logins) {
+                login.get();
+            }
+        } finally {
+            encoder.destroy();
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Assert
+        log.debug("Login storm ({} logins, cost {}, pool {}, queue {}): {} verified, {} shed, "
+                + "peak {} concurrent hashes, {} ms",
+            STORM_LOGINS, STORM_COST, poolSize, queueCapacity, accepted.get(), shed.get(),
+            tracking.peak.get(), elapsedMillis);
+
+        assertThat(accepted.get() + shed.get()).isEqualTo(STORM_LOGINS);
+        assertThat(accepted.get()).isGreaterThanOrEqualTo(poolSize + queueCapacity);
+        assertThat(tracking.peak.get()).isLessThanOrEqualTo(poolSize);
+    }
+
+    @Test
+    void upgradeEncoding_LegacyOrCheaperHashes_AreFlaggedForRehash() {
+        // Arrange
+        BCryptPasswordEncoder cost4 = new BCryptPasswordEncoder(4);
+        BCryptPasswordEncoder cost5 = new BCryptPasswordEncoder(5);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", cost5));
+        delegating.setDefaultPasswordEncoderForMatches(cost5);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegating, 1, 4, Duration.ofSeconds(5));
+
+        String legacy = cost4.encode("password123");
+        String cheaper = "{bcrypt}" + cost4.encode("password123");
+        String current = encoder.encode("password123");
+
+        // Act & Assert
+        assertThat(encoder.matches("password123", legacy)).isTrue();
+        assertThat(encoder.matches("password123", cheaper)).isTrue();
+        assertThat(encoder.matches("password123", current)).isTrue();
+        assertThat(current).startsWith("{bcrypt}$2a$05$");
+
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(cheaper)).isTrue();
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+        encoder.destroy();
+    }
+
+    @Test
+    void matches_DelegateFailure_PropagatesOriginalException() {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+            new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(4))),
+            1, 1, Duration.ofSeconds(5));
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.matches("password123", "{unknown}abc"))
+            .isInstanceOf(IllegalArgumentException.class);
+        encoder.destroy();
+    }
+
+    private static class ConcurrencyTrackingEncoder implements PasswordEncoder {
+        private final PasswordEncoder delegate;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        ConcurrencyTrackingEncoder(PasswordEncoder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                return delegate.matches(rawPassword, encodedPassword);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.persistence.entity.LeaveRequest;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the statements behind a page load when the controller gets the signed-in user
+ * from the session principal versus looking it up by email.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CurrentUserStatementCountTest {
+
+    private static final int PAGE_LOADS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User staffMember;
+
+    @BeforeEach
+    void setUp() {
+        Role staffRole = TestFixtures.staffRole();
+        entityManager.persist(staffRole);
+        staffMember = TestFixtures.user("principal-test@example.com", "Staff", "Member");
+        staffMember.setRoles(Set.of(staffRole));
+        entityManager.persist(staffMember);
+        entityManager.persist(new LeaveRequest(staffMember, LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12),
+            LeaveRequest.LeaveType.VACATION, "Summer"));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void requestsPage_SessionPrincipal_SkipsUserLookup() throws Exception {
+        long lookupStatements = statementsFor(user(staffMember.getEmail()).roles("STAFF"));
+        long principalStatements = statementsFor(user(new CustomUserDetailsService.CustomUserPrincipal(staffMember)));
+
+        // One lookup per page load is saved; what remains is the page's own leave queries
+        assertThat(lookupStatements - principalStatements).isEqualTo(PAGE_LOADS);
+        assertThat(principalStatements).isEqualTo(2L * PAGE_LOADS);
+    }
+
+    private long statementsFor(RequestPostProcessor authentication) throws Exception {
+        statistics.clear();
+        for (int i = 0; i < PAGE_LOADS; i++) {
+            mockMvc.perform(get("/requests").with(authentication))
+                .andExpect(status().isOk());
+            entityManager.clear();
+        }
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.persistence.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtTokenServiceTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha256";
+
+    private final Instant now = Instant.parse("2024-06-10T08:00:00Z");
+    private final AuthenticatedUser manager = new AuthenticatedUser("user-1", "manager@example.com",
+        "Mary Manager", User.UserStatus.ACTIVE, Set.of("MANAGER", "STAFF"));
+
+    @Test
+    void parse_IssuedToken_RestoresUserFromClaims() {
+        // Arrange
+        JwtTokenService service = new JwtTokenService(SECRET, 60_000, Clock.fixed(now, ZoneOffset.UTC));
+
+        // Act
+        JwtTokenService.IssuedToken token = service.issue(manager);
+        AuthenticatedUser parsed = service.parse(token.getToken());
+
+        // Assert
+        assertThat(token.getExpiresAt()).isEqualTo(now.plusSeconds(60));
+        assertThat(parsed.getId()).isEqualTo("user-1");
+        assertThat(parsed.getEmail()).isEqualTo("manager@example.com");
+        assertThat(parsed.getFullName()).isEqualTo("Mary Manager");
+        assertThat(parsed.getRoleNames()).containsExactlyInAnyOrder("MANAGER", "STAFF");
+        assertThat(parsed.isManager()).isTrue();
+    }
+
+    @Test
+    void parse_ExpiredToken_Throws() {
+        // Arrange
+        String token = new JwtTokenService(SECRET, 60_000, Clock.fixed(now, ZoneOffset.UTC)).issue(manager).getToken();
+        JwtTokenService later = new JwtTokenService(SECRET, 60_000, Clock.fixed(now.plusSeconds(120), ZoneOffset.UTC));
+
+        // Act & Assert
+        assertThatThrownBy(() -> later.parse(token))
+            .isInstanceOf(JwtTokenService.InvalidTokenException.class);
+    }
+
+    @Test
+    void parse_TokenSignedWithOtherSecret_Throws() {
+        // Arrange
+        String token = new JwtTokenService("another-secret-that-is-also-long-enough-for-hs256", 60_000,
+            Clock.fixed(now, ZoneOffset.UTC)).issue(manager).getToken();
+        JwtTokenService service = new JwtTokenService(SECRET, 60_000, Clock.fixed(now, ZoneOffset.UTC));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.parse(token))
+            .isInstanceOf(JwtTokenService.InvalidTokenException.class);
+    }
+
+    @Test
+    void constructor_ShortSecret_Rejected() {
+        assertThatThrownBy(() -> new JwtTokenService("too-short", 60_000))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void constructor_MissingSecret_Rejected() {
+        assertThatThrownBy(() -> new JwtTokenService("", 60_000))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("JWT_SECRET");
+    }
+
+    @Test
+    void constructor_PlaceholderSecret_Rejected() {
+        assertThatThrownBy(() -> new JwtTokenService("replace-me-with-a-proper-secret-key-for-production", 60_000))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("placeholder");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.shiftcraft.web.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Actuator endpoints on their own port: the scrape is open there and nowhere else
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "management.server.port=0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ManagementPortSecurityTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void prometheusScrape_OnManagementPort_ExposesServiceRequestAndPoolMetrics() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/approvals")).andExpect(status().isOk());
+
+        // Act
+        HttpResponse<String> response = fetch(managementPort, "/actuator/prometheus");
+
+        // Assert
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body())
+            .contains("shiftcraft_service_seconds_bucket{")
+            .contains("operation=\"LeaveService.getPendingLeaveRequests\"")
+            .contains("shiftcraft_http_statements_count{")
+            .contains("uri=\"/approvals\"")
+            .contains("shiftcraft_db_pool_utilization");
+    }
+
+    @Test
+    void prometheusScrape_OnApplicationPort_IsNotServed() throws Exception {
+        // Act
+        HttpResponse<String> response = fetch(serverPort, "/actuator/prometheus");
+
+        // Assert - the application chain sends the anonymous caller to the login page
+        assertThat(response.statusCode()).isEqualTo(302);
+        assertThat(response.headers().firstValue("Location")).hasValueSatisfying(
+            location -> assertThat(location).endsWith("/login"));
+    }
+
+    @Test
+    void otherEndpoints_OnManagementPort_RequireCredentials() throws Exception {
+        // Act & Assert
+        assertThat(fetch(managementPort, "/actuator/health").statusCode()).isEqualTo(200);
+        assertThat(fetch(managementPort, "/actuator/metrics").statusCode()).isEqualTo(401);
+        assertThat(fetch(managementPort, "/actuator/caches").statusCode()).isEqualTo(401);
+    }
+
+    private HttpResponse<String> fetch(int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.persistence.entity.User;
+import com.example.shiftcraft.persistence.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+
+/**
+ * Not transactional on purpose: the rehash is written in its own transaction during login.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordRehashOnLoginTest {
+
+    private static final String EMAIL = "legacy-hash@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Stored the way every existing row is: a bare BCrypt hash with no {id} prefix
+        user = userRepository.save(new User(EMAIL, new BCryptPasswordEncoder(4).encode("password123"), "Legacy", "Hash"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void formLogin_LegacyHash_IsRehashedWithCurrentEncoder() throws Exception {
+        mockMvc.perform(formLogin("/login").user(EMAIL).password("password123"))
+            .andExpect(authenticated());
+
+        String stored = userRepository.findByEmail(EMAIL).orElseThrow().getPasswordHash();
+        assertThat(stored).startsWith("{bcrypt}$2a$10$");
+        assertThat(new BCryptPasswordEncoder().matches("password123", stored.substring("{bcrypt}".length()))).isTrue();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.application.config.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestStatementMetricsFilterTest {
+
+    private final SqlStatementCounter statementCounter = new SqlStatementCounter();
+    private MeterRegistry meterRegistry;
+    private RequestStatementMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestStatementMetricsFilter(meterRegistry, statementCounter, 20, 5);
+    }
+
+    @Test
+    void repeatedStatementShape_IsReportedAsPossibleNPlusOne() throws Exception {
+        // Arrange - one list query, then a lazy load per row
+        FilterChain chain = (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/timesheets");
+            statementCounter.inspect("select t1_0.id from timesheets t1_0");
+            for (int i = 0; i < 8; i++) {
+                statementCounter.inspect("select e1_0.id from timesheet_entries e1_0 where e1_0.timesheet_id=?");
+            }
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/timesheets"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(meterRegistry.get(RequestStatementMetricsFilter.STATEMENTS).tag("uri", "/timesheets")
+            .summary().totalAmount()).isEqualTo(9);
+        assertThat(meterRegistry.get(RequestStatementMetricsFilter.REPEATED_STATEMENTS).tag("uri", "/timesheets")
+            .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(RequestStatementMetricsFilter.BUDGET_EXCEEDED).counter()).isNull();
+    }
+
+    @Test
+    void requestOverBudget_IsCountedEvenWithoutRepeats() throws Exception {
+        // Arrange
+        FilterChain chain = (request, response) -> {
+            for (int i = 0; i < 25; i++) {
+                statementCounter.inspect("select * from table_" + i);
+            }
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/schedule"), new MockHttpServletResponse(), chain);
+
+        // Assert - no handler pattern was set, so the URI tag stays bounded
+        assertThat(meterRegistry.get(RequestStatementMetricsFilter.BUDGET_EXCEEDED).tag("uri", "UNKNOWN")
+            .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(RequestStatementMetricsFilter.REPEATED_STATEMENTS).counter()).isNull();
+    }
+
+    @Test
+    void statementsOutsideRequest_AreNotAttributedToIt() throws Exception {
+        // Arrange
+        statementCounter.inspect("select 1");
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/approvals"), new MockHttpServletResponse(),
+            (request, response) -> statementCounter.inspect("select 2"));
+        statementCounter.inspect("select 3");
+
+        // Assert
+        assertThat(meterRegistry.get(RequestStatementMetricsFilter.STATEMENTS).summary().totalAmount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.shiftcraft.web.security;
+
+import com.example.shiftcraft.TestFixtures;
+import com.example.shiftcraft.application.config.CacheConfig;
+import com.example.shiftcraft.application.service.UserService;
+import com.example.shiftcraft.persistence.entity.Role;
+import com.example.shiftcraft.persistence.entity.User;
+import com.example.shiftcraft.persistence.repository.RoleRepository;
+import com.example.shiftcraft.persistence.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Not transactional on purpose: cache evictions run after commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserDetailsCacheTest {
+
+    private static final String EMAIL = "cached-user@example.com";
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.USER_DETAILS).clear();
+        roleRepository.findByName("STAFF").orElseGet(() -> roleRepository.save(TestFixtures.staffRole()));
+        roleRepository.findByName("MANAGER").orElseGet(() -> roleRepository.save(new Role("MANAGER")));
+        user = userService.createUser(EMAIL, "secret123", "Cached", "User", Set.of("STAFF"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+        cacheManager.getCache(CacheConfig.USER_DETAILS).clear();
+    }
+
+    @Test
+    void loadUserByUsername_RepeatedLogins_HitTheCache() {
+        double hitsBefore = cacheGets("hit");
+        userDetailsService.loadUserByUsername(EMAIL);
+        long firstLoadStatements = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 9; i++) {
+            userDetailsService.loadUserByUsername(EMAIL);
+        }
+
+        assertThat(firstLoadStatements).isPositive();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(firstLoadStatements);
+        assertThat(cacheGets("hit") - hitsBefore).isEqualTo(9);
+    }
+
+    @Test
+    void updateUserStatus_EvictsSoSuspensionAppliesImmediately() {
+        assertThat(userDetailsService.loadUserByUsername(EMAIL).isAccountNonLocked()).isTrue();
+
+        userService.updateUserStatus(user.getId(), User.UserStatus.SUSPENDED);
+
+        assertThat(cacheManager.getCache(CacheConfig.USER_DETAILS).get(EMAIL)).isNull();
+        // Non-active accounts are refused outright
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(EMAIL))
+            .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void addRoleToUser_EvictsSoNewRoleIsSeen() {
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        userService.addRoleToUser(user.getId(), "MANAGER");
+
+        CustomUserDetailsService.CustomUserPrincipal reloaded =
+            (CustomUserDetailsService.CustomUserPrincipal) userDetailsService.loadUserByUsername(EMAIL);
+        assertThat(reloaded.hasRole("MANAGER")).isTrue();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+            .tag("cache", CacheConfig.USER_DETAILS)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+}
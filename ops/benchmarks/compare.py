@@ -0,0 +1,102 @@
+#!/usr/bin/env python3
+"""Compare a JMH JSON result against a baseline and fail on regressions.
+
+Usage:
+    compare.py BASELINE.json CURRENT.json [--max-time-regression 0.10] [--max-alloc-regression 0.05]
+
+Benchmarks are matched on name and parameters. Time is the primary score: for throughput
+modes higher is better, for the time-per-operation modes lower is better. Allocation is the
+gc profiler's gc.alloc.rate.norm (bytes per operation), which unlike MB/sec does not move when
+the benchmark gets faster. Exits 1 when any benchmark regresses past a threshold, 0 otherwise.
+Benchmarks missing from either file are listed but do not fail the comparison.
+"""
+
+import argparse
+import json
+import sys
+
+ALLOC_METRIC = "gc.alloc.rate.norm"
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    return {key(result): result for result in results}
+
+
+def key(result):
+    params = ",".join(f"{name}={value}" for name, value in sorted(result.get("params", {}).items()))
+    return f"{result['benchmark']}({params})" if params else result["benchmark"]
+
+
+def time_change(baseline, current):
+    """Relative change in the primary score, positive when the benchmark got slower"""
+    before = baseline["primaryMetric"]["score"]
+    after = current["primaryMetric"]["score"]
+    if before == 0:
+        return 0.0
+    change = (after - before) / before
+    return -change if current["mode"] == "thrpt" else change
+
+
+def alloc_change(baseline, current):
+    """Relative change in bytes per operation, or None when either run lacks the gc profiler"""
+    before = baseline.get("secondaryMetrics", {}).get(ALLOC_METRIC)
+    after = current.get("secondaryMetrics", {}).get(ALLOC_METRIC)
+    if before is None or after is None:
+        return None
+    before, after = before["score"], after["score"]
+    # A few bytes per operation is measurement noise (the profiler's own allocations)
+    if before < 16 and after < 16:
+        return 0.0
+    return (after - before) / max(before, 1.0)
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Compare JMH results against a baseline")
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--max-time-regression", type=float, default=0.10,
+                        help="allowed slowdown as a fraction of the baseline score (default 0.10)")
+    parser.add_argument("--max-alloc-regression", type=float, default=0.05,
+                        help="allowed growth in bytes per operation (default 0.05)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    failures = []
+
+    print(f"{'benchmark':<80} {'baseline':>12} {'current':>12} {'time':>8} {'alloc':>8}")
+    for name in sorted(baseline.keys() & current.keys()):
+        before, after = baseline[name], current[name]
+        time = time_change(before, after)
+        alloc = alloc_change(before, after)
+        unit = after["primaryMetric"]["scoreUnit"]
+
+        flags = []
+        if time > args.max_time_regression:
+            flags.append("time")
+        if alloc is not None and alloc > args.max_alloc_regression:
+            flags.append("alloc")
+        if flags:
+            failures.append((name, flags))
+
+        alloc_text = "n/a" if alloc is None else f"{alloc:+.1%}"
+        print(f"{name:<80} {before['primaryMetric']['score']:>12.3f} {after['primaryMetric']['score']:>12.3f} "
+              f"{time:>+8.1%} {alloc_text:>8}  {unit}{'  REGRESSED: ' + ', '.join(flags) if flags else ''}")
+
+    for name in sorted(baseline.keys() - current.keys()):
+        print(f"missing from current run: {name}")
+    for name in sorted(current.keys() - baseline.keys()):
+        print(f"not in baseline: {name}")
+
+    if failures:
+        print(f"\n{len(failures)} benchmark(s) regressed past the thresholds "
+              f"(time {args.max_time_regression:.0%}, alloc {args.max_alloc_regression:.0%})")
+        return 1
+    print("\nNo regressions")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())